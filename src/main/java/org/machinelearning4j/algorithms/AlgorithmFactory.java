@@ -15,10 +15,14 @@
  */
 package org.machinelearning4j.algorithms;
 
+import org.machinelearning4j.algorithms.supervisedlearning.ElasticNetTrainingContext;
 import org.machinelearning4j.algorithms.supervisedlearning.GradientDescentAlgorithmTrainingContext;
 import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionConjugateGradientTrainingContext;
 import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionNormalEquationTrainingContext;
 import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.MiniBatchGradientDescentAlgorithmTrainingContext;
+import org.machinelearning4j.algorithms.supervisedlearning.SoftmaxRegressionAlgorithm;
 import org.machinelearning4j.algorithms.unsupervisedlearning.KMeansClusteringAlgorithm;
 
 
@@ -36,6 +40,35 @@ public interface AlgorithmFactory {
 	 */
 	<C extends LinearRegressionNormalEquationTrainingContext> LinearRegressionAlgorithm<C> createLinearRegressionNormalEquationAlgorithm();
 
+	/**
+	 * Create a linear regression algorithm, using the normal equation strategy with X^T X and X^T y 
+	 * accumulated in parallel
+	 * 
+	 * @param numberOfThreads The number of threads to partition the training data across
+	 */
+	<C extends LinearRegressionNormalEquationTrainingContext> LinearRegressionAlgorithm<C> createParallelLinearRegressionNormalEquationAlgorithm(int numberOfThreads);
+
+	/**
+	 * Create a linear regression algorithm solving the least squares problem by conjugate gradient, using
+	 * only matrix vector products with the training data, suited to models with a large number of features
+	 * 
+	 */
+	<C extends LinearRegressionConjugateGradientTrainingContext> LinearRegressionAlgorithm<C> createConjugateGradientLinearRegressionAlgorithm();
+
+	/**
+	 * Create a linear regression algorithm solving the least squares problem by conjugate gradient, with 
+	 * matrix vector products calculated in parallel
+	 * 
+	 * @param numberOfThreads The number of threads to partition the training data across
+	 */
+	<C extends LinearRegressionConjugateGradientTrainingContext> LinearRegressionAlgorithm<C> createParallelConjugateGradientLinearRegressionAlgorithm(int numberOfThreads);
+
+	/**
+	 * Create a linear regression algorithm with elastic-net regularization, solved by coordinate descent
+	 * 
+	 */
+	<C extends ElasticNetTrainingContext> LinearRegressionAlgorithm<C> createLinearRegressionElasticNetAlgorithm();
+
 	/**
 	 * Create a K-Means clustering algorithm for the required number of clusters
 	 * 
@@ -49,4 +82,58 @@ public interface AlgorithmFactory {
 	 */
 	<C extends GradientDescentAlgorithmTrainingContext> LogisticRegressionAlgorithm<C> createLogisticRegressionAlgorithm();
 
+	/**
+	 * Create a LogisticRegressionAlgorithm which calculates gradients in parallel
+	 * 
+	 * @param numberOfThreads The number of threads to partition the training data across
+	 */
+	<C extends GradientDescentAlgorithmTrainingContext> LogisticRegressionAlgorithm<C> createParallelLogisticRegressionAlgorithm(int numberOfThreads);
+
+	/**
+	 * Create a LogisticRegressionAlgorithm using mini-batch (or stochastic) gradient descent over shuffled epochs
+	 * 
+	 */
+	<C extends MiniBatchGradientDescentAlgorithmTrainingContext> LogisticRegressionAlgorithm<C> createMiniBatchLogisticRegressionAlgorithm();
+
+	/**
+	 * Create a LogisticRegressionAlgorithm using the limited-memory BFGS method, which requires no learning rate
+	 * 
+	 */
+	<C extends GradientDescentAlgorithmTrainingContext> LogisticRegressionAlgorithm<C> createLimitedMemoryBFGSLogisticRegressionAlgorithm();
+
+	/**
+	 * Create a LogisticRegressionAlgorithm using Newton's method (iteratively reweighted least squares), 
+	 * suited to models with a modest number of features
+	 * 
+	 */
+	<C extends GradientDescentAlgorithmTrainingContext> LogisticRegressionAlgorithm<C> createNewtonLogisticRegressionAlgorithm();
+
+	/**
+	 * Create a LogisticRegressionAlgorithm using asynchronous, lock-free parallel stochastic gradient descent
+	 * 
+	 * @param numberOfThreads The number of worker threads updating the shared thetas
+	 */
+	<C extends GradientDescentAlgorithmTrainingContext> LogisticRegressionAlgorithm<C> createHogwildLogisticRegressionAlgorithm(int numberOfThreads);
+
+	/**
+	 * Create a LogisticRegressionAlgorithm using stochastic gradient descent which can also be trained on 
+	 * streams of training examples, as required by streaming binary classifiers
+	 * 
+	 */
+	<C extends GradientDescentAlgorithmTrainingContext> LogisticRegressionAlgorithm<C> createStreamingLogisticRegressionAlgorithm();
+
+	/**
+	 * Create a LogisticRegressionAlgorithm with elastic-net regularization, solved by coordinate descent on 
+	 * successive quadratic approximations of the cost function
+	 * 
+	 */
+	<C extends ElasticNetTrainingContext> LogisticRegressionAlgorithm<C> createElasticNetLogisticRegressionAlgorithm();
+
+	/**
+	 * Create a SoftmaxRegressionAlgorithm, training a model for any number of mutually exclusive classes 
+	 * using batch gradient descent
+	 * 
+	 */
+	<C extends GradientDescentAlgorithmTrainingContext> SoftmaxRegressionAlgorithm<C> createSoftmaxRegressionAlgorithm();
+
 }
@@ -15,12 +15,26 @@
  */
 package org.machinelearning4j.algorithms;
 
+import org.machinelearning4j.algorithms.supervisedlearning.ElasticNetTrainingContext;
 import org.machinelearning4j.algorithms.supervisedlearning.GradientDescentAlgorithmTrainingContext;
 import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionConjugateGradientAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionConjugateGradientTrainingContext;
+import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionElasticNetCoordinateDescentAlgorithm;
 import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionNormalEquationAlgorithm;
 import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionNormalEquationTrainingContext;
 import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionAlgorithm;
 import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionBatchGradientDescentAlgorithmImpl;
+import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionElasticNetCoordinateDescentAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionLimitedMemoryBFGSAlgorithmImpl;
+import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionMiniBatchGradientDescentAlgorithmImpl;
+import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionNewtonAlgorithmImpl;
+import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionParallelBatchGradientDescentAlgorithmImpl;
+import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionHogwildStochasticGradientDescentAlgorithmImpl;
+import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionStreamingStochasticGradientDescentAlgorithmImpl;
+import org.machinelearning4j.algorithms.supervisedlearning.MiniBatchGradientDescentAlgorithmTrainingContext;
+import org.machinelearning4j.algorithms.supervisedlearning.SoftmaxRegressionAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.SoftmaxRegressionBatchGradientDescentAlgorithmImpl;
 import org.machinelearning4j.algorithms.unsupervisedlearning.KMeansClusteringAlgorithm;
 
 
@@ -44,6 +58,48 @@ public class DefaultAlgorithmFactory implements AlgorithmFactory {
 		return new LogisticRegressionBatchGradientDescentAlgorithmImpl();
 	}
 
+	@Override
+	public LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> createParallelLogisticRegressionAlgorithm(
+			int numberOfThreads) {
+		return new LogisticRegressionParallelBatchGradientDescentAlgorithmImpl(numberOfThreads);
+	}
+
+	@Override
+	public LogisticRegressionAlgorithm<MiniBatchGradientDescentAlgorithmTrainingContext> createMiniBatchLogisticRegressionAlgorithm() {
+		return new LogisticRegressionMiniBatchGradientDescentAlgorithmImpl();
+	}
+
+	@Override
+	public LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> createLimitedMemoryBFGSLogisticRegressionAlgorithm() {
+		return new LogisticRegressionLimitedMemoryBFGSAlgorithmImpl();
+	}
+
+	@Override
+	public LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> createNewtonLogisticRegressionAlgorithm() {
+		return new LogisticRegressionNewtonAlgorithmImpl();
+	}
+
+	@Override
+	public LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> createHogwildLogisticRegressionAlgorithm(
+			int numberOfThreads) {
+		return new LogisticRegressionHogwildStochasticGradientDescentAlgorithmImpl(numberOfThreads);
+	}
+
+	@Override
+	public LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> createStreamingLogisticRegressionAlgorithm() {
+		return new LogisticRegressionStreamingStochasticGradientDescentAlgorithmImpl();
+	}
+
+	@Override
+	public LogisticRegressionAlgorithm<ElasticNetTrainingContext> createElasticNetLogisticRegressionAlgorithm() {
+		return new LogisticRegressionElasticNetCoordinateDescentAlgorithm();
+	}
+
+	@Override
+	public SoftmaxRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> createSoftmaxRegressionAlgorithm() {
+		return new SoftmaxRegressionBatchGradientDescentAlgorithmImpl();
+	}
+
 	/**
 	 * Create a linear regression algorithm, using the normal equation strategy
 	 * 
@@ -53,6 +109,28 @@ public class DefaultAlgorithmFactory implements AlgorithmFactory {
 		return new LinearRegressionNormalEquationAlgorithm();
 	}
 
+	@Override
+	public LinearRegressionAlgorithm<LinearRegressionNormalEquationTrainingContext> createParallelLinearRegressionNormalEquationAlgorithm(
+			int numberOfThreads) {
+		return new LinearRegressionNormalEquationAlgorithm(numberOfThreads);
+	}
+
+	@Override
+	public LinearRegressionAlgorithm<LinearRegressionConjugateGradientTrainingContext> createConjugateGradientLinearRegressionAlgorithm() {
+		return new LinearRegressionConjugateGradientAlgorithm();
+	}
+
+	@Override
+	public LinearRegressionAlgorithm<LinearRegressionConjugateGradientTrainingContext> createParallelConjugateGradientLinearRegressionAlgorithm(
+			int numberOfThreads) {
+		return new LinearRegressionConjugateGradientAlgorithm(numberOfThreads);
+	}
+
+	@Override
+	public LinearRegressionAlgorithm<ElasticNetTrainingContext> createLinearRegressionElasticNetAlgorithm() {
+		return new LinearRegressionElasticNetCoordinateDescentAlgorithm();
+	}
+
 	
 	
 	
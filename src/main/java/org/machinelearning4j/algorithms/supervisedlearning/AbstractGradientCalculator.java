@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import java.util.Arrays;
+
+import org.machinelearning4j.core.FeatureRows;
+
+/**
+ * Calculates the gradients of a regularized cost function with respect to each theta, together with the value of 
+ * the cost function itself, for labels of type L.
+ * 
+ * Subclasses accumulate the unregularized cost and gradient contributions of all the rows in a single pass, after 
+ * which the regularization terms are added and the results averaged over the rows here.  The thetas are arranged in 
+ * consecutive groups of featureCount, one group per model, with the first theta of each group the unregularized 
+ * intercept.  The results of the most recent calculation are retained, so that requesting the cost and the gradients 
+ * for the same thetas requires only one pass over the training data.
+ *
+ * An instance holds mutable buffers, so should be created per training run rather than shared.
+ *
+ * @param <L> The type of the labels of the rows
+ * 
+ * @author Michael Lavelle
+ */
+public abstract class AbstractGradientCalculator<L> {
+
+	protected double[] gradients;
+	private double cost;
+	private int featureCount;
+
+	private double[] calculatedThetas;
+	private FeatureRows calculatedFeatureRows;
+	private L calculatedLabels;
+	private double calculatedRegularizationLambda;
+	private boolean calculationRetained;
+
+	/**
+	 * @param featureCount The number of thetas in each group of thetas starting with an intercept theta
+	 */
+	protected AbstractGradientCalculator(int thetaCount, int featureCount)
+	{
+		this.gradients = new double[thetaCount];
+		this.calculatedThetas = new double[thetaCount];
+		this.featureCount = featureCount;
+	}
+
+	/**
+	 * @return The gradients for the specified thetas - the returned array is owned by this
+	 * calculator and is overwritten by the next calculation
+	 */
+	public double[] calculateGradients(FeatureRows featureRows,
+			L labels, double[] thetas, double regularizationLambda) {
+		calculateCostAndGradients(featureRows, labels, thetas, regularizationLambda);
+		return gradients;
+	}
+
+	/**
+	 * @return The value of the cost function for the specified thetas, calculated in the same pass as the gradients
+	 */
+	public double calculateCost(FeatureRows featureRows,
+			L labels, double[] thetas, double regularizationLambda) {
+		calculateCostAndGradients(featureRows, labels, thetas, regularizationLambda);
+		return cost;
+	}
+
+	private void calculateCostAndGradients(FeatureRows featureRows,
+			L labels, double[] thetas, double regularizationLambda) {
+		if (calculationRetained && featureRows == calculatedFeatureRows && labels == calculatedLabels
+				&& regularizationLambda == calculatedRegularizationLambda && Arrays.equals(thetas, calculatedThetas)) {
+			return;
+		}
+		Arrays.fill(gradients, 0d);
+		double costSum = calculateGradientSums(featureRows, labels, thetas, gradients);
+		double m = featureRows.getRowCount();
+		double sumOfThetaSquares = 0d;
+		for (int index = 0; index < gradients.length; index++) {
+			double regularizationTerm = 0d;
+			if (index % featureCount > 0 && regularizationLambda > 0) {
+				regularizationTerm = regularizationLambda * thetas[index];
+				sumOfThetaSquares = sumOfThetaSquares + thetas[index] * thetas[index];
+			}
+			gradients[index] = (gradients[index] + regularizationTerm) / m;
+		}
+		cost = (costSum + regularizationLambda / 2d * sumOfThetaSquares) / m;
+
+		System.arraycopy(thetas, 0, calculatedThetas, 0, thetas.length);
+		calculatedFeatureRows = featureRows;
+		calculatedLabels = labels;
+		calculatedRegularizationLambda = regularizationLambda;
+		calculationRetained = true;
+	}
+
+	/**
+	 * Discards the retained calculation, for when the gradients buffer is overwritten by another calculation or 
+	 * a setting affecting the calculation changes
+	 */
+	protected void invalidateCalculation() {
+		calculationRetained = false;
+	}
+
+	/**
+	 * Populates the zero-filled gradientSums array with the unregularized, unaveraged gradient contributions
+	 * of all the rows
+	 * 
+	 * @return The unregularized sum of the cost contributions of all the rows
+	 */
+	protected abstract double calculateGradientSums(FeatureRows featureRows,
+			L labels, double[] thetas, double[] gradientSums);
+
+	/**
+	 * Releases any resources held by this calculator once training has completed
+	 */
+	public void shutdown() {
+	}
+
+}
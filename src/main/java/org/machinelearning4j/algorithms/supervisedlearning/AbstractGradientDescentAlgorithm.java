@@ -0,0 +1,170 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+
+/**
+ * Encapsulates the training loop, validation hold-out, warm start, cost function snapshots and convergence handling 
+ * common to algorithms which iteratively update thetas using gradients of a cost function, for labels of type L.
+ * 
+ * The thetas being trained are held by the hypothesis function and updated in place by each iteration, so that 
+ * convergence criteria can evaluate them through the training context while training is running.
+ * 
+ * @param <C> The type of the training context
+ * @param <L> The type of the labels of the training examples
+ * @param <H> The type of the hypothesis function being trained
+ * @param <G> The type of the gradient calculator used during training
+ * 
+ * @author Michael Lavelle
+ */
+public abstract class AbstractGradientDescentAlgorithm<C extends GradientDescentAlgorithmTrainingContext, L, H, 
+		G extends AbstractGradientCalculator<L>> {
+
+	/**
+	 * Trains a hypothesis function with the specified number of thetas on the feature rows, holding out any 
+	 * validation examples requested by the training context
+	 */
+	protected H trainHypothesisFunction(FeatureRows featureRows, L labels, int thetaCount, C trainingContext) {
+		validateTrainingContext(trainingContext);
+		if (trainingContext.getValidationExampleCount() > 0)
+		{
+			int validationExampleCount = trainingContext.getValidationExampleCount();
+			int rowCount = featureRows.getRowCount();
+			if (validationExampleCount >= rowCount)
+			{
+				throw new IllegalArgumentException("Validation example count must be less than the number of training examples");
+			}
+			int[] validationRows = new int[validationExampleCount];
+			int[] trainingRows = new int[rowCount - validationExampleCount];
+			int validationIndex = 0;
+			int trainingIndex = 0;
+			for (int i = 0; i < rowCount; i++) {
+				// Exactly validationExampleCount rows are held out, at even spacing
+				if ((long) i * validationExampleCount / rowCount != ((long) i + 1) * validationExampleCount / rowCount) {
+					validationRows[validationIndex++] = i;
+				} else {
+					trainingRows[trainingIndex++] = i;
+				}
+			}
+			FeatureRows validationFeatureRows = featureRows.selectRows(validationRows);
+			trainingContext.setValidationSet(new ValidationSet<L>(validationFeatureRows, selectLabels(labels, validationRows), 
+					createValidationGradientCalculator(validationFeatureRows, thetaCount)));
+			featureRows = featureRows.selectRows(trainingRows);
+			labels = selectLabels(labels, trainingRows);
+		}
+
+		double[] thetas = GradientDescentTrainingSupport.createInitialThetas(thetaCount, trainingContext);
+		H hypothesisFunction = createHypothesisFunction(thetas, featureRows.getColumnCount(), trainingContext);
+		trainingContext.setCurrentThetas(thetas);
+		boolean snapshotTakenOfLastIteration = false;
+		
+		trainingContext.getUpdateRule().initialise(thetaCount);
+		
+		G gradientCalculator = createGradientCalculator(featureRows, thetaCount, trainingContext);
+		try
+		{
+			while (trainingContext.isTrainingRunning()
+					&& !trainingContext.isTrainingSuccessful()) {
+				snapshotTakenOfLastIteration = takeSnapshotOfCostFunctionValueIfApplicable(
+						featureRows, labels, thetas, trainingContext, gradientCalculator);
+	
+				trainingContext.incrementIterationNumber();
+	
+				performHypothesisFunctionUpdateIteration(
+						featureRows, labels, hypothesisFunction,
+						gradientCalculator, trainingContext);
+	
+			}
+
+			if (!snapshotTakenOfLastIteration) {
+				takeSnapshotOfCostFunctionValueIfApplicable(featureRows,
+						labels, thetas, trainingContext, gradientCalculator);
+			}
+		}
+		finally
+		{
+			gradientCalculator.shutdown();
+		}
+
+		return getTrainedHypothesisFunction(hypothesisFunction, thetas, trainingContext);
+	}
+
+	/**
+	 * Records the value of the cost function for the current thetas if a snapshot is due for the current iteration.
+	 * 
+	 * The cost is obtained from the gradient calculator, so is a by-product of the gradient calculation 
+	 * for the current thetas when those gradients are also required for the next update.
+	 */
+	private boolean takeSnapshotOfCostFunctionValueIfApplicable(
+			FeatureRows featureRows, L labels, double[] thetas,
+			C trainingContext, G gradientCalculator) {
+		if (GradientDescentTrainingSupport.isCostFunctionSnapshotDue(trainingContext, trainingContext.getCurrentIteration())) {
+			trainingContext.addCostFunctionSnapshotValue(gradientCalculator.calculateCost(featureRows,
+					labels, thetas, trainingContext.getRegularizationLambda()));
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * @return The hypothesis function once training has stopped running, provided the convergence criteria are satisfied,
+	 * with the best thetas selected by the convergence criteria if any - which are used even if the iteration limit
+	 * was reached before the convergence criteria were satisfied
+	 */
+	protected H getTrainedHypothesisFunction(H hypothesisFunction, double[] thetas,
+			C trainingContext) {
+		GradientDescentTrainingSupport.selectTrainedThetas(thetas, trainingContext);
+		return hypothesisFunction;
+	}
+
+	/**
+	 * Checks that the training context specifies the parameters required by this algorithm
+	 */
+	protected void validateTrainingContext(C trainingContext) {
+		GradientDescentTrainingSupport.validateLearningRate(trainingContext);
+	}
+
+	/**
+	 * @return The labels of the specified rows, in the order of the rows
+	 */
+	protected abstract L selectLabels(L labels, int[] rows);
+
+	/**
+	 * @return A hypothesis function holding the specified thetas, which are updated in place during training
+	 */
+	protected abstract H createHypothesisFunction(double[] thetas, int featureCount, C trainingContext);
+
+	/**
+	 * @return A gradient calculator for use during a single training run over the specified feature rows
+	 */
+	protected abstract G createGradientCalculator(FeatureRows featureRows, int thetaCount, C trainingContext);
+
+	/**
+	 * @return A gradient calculator with which convergence criteria evaluate the cost function on the examples 
+	 * held out from training
+	 */
+	protected abstract AbstractGradientCalculator<L> createValidationGradientCalculator(FeatureRows validationFeatureRows, 
+			int thetaCount);
+
+	/**
+	 * Updates the thetas of the hypothesis function in place for a single iteration of training
+	 */
+	protected abstract void performHypothesisFunctionUpdateIteration(
+			FeatureRows featureRows, L labels, H hypothesisFunction,
+			G gradientCalculator, C trainingContext);
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.RowArrayFeatureMatrix;
+
+
+/**
+ * Adapts the gradient descent training loop of AbstractGradientDescentAlgorithm to logistic regression, training
+ * a single set of thetas against a label vector of 0 and 1 labels.
+ * 
+ * Training is performed on FeatureRows, so each algorithm can be trained on any feature storage - a dense feature
+ * matrix is trained on as dense feature rows sharing its row arrays.
+ * 
+ * @author Michael Lavelle
+ */
+public abstract class AbstractLogisticRegressionGradientDescentAlgorithm<C extends GradientDescentAlgorithmTrainingContext> extends 
+		AbstractGradientDescentAlgorithm<C, double[], LogisticRegressionHypothesisFunction, LogisticRegressionGradientCalculator> implements
+		LogisticRegressionAlgorithm<C>, OnlineRegressionAlgorithm {
+
+	@Override
+	public NumericHypothesisFunction train(double[][] featureMatrix,
+			double[] labelVector,
+			C trainingContext) {
+		return train(new RowArrayFeatureMatrix(featureMatrix), labelVector, trainingContext);
+	}
+
+	@Override
+	public NumericHypothesisFunction train(FeatureRows featureRows,
+			double[] labelVector,
+			C trainingContext) {
+		return trainHypothesisFunction(featureRows, labelVector, featureRows.getColumnCount(), trainingContext);
+	}
+
+	/**
+	 * @return The hypothesis function once training has stopped running, provided the convergence criteria are satisfied,
+	 * with the best thetas selected by the convergence criteria if any
+	 */
+	protected NumericHypothesisFunction getTrainedHypothesisFunction(
+			LogisticRegressionHypothesisFunction hypothesisFunction,
+			C trainingContext) {
+		return getTrainedHypothesisFunction(hypothesisFunction, hypothesisFunction.thetas, trainingContext);
+	}
+
+	@Override
+	protected double[] selectLabels(double[] labelVector, int[] rows) {
+		double[] selectedLabelVector = new double[rows.length];
+		for (int i = 0; i < rows.length; i++) {
+			selectedLabelVector[i] = labelVector[rows[i]];
+		}
+		return selectedLabelVector;
+	}
+
+	@Override
+	protected LogisticRegressionHypothesisFunction createHypothesisFunction(
+			double[] thetas, int featureCount, C trainingContext) {
+		return new LogisticRegressionHypothesisFunction(thetas,trainingContext.getRegularizationLambda(),
+				trainingContext.isFastSigmoidApproximationEnabled());
+	}
+
+	@Override
+	protected LogisticRegressionGradientCalculator createGradientCalculator(
+			FeatureRows featureRows, int thetaCount, C trainingContext) {
+		LogisticRegressionGradientCalculator gradientCalculator = createGradientCalculator(featureRows);
+		gradientCalculator.setFastSigmoidApproximationEnabled(trainingContext.isFastSigmoidApproximationEnabled());
+		return gradientCalculator;
+	}
+
+	/**
+	 * @return A gradient calculator for use during a single training run over the specified feature rows
+	 */
+	protected LogisticRegressionGradientCalculator createGradientCalculator(FeatureRows featureRows) {
+		return new LogisticRegressionGradientCalculator(featureRows.getColumnCount());
+	}
+
+	@Override
+	protected AbstractGradientCalculator<double[]> createValidationGradientCalculator(
+			FeatureRows validationFeatureRows, int thetaCount) {
+		return new LogisticRegressionGradientCalculator(thetaCount);
+	}
+
+	protected LogisticRegressionHypothesisFunction getInitialHypothesisFunction(
+			int thetaCount,C trainingContext) {
+		return createHypothesisFunction(GradientDescentTrainingSupport.createInitialThetas(thetaCount, trainingContext), thetaCount, trainingContext);
+	}
+
+	@Override
+	public Double predictLabel(double[] featureVector,
+			NumericHypothesisFunction hypothesisFunction) {
+		return hypothesisFunction.predict(featureVector);
+	}
+
+	@Override
+	public Double predictLabel(FeatureRows featureRows, int row,
+			NumericHypothesisFunction hypothesisFunction) {
+		return hypothesisFunction.predict(featureRows, row);
+	}
+
+	@Override
+	public NumericHypothesisFunction update(
+			NumericHypothesisFunction hypothesisFunction,
+			FeatureRows featureRows, double[] labelVector, double learningRateAlpha) {
+		return GradientDescentTrainingSupport.updateLogisticRegressionHypothesisFunction(hypothesisFunction, featureRows, labelVector, learningRateAlpha);
+	}
+
+	@Override
+	public boolean isFeatureScaledDataRequired() {
+		return true;
+	}
+
+	public NumericCostFunction<LogisticRegressionHypothesisFunction> getCostFunction() {
+		return new LogisticRegressionCostFunction();
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+/**
+ * Updates each theta using bias-corrected, exponentially decaying averages of both the gradients
+ * and the squared gradients for that theta (Adam)
+ *
+ * @author Michael Lavelle
+ */
+public class AdamGradientDescentUpdateRule implements GradientDescentUpdateRule {
+
+	private static final double DEFAULT_FIRST_MOMENT_DECAY_RATE = 0.9;
+	private static final double DEFAULT_SECOND_MOMENT_DECAY_RATE = 0.999;
+	private static final double DEFAULT_EPSILON = 1e-8;
+
+	private double firstMomentDecayRate;
+	private double secondMomentDecayRate;
+	private double epsilon;
+	private double[] firstMoments;
+	private double[] secondMoments;
+	private double firstMomentDecayRatePower;
+	private double secondMomentDecayRatePower;
+
+	public AdamGradientDescentUpdateRule() {
+		this(DEFAULT_FIRST_MOMENT_DECAY_RATE, DEFAULT_SECOND_MOMENT_DECAY_RATE, DEFAULT_EPSILON);
+	}
+
+	/**
+	 * @param firstMomentDecayRate The fraction of the previous average gradient retained on each step
+	 * @param secondMomentDecayRate The fraction of the previous average squared gradient retained on each step
+	 * @param epsilon Small constant added to the denominator for numerical stability
+	 */
+	public AdamGradientDescentUpdateRule(double firstMomentDecayRate,
+			double secondMomentDecayRate, double epsilon) {
+		this.firstMomentDecayRate = firstMomentDecayRate;
+		this.secondMomentDecayRate = secondMomentDecayRate;
+		this.epsilon = epsilon;
+	}
+
+	@Override
+	public void initialise(int thetaCount) {
+		firstMoments = new double[thetaCount];
+		secondMoments = new double[thetaCount];
+		firstMomentDecayRatePower = 1d;
+		secondMomentDecayRatePower = 1d;
+	}
+
+	@Override
+	public void updateThetas(double[] thetas, double[] gradients,
+			double learningRateAlpha) {
+		firstMomentDecayRatePower = firstMomentDecayRatePower * firstMomentDecayRate;
+		secondMomentDecayRatePower = secondMomentDecayRatePower * secondMomentDecayRate;
+		double firstMomentBiasCorrection = 1d - firstMomentDecayRatePower;
+		double secondMomentBiasCorrection = 1d - secondMomentDecayRatePower;
+		for (int j = 0; j < thetas.length; j++) {
+			double gradient = gradients[j];
+			firstMoments[j] = firstMomentDecayRate * firstMoments[j] + (1d - firstMomentDecayRate) * gradient;
+			secondMoments[j] = secondMomentDecayRate * secondMoments[j] + (1d - secondMomentDecayRate) * gradient * gradient;
+			double correctedFirstMoment = firstMoments[j] / firstMomentBiasCorrection;
+			double correctedSecondMoment = secondMoments[j] / secondMomentBiasCorrection;
+			thetas[j] = thetas[j] - learningRateAlpha * correctedFirstMoment / (Math.sqrt(correctedSecondMoment) + epsilon);
+		}
+	}
+
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.VectorOperations;
+
+/**
+ * Solves the elastic-net regularized weighted least squares problem
+ * 
+ * minimise 1/(2m) * sum_i w_i * (z_i - x_i . thetas)^2 + sum_{j>0} (l1Penalty * |theta_j| + l2Penalty / 2 * theta_j^2)
+ * 
+ * by cyclic coordinate descent, with each theta set in turn to its soft-thresholded minimiser given the others.
+ * The first theta is the intercept and is not penalised.
+ * 
+ * Covariance updates are used - the gradients of the unpenalised cost are maintained for every theta, and when a theta
+ * changes they are updated from the corresponding column of the weighted Gram matrix X^T W X, so each coordinate update
+ * costs O(n) rather than a pass over the rows.  Gram columns are computed the first time their theta becomes non-zero, 
+ * so only the columns of the active set are ever calculated.  After each full pass, passes are restricted to the 
+ * active set until they converge, and training completes once a further full pass leaves the thetas unchanged.
+ *
+ * @author Michael Lavelle
+ */
+public class ElasticNetCoordinateDescentSolver {
+
+	private FeatureRows featureRows;
+	private double[] weights;
+	private double[] columnValues;
+	private double[] weightedSquaredNorms;
+	private double[][] gramColumns;
+	private double[] gradients;
+	private boolean converged;
+
+	/**
+	 * @param featureRows The feature rows, with the intercept values in the first column
+	 * @param weights The weight of each row, or null if all rows have unit weight
+	 * @param targets The target value of each row
+	 * @param thetas The initial thetas
+	 */
+	public ElasticNetCoordinateDescentSolver(FeatureRows featureRows, double[] weights, double[] targets, double[] thetas) {
+		this.featureRows = featureRows;
+		this.weights = weights;
+		int rowCount = featureRows.getRowCount();
+		int thetaCount = thetas.length;
+		this.weightedSquaredNorms = new double[thetaCount];
+		this.gramColumns = new double[thetaCount][];
+		this.gradients = new double[thetaCount];
+		this.columnValues = new double[rowCount];
+		for (int i = 0; i < rowCount; i++) {
+			featureRows.addScaledRow(i, getWeight(i) * targets[i], gradients);
+		}
+		for (int j = 0; j < thetaCount; j++) {
+			featureRows.copyColumn(j, columnValues);
+			double weightedSquaredNorm = 0d;
+			for (int i = 0; i < rowCount; i++) {
+				weightedSquaredNorm = weightedSquaredNorm + getWeight(i) * columnValues[i] * columnValues[i];
+			}
+			weightedSquaredNorms[j] = weightedSquaredNorm;
+		}
+		VectorOperations.scale(1d / rowCount, gradients);
+		VectorOperations.scale(1d / rowCount, weightedSquaredNorms);
+		for (int k = 0; k < thetaCount; k++) {
+			if (thetas[k] != 0d) {
+				VectorOperations.axpy(-thetas[k], getGramColumn(k), gradients);
+			}
+		}
+	}
+
+	/**
+	 * Updates the thetas in place to the solution of the regularized problem, or to the thetas reached once 
+	 * the maximum number of passes have been performed
+	 * 
+	 * @return The number of passes over the thetas performed
+	 */
+	public int solve(double[] thetas, double l1Penalty, double l2Penalty, double convergenceTolerance, int maxPasses) {
+		boolean activeSetPass = false;
+		int passes = 0;
+		converged = false;
+		while (passes < maxPasses) {
+			double maxThetaChange = 0d;
+			for (int j = 0; j < thetas.length; j++) {
+				if (!activeSetPass || j == 0 || thetas[j] != 0d) {
+					maxThetaChange = Math.max(maxThetaChange, updateTheta(j, thetas, l1Penalty, l2Penalty));
+				}
+			}
+			passes++;
+			if (maxThetaChange <= convergenceTolerance) {
+				if (!activeSetPass) {
+					converged = true;
+					return passes;
+				}
+				// Check whether any thetas outside the active set should now enter it
+				activeSetPass = false;
+			} else {
+				activeSetPass = true;
+			}
+		}
+		return passes;
+	}
+
+	/**
+	 * @return Whether the most recent solve converged within its maximum number of passes
+	 */
+	public boolean isConverged() {
+		return converged;
+	}
+
+	/**
+	 * @return The absolute change in the theta
+	 */
+	private double updateTheta(int j, double[] thetas, double l1Penalty, double l2Penalty) {
+		double squaredNorm = weightedSquaredNorms[j];
+		if (squaredNorm == 0d) {
+			return 0d;
+		}
+		double theta = thetas[j];
+		double correlation = gradients[j] + squaredNorm * theta;
+		double updatedTheta = j == 0 ? correlation / squaredNorm 
+				: softThreshold(correlation, l1Penalty) / (squaredNorm + l2Penalty);
+		double thetaChange = updatedTheta - theta;
+		if (thetaChange != 0d) {
+			thetas[j] = updatedTheta;
+			VectorOperations.axpy(-thetaChange, getGramColumn(j), gradients);
+		}
+		return Math.abs(thetaChange);
+	}
+
+	private double[] getGramColumn(int j) {
+		double[] gramColumn = gramColumns[j];
+		if (gramColumn == null) {
+			gramColumn = new double[weightedSquaredNorms.length];
+			featureRows.copyColumn(j, columnValues);
+			for (int i = 0; i < columnValues.length; i++) {
+				double weightedValue = getWeight(i) * columnValues[i];
+				if (weightedValue != 0d) {
+					featureRows.addScaledRow(i, weightedValue, gramColumn);
+				}
+			}
+			VectorOperations.scale(1d / columnValues.length, gramColumn);
+			gramColumns[j] = gramColumn;
+		}
+		return gramColumn;
+	}
+
+	private double getWeight(int i) {
+		return weights == null ? 1d : weights[i];
+	}
+
+	private static double softThreshold(double value, double threshold) {
+		if (value > threshold) {
+			return value - threshold;
+		} else if (value < -threshold) {
+			return value + threshold;
+		}
+		return 0d;
+	}
+
+}
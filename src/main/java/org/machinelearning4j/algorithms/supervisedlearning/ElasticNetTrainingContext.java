@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+/**
+ * Training context for elastic-net regularized regression algorithms solved by coordinate descent.
+ * 
+ * The regularization penalty applied to each non-intercept theta is 
+ * regularizationLambda * (l1Ratio * |theta| + (1 - l1Ratio) / 2 * theta^2), added to the cost averaged over
+ * the training examples.  An l1Ratio of 1 gives the lasso, and an l1Ratio of 0 gives ridge regression.  The
+ * larger the L1 part of the penalty, the more thetas are set to exactly zero.
+ * 
+ * @author Michael Lavelle
+ */
+public class ElasticNetTrainingContext {
+
+	private static final double DEFAULT_CONVERGENCE_TOLERANCE = 1e-6;
+	
+	private static final int DEFAULT_MAX_REWEIGHTING_ITERATIONS = 100;
+
+	private int maxIterations;
+	private int maxReweightingIterations = DEFAULT_MAX_REWEIGHTING_ITERATIONS;
+	private double regularizationLambda;
+	private double l1Ratio = 1d;
+	private double convergenceTolerance = DEFAULT_CONVERGENCE_TOLERANCE;
+
+	/**
+	 * @param maxIterations The maximum number of coordinate descent passes over the thetas 
+	 */
+	public ElasticNetTrainingContext(int maxIterations) {
+		if (maxIterations < 1)
+		{
+			throw new IllegalArgumentException("Max iterations must be at least 1");
+		}
+		this.maxIterations = maxIterations;
+	}
+
+	public int getMaxIterations() {
+		return maxIterations;
+	}
+
+	public int getMaxReweightingIterations() {
+		return maxReweightingIterations;
+	}
+
+	/**
+	 * @param maxReweightingIterations The maximum number of outer iterations of algorithms which solve a sequence of 
+	 * reweighted problems, such as logistic regression, each solved with at most maxIterations coordinate descent passes
+	 */
+	public void setMaxReweightingIterations(int maxReweightingIterations) {
+		if (maxReweightingIterations < 1)
+		{
+			throw new IllegalArgumentException("Max reweighting iterations must be at least 1");
+		}
+		this.maxReweightingIterations = maxReweightingIterations;
+	}
+
+	public double getRegularizationLambda() {
+		return regularizationLambda;
+	}
+
+	public void setRegularizationLambda(double regularizationLambda) {
+		if (regularizationLambda < 0)
+		{
+			throw new IllegalArgumentException("Regularization lambda must not be negative");
+		}
+		this.regularizationLambda = regularizationLambda;
+	}
+
+	public double getL1Ratio() {
+		return l1Ratio;
+	}
+
+	/**
+	 * @param l1Ratio The proportion of the regularization penalty applied to the absolute values of the thetas, 
+	 * between 0 and 1
+	 */
+	public void setL1Ratio(double l1Ratio) {
+		if (l1Ratio < 0 || l1Ratio > 1)
+		{
+			throw new IllegalArgumentException("L1 ratio must be between 0 and 1");
+		}
+		this.l1Ratio = l1Ratio;
+	}
+
+	/**
+	 * @return The penalty applied to the absolute value of each non-intercept theta
+	 */
+	public double getL1Penalty() {
+		return regularizationLambda * l1Ratio;
+	}
+
+	/**
+	 * @return The penalty applied to half the square of each non-intercept theta
+	 */
+	public double getL2Penalty() {
+		return regularizationLambda * (1d - l1Ratio);
+	}
+
+	public double getConvergenceTolerance() {
+		return convergenceTolerance;
+	}
+
+	/**
+	 * @param convergenceTolerance Training is considered converged once no theta changes by more than this 
+	 * amount in a pass over all the thetas
+	 */
+	public void setConvergenceTolerance(double convergenceTolerance) {
+		this.convergenceTolerance = convergenceTolerance;
+	}
+
+}
@@ -15,14 +15,21 @@
  */
 package org.machinelearning4j.algorithms.supervisedlearning;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.log4j.Logger;
 import org.machinelearning4j.algorithms.ConvergenceCriteria;
+import org.machinelearning4j.core.FeatureRows;
 
 /**
  *  Training context for a gradient descent regression algorithm
+ *  
+ *  The iteration number, termination flag, cost function snapshots and convergence checks may be used 
+ *  concurrently by the worker threads of asynchronous training algorithms.  Convergence criteria are
+ *  evaluated while holding the lock of this context, so need not be thread-safe themselves.
  * 
  * @author Michael Lavelle
  */
@@ -36,20 +43,38 @@ public class GradientDescentAlgorithmTrainingContext {
 	
 	private Integer costFunctionSnapshotIntervalInIterations;
 
-	private boolean trainingTerminated;
+	private GradientDescentUpdateRule updateRule;
+
+	private boolean fastSigmoidApproximationEnabled;
+
+	private double[] initialThetas;
+
+	private int validationExampleCount;
+
+	private Long shuffleSeed;
+
+	private Random shuffleRandom;
+
+	private ValidationSet<?> validationSet;
+
+	private volatile double[] currentThetas;
+
+	private volatile double[] bestThetas;
+
+	private volatile boolean trainingTerminated;
 	
 	private long maxIterations;
 	
-	private long currentIteration;
+	private AtomicLong currentIteration;
 	
 	public long getCurrentIteration() {
-		return currentIteration;
+		return currentIteration.get();
 	}
 	
 	private List<Double> costFunctionSnapshotHistory;
 	
 	
-	public void addCostFunctionSnapshotValue(double costFunctionValue)
+	public synchronized void addCostFunctionSnapshotValue(double costFunctionValue)
 	{
 		if (LOG.isDebugEnabled())
 		{
@@ -64,20 +89,47 @@ public class GradientDescentAlgorithmTrainingContext {
 	public GradientDescentAlgorithmTrainingContext(long maxIterations)
 	{
 		this.maxIterations = maxIterations;
-		this.costFunctionSnapshotHistory = new ArrayList<Double>();
+		this.currentIteration = new AtomicLong();
+		// Snapshots are infrequent, so copy on write allows convergence criteria to iterate over the history while snapshots are added
+		this.costFunctionSnapshotHistory = new CopyOnWriteArrayList<Double>();
 	}
 	
-	public void incrementIterationNumber()
+	/**
+	 * @return The new iteration number
+	 */
+	public long incrementIterationNumber()
 	{
-		currentIteration++;
+		return currentIteration.incrementAndGet();
 	}
 
-	public boolean isTrainingRunning() {
+	/**
+	 * Atomically increments the iteration number unless the iteration limit has been reached, allowing 
+	 * concurrent workers to claim iterations without exceeding the limit
+	 * 
+	 * @return The new iteration number, or -1 if the iteration limit has already been reached
+	 */
+	public long incrementIterationNumberIfLimitNotReached()
+	{
+		while (true)
+		{
+			long iteration = currentIteration.get();
+			if (iteration >= maxIterations)
+			{
+				return -1;
+			}
+			if (currentIteration.compareAndSet(iteration, iteration + 1))
+			{
+				return iteration + 1;
+			}
+		}
+	}
+
+	public synchronized boolean isTrainingRunning() {
 		return !isTrainingTerminated() && (convergenceCriteria == null || !convergenceCriteria.isPrerequisiteConditionViolated(this)) && !isIterationLimitReached();
 	}
 	
 	private boolean isIterationLimitReached() {
-		return currentIteration >= maxIterations;
+		return currentIteration.get() >= maxIterations;
 	}
 
 	public boolean isTrainingTerminated() {
@@ -88,8 +140,8 @@ public class GradientDescentAlgorithmTrainingContext {
 	}
 
 
-	public boolean isTrainingSuccessful() {
-		return convergenceCriteria != null && currentIteration > 0 && convergenceCriteria.isConvergenceCompleteConditionSatisfied(this);
+	public synchronized boolean isTrainingSuccessful() {
+		return convergenceCriteria != null && currentIteration.get() > 0 && convergenceCriteria.isConvergenceCompleteConditionSatisfied(this);
 	}
 
 	 public void setConvergenceCriteria(ConvergenceCriteria<GradientDescentAlgorithmTrainingContext> convergenceCriteria) {
@@ -118,6 +170,149 @@ public class GradientDescentAlgorithmTrainingContext {
 	}
 	
 
+	/**
+	 * @return The rule used to update thetas from gradients, defaulting to a standard gradient descent step
+	 * using the learning rate alpha
+	 */
+	public GradientDescentUpdateRule getUpdateRule() {
+		if (updateRule == null)
+		{
+			updateRule = new StandardGradientDescentUpdateRule();
+		}
+		return updateRule;
+	}
+
+	public void setUpdateRule(GradientDescentUpdateRule updateRule) {
+		this.updateRule = updateRule;
+	}
+
+	/**
+	 * @return Whether training, and predictions made by the trained hypothesis function, use the bounded-error
+	 * fast approximation of the sigmoid function rather than the exact function
+	 */
+	public boolean isFastSigmoidApproximationEnabled() {
+		return fastSigmoidApproximationEnabled;
+	}
+
+	public void setFastSigmoidApproximationEnabled(
+			boolean fastSigmoidApproximationEnabled) {
+		this.fastSigmoidApproximationEnabled = fastSigmoidApproximationEnabled;
+	}
+
+	/**
+	 * @return The thetas from which training starts, or null if training starts from all-zero thetas
+	 */
+	public double[] getInitialThetas() {
+		return initialThetas;
+	}
+
+	/**
+	 * Starts training from the thetas of a previously trained hypothesis function (a warm start) instead of from 
+	 * all-zero thetas - for example when retraining on data which has changed only slightly since the previous training.
+	 * 
+	 * The hypothesis function must have been trained on features of the same dimensions, scaled in the same way.
+	 */
+	public void setInitialHypothesisFunction(ThetaWeightedHypothesisFunction initialHypothesisFunction) {
+		this.initialThetas = initialHypothesisFunction.getThetas();
+	}
+
+	public Long getShuffleSeed() {
+		return shuffleSeed;
+	}
+
+	/**
+	 * @param shuffleSeed Seed for the random shuffling of training examples at the start of each epoch, by the 
+	 * algorithms which shuffle them, allowing training runs to be repeated exactly.  If not set, shuffling is not 
+	 * repeatable.
+	 */
+	public void setShuffleSeed(Long shuffleSeed) {
+		this.shuffleSeed = shuffleSeed;
+		this.shuffleRandom = null;
+	}
+
+	/**
+	 * @return The source of randomness used to shuffle training examples for this training run
+	 */
+	public Random getShuffleRandom() {
+		if (shuffleRandom == null)
+		{
+			shuffleRandom = shuffleSeed == null ? new Random() : new Random(shuffleSeed.longValue());
+		}
+		return shuffleRandom;
+	}
+
+	public int getValidationExampleCount() {
+		return validationExampleCount;
+	}
+
+	/**
+	 * @param validationExampleCount The number of training examples to hold out from training, for use by convergence 
+	 * criteria which evaluate the hypothesis function on a validation set.  The held out examples are evenly spaced 
+	 * through the training set.
+	 */
+	public void setValidationExampleCount(int validationExampleCount) {
+		if (validationExampleCount < 0)
+		{
+			throw new IllegalArgumentException("Validation example count must not be negative");
+		}
+		this.validationExampleCount = validationExampleCount;
+	}
+
+	/**
+	 * @return The feature rows of the examples held out from training, or null if no examples have been held out
+	 */
+	public FeatureRows getValidationFeatureRows() {
+		return validationSet == null ? null : validationSet.getFeatureRows();
+	}
+
+	/**
+	 * @return The unregularized cost of the cost function being minimised by the algorithm, evaluated for the 
+	 * specified thetas on the examples held out from training
+	 */
+	public double calculateValidationCost(double[] thetas) {
+		if (validationSet == null)
+		{
+			throw new IllegalStateException("No validation examples have been held out from training");
+		}
+		return validationSet.calculateCost(thetas);
+	}
+
+	void setValidationSet(ValidationSet<?> validationSet) {
+		this.validationSet = validationSet;
+	}
+
+	/**
+	 * @return The thetas being trained, updated in place by each iteration of training, or null if training has not started
+	 */
+	public double[] getCurrentThetas() {
+		return currentThetas;
+	}
+
+	/**
+	 * Sets the thetas being trained at the start of a training run, clearing the best thetas of any previous run
+	 */
+	void setCurrentThetas(double[] currentThetas) {
+		this.currentThetas = currentThetas;
+		this.bestThetas = null;
+	}
+
+	/**
+	 * @return The thetas which convergence criteria have selected as the best thetas evaluated so far during the 
+	 * current training run, with which the algorithm trains its hypothesis function once training stops, or null 
+	 * if the hypothesis function is trained with the thetas of the final iteration
+	 */
+	public double[] getBestThetas() {
+		return bestThetas;
+	}
+
+	/**
+	 * Records a copy of thetas evaluated during training as the best thetas of the current training run, for 
+	 * convergence criteria which select thetas by evaluating them, such as on a validation set
+	 */
+	public void setBestThetas(double[] bestThetas) {
+		this.bestThetas = bestThetas;
+	}
+
 	public void setCostFunctionSnapshotIntervalInIterations(
 			int costFunctionSnapshotItervalInIterations) {
 		this.costFunctionSnapshotIntervalInIterations = costFunctionSnapshotItervalInIterations;
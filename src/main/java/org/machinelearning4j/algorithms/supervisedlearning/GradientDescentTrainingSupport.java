@@ -0,0 +1,106 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+
+/**
+ * Training steps shared by the gradient descent algorithms, whether they run the training loop of 
+ * AbstractGradientDescentAlgorithm or schedule iterations themselves - checking the training context, creating 
+ * the initial thetas, deciding when cost function snapshots are due and selecting the trained thetas once 
+ * training stops.
+ * 
+ * @author Michael Lavelle
+ */
+final class GradientDescentTrainingSupport {
+
+	private GradientDescentTrainingSupport() {
+	}
+
+	/**
+	 * Checks that the training context specifies a learning rate
+	 */
+	static void validateLearningRate(GradientDescentAlgorithmTrainingContext trainingContext) {
+		if (trainingContext.getLearningRateAlpha() == null)
+		{
+			throw new RuntimeException("No learning rate alpha specified on training context");
+		}
+	}
+
+	/**
+	 * @return A new array of thetas from which to start training - a copy of the initial thetas 
+	 * of the training context if specified, otherwise all-zero thetas
+	 */
+	static double[] createInitialThetas(int thetaCount, GradientDescentAlgorithmTrainingContext trainingContext) {
+		double[] initialThetas = trainingContext.getInitialThetas();
+		if (initialThetas == null)
+		{
+			return new double[thetaCount];
+		}
+		if (initialThetas.length != thetaCount)
+		{
+			throw new IllegalArgumentException("Initial hypothesis function has " + initialThetas.length 
+					+ " thetas but " + thetaCount + " are required");
+		}
+		return initialThetas.clone();
+	}
+
+	/**
+	 * @return Whether a cost function snapshot is due for the thetas at the end of the specified iteration
+	 */
+	static boolean isCostFunctionSnapshotDue(GradientDescentAlgorithmTrainingContext trainingContext, long iteration) {
+		return trainingContext.getCostFunctionSnapshotIntervalInIterations() != null 
+				&& iteration % trainingContext.getCostFunctionSnapshotIntervalInIterations() == 0;
+	}
+
+	/**
+	 * Copies the best thetas selected by the convergence criteria, if any, into the trained thetas once training has 
+	 * stopped running - these are used even if the iteration limit was reached before the convergence criteria were 
+	 * satisfied.  Otherwise checks that the convergence criteria are satisfied.
+	 */
+	static void selectTrainedThetas(double[] thetas, GradientDescentAlgorithmTrainingContext trainingContext) {
+		double[] bestThetas = trainingContext.getBestThetas();
+		if (bestThetas != null) {
+			System.arraycopy(bestThetas, 0, thetas, 0, bestThetas.length);
+		} else if (!trainingContext.isTrainingSuccessful()) {
+			if (trainingContext.getConvergenceCriteria() != null) {
+				throw new RuntimeException(
+						"Training has stopped running but has not satisfied convergence criteria");
+			} else {
+				throw new RuntimeException(
+						"Training has stopped running but cannot be deemed to have converged as no convergence criteria have been specified on the training context");
+			}
+		}
+	}
+
+	/**
+	 * @return A copy of the logistic regression hypothesis function updated by a single stochastic gradient descent 
+	 * step for each of the new training examples, in order
+	 */
+	static NumericHypothesisFunction updateLogisticRegressionHypothesisFunction(
+			NumericHypothesisFunction hypothesisFunction,
+			FeatureRows featureRows, double[] labelVector, double learningRateAlpha) {
+		LogisticRegressionHypothesisFunction currentHypothesisFunction = (LogisticRegressionHypothesisFunction)hypothesisFunction;
+		LogisticRegressionHypothesisFunction updatedHypothesisFunction = new LogisticRegressionHypothesisFunction(currentHypothesisFunction.getThetas(),
+				currentHypothesisFunction.getRegularizationLambda(), currentHypothesisFunction.isFastSigmoidApproximationEnabled());
+		for (int i = 0; i < featureRows.getRowCount(); i++) {
+			double error = updatedHypothesisFunction.predict(featureRows, i).doubleValue() - labelVector[i];
+			featureRows.addScaledRow(i, -learningRateAlpha * error, updatedHypothesisFunction.thetas);
+		}
+		return updatedHypothesisFunction;
+	}
+
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+/**
+ * Defines how the thetas are updated from the gradients of the cost function on each step of
+ * a gradient descent algorithm.
+ *
+ * Implementations may hold per-theta state across steps, so an instance should only be used by a
+ * single training run at a time.
+ *
+ * @author Michael Lavelle
+ */
+public interface GradientDescentUpdateRule {
+
+	/**
+	 * Resets any state held by this update rule in preparation for a training run
+	 *
+	 * @param thetaCount The number of thetas which will be updated
+	 */
+	void initialise(int thetaCount);
+
+	/**
+	 * Updates the thetas in place
+	 *
+	 * @param thetas The thetas to update
+	 * @param gradients The gradients of the cost function with respect to each theta
+	 * @param learningRateAlpha The learning rate for this step
+	 */
+	void updateThetas(double[] thetas, double[] gradients, double learningRateAlpha);
+}
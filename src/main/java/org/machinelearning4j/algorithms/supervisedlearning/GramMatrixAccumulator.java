@@ -0,0 +1,198 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.DenseFeatureMatrix;
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.VectorOperations;
+
+/**
+ * Accumulates the sufficient statistics of linear regression - the Gram matrix X^T X and the vector X^T y - 
+ * from training examples added one at a time, without retaining the examples, so that memory is proportional to
+ * the square of the number of features regardless of the number of training examples.
+ * 
+ * Only the upper triangle of the Gram matrix is accumulated.  When a block of rows of a feature matrix is added, 
+ * the rows are processed in blocks of contiguous values, with the outer products of each block accumulated one tile 
+ * of the Gram matrix at a time, so that the working set stays cache resident as the number of features grows.  
+ * 
+ * An accumulator is not thread-safe - to accumulate in parallel, or over separate partitions of the training 
+ * data, use an accumulator for each thread or partition and merge them once accumulation is complete.
+ * 
+ * @author Michael Lavelle
+ */
+public class GramMatrixAccumulator {
+
+	private static final int ROW_BLOCK_SIZE = 64;
+	private static final int COLUMN_TILE_SIZE = 64;
+
+	private long trainingExampleCount;
+	private double[][] gramMatrix;
+	private double[] featureLabelProducts;
+
+	/**
+	 * @param featureValueCount The number of feature values of each training example, including any intercept
+	 */
+	public GramMatrixAccumulator(int featureValueCount) {
+		this.gramMatrix = new double[featureValueCount][featureValueCount];
+		this.featureLabelProducts = new double[featureValueCount];
+	}
+
+	public void add(TrainingExample trainingExample) {
+		add(trainingExample.getFeatureValues(), trainingExample.getLabelValue());
+	}
+
+	public void add(double[] featureValues, double labelValue) {
+		int featureValueCount = featureLabelProducts.length;
+		if (featureValues.length != featureValueCount) {
+			throw new IllegalArgumentException("Expected " + featureValueCount + " feature values but found " + featureValues.length);
+		}
+		trainingExampleCount++;
+		for (int j = 0; j < featureValueCount; j++) {
+			double value = featureValues[j];
+			if (value != 0d) {
+				double[] gramRow = gramMatrix[j];
+				for (int k = j; k < featureValueCount; k++) {
+					gramRow[k] = gramRow[k] + value * featureValues[k];
+				}
+			}
+		}
+		VectorOperations.axpy(labelValue, featureValues, featureLabelProducts);
+	}
+
+	/**
+	 * Adds rows fromRow (inclusive) to toRow (exclusive) of the feature matrix, with their corresponding labels
+	 */
+	public void add(double[][] featureMatrix, double[] labelVector, int fromRow, int toRow) {
+		int featureValueCount = featureLabelProducts.length;
+		for (int i = fromRow; i < toRow; i++) {
+			if (featureMatrix[i].length != featureValueCount) {
+				throw new IllegalArgumentException("Expected " + featureValueCount + " feature values but found " + featureMatrix[i].length);
+			}
+		}
+		double[] blockValues = new double[Math.min(ROW_BLOCK_SIZE, toRow - fromRow) * featureValueCount];
+		for (int blockStart = fromRow; blockStart < toRow; blockStart += ROW_BLOCK_SIZE) {
+			int blockEnd = Math.min(blockStart + ROW_BLOCK_SIZE, toRow);
+			for (int i = blockStart; i < blockEnd; i++) {
+				System.arraycopy(featureMatrix[i], 0, blockValues, (i - blockStart) * featureValueCount, featureValueCount);
+				VectorOperations.axpy(labelVector[i], featureMatrix[i], featureLabelProducts);
+			}
+			accumulateBlockGramMatrix(blockValues, 0, blockEnd - blockStart);
+		}
+		trainingExampleCount = trainingExampleCount + (toRow - fromRow);
+	}
+
+	/**
+	 * Adds rows fromRow (inclusive) to toRow (exclusive) of the feature rows, with their corresponding labels.  Rows 
+	 * stored contiguously in a dense feature matrix are accumulated in place - rows in any other storage are copied 
+	 * a block at a time into a contiguous buffer for the tiled accumulation of the Gram matrix.
+	 */
+	public void add(FeatureRows featureRows, double[] labelVector, int fromRow, int toRow) {
+		int featureValueCount = featureLabelProducts.length;
+		if (featureRows.getColumnCount() != featureValueCount) {
+			throw new IllegalArgumentException("Expected " + featureValueCount + " feature values but found " + featureRows.getColumnCount());
+		}
+		double[] denseValues = featureRows instanceof DenseFeatureMatrix ? ((DenseFeatureMatrix)featureRows).getValues() : null;
+		double[] blockValues = null;
+		double[] rowValues = null;
+		if (denseValues == null) {
+			blockValues = new double[Math.min(ROW_BLOCK_SIZE, toRow - fromRow) * featureValueCount];
+			rowValues = new double[featureValueCount];
+		}
+		for (int blockStart = fromRow; blockStart < toRow; blockStart += ROW_BLOCK_SIZE) {
+			int blockEnd = Math.min(blockStart + ROW_BLOCK_SIZE, toRow);
+			for (int i = blockStart; i < blockEnd; i++) {
+				if (blockValues != null) {
+					featureRows.copyRow(i, rowValues);
+					System.arraycopy(rowValues, 0, blockValues, (i - blockStart) * featureValueCount, featureValueCount);
+				}
+				featureRows.addScaledRow(i, labelVector[i], featureLabelProducts);
+			}
+			if (blockValues == null) {
+				accumulateBlockGramMatrix(denseValues, blockStart * featureValueCount, blockEnd - blockStart);
+			} else {
+				accumulateBlockGramMatrix(blockValues, 0, blockEnd - blockStart);
+			}
+		}
+		trainingExampleCount = trainingExampleCount + (toRow - fromRow);
+	}
+
+	/**
+	 * Accumulates the outer products of blockRowCount rows stored contiguously in values from offset
+	 */
+	private void accumulateBlockGramMatrix(double[] values, int offset, int blockRowCount) {
+		int featureValueCount = featureLabelProducts.length;
+		for (int rowTileStart = 0; rowTileStart < featureValueCount; rowTileStart += COLUMN_TILE_SIZE) {
+			int rowTileEnd = Math.min(rowTileStart + COLUMN_TILE_SIZE, featureValueCount);
+			for (int columnTileStart = rowTileStart; columnTileStart < featureValueCount; columnTileStart += COLUMN_TILE_SIZE) {
+				int columnTileEnd = Math.min(columnTileStart + COLUMN_TILE_SIZE, featureValueCount);
+				for (int rowOffset = offset; rowOffset < offset + blockRowCount * featureValueCount; rowOffset += featureValueCount) {
+					for (int j = rowTileStart; j < rowTileEnd; j++) {
+						double value = values[rowOffset + j];
+						if (value != 0d) {
+							double[] gramRow = gramMatrix[j];
+							for (int k = Math.max(j, columnTileStart); k < columnTileEnd; k++) {
+								gramRow[k] = gramRow[k] + value * values[rowOffset + k];
+							}
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Adds the statistics accumulated by another accumulator, over a disjoint set of training examples, to 
+	 * the statistics of this accumulator
+	 */
+	public void merge(GramMatrixAccumulator accumulator) {
+		if (accumulator.getFeatureValueCount() != getFeatureValueCount()) {
+			throw new IllegalArgumentException("Cannot merge accumulators for different numbers of feature values");
+		}
+		trainingExampleCount = trainingExampleCount + accumulator.trainingExampleCount;
+		for (int j = 0; j < gramMatrix.length; j++) {
+			VectorOperations.axpy(1d, accumulator.gramMatrix[j], gramMatrix[j]);
+		}
+		VectorOperations.axpy(1d, accumulator.featureLabelProducts, featureLabelProducts);
+	}
+
+	public long getTrainingExampleCount() {
+		return trainingExampleCount;
+	}
+
+	public int getFeatureValueCount() {
+		return featureLabelProducts.length;
+	}
+
+	/**
+	 * @return A copy of the upper triangle of X^T X for the training examples accumulated so far, with zeros 
+	 * below the diagonal
+	 */
+	public double[][] getGramMatrix() {
+		double[][] gramMatrixCopy = new double[gramMatrix.length][];
+		for (int j = 0; j < gramMatrix.length; j++) {
+			gramMatrixCopy[j] = gramMatrix[j].clone();
+		}
+		return gramMatrixCopy;
+	}
+
+	/**
+	 * @return A copy of X^T y for the training examples accumulated so far
+	 */
+	public double[] getFeatureLabelProducts() {
+		return featureLabelProducts.clone();
+	}
+
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.RowArrayFeatureMatrix;
+import org.machinelearning4j.core.VectorOperations;
+
+/**
+ *  A linear regression algorithm solving the (ridge regularized) least squares problem by the conjugate 
+ *  gradient method applied to the normal equations (CGLS), without ever forming X^T X.
+ *  
+ *  Each iteration requires only a product of the feature matrix with a vector and a product of its 
+ *  transpose with a vector, so memory beyond the feature matrix is proportional to the number of training 
+ *  examples plus the number of features, making the algorithm suitable for feature counts too large for
+ *  the normal equation.  The products can be partitioned by rows across a number of threads, with partial 
+ *  sums for the transpose products reduced in partition order.
+ *  
+ *  Convergence is fastest for well conditioned problems, so feature scaling is recommended but not required.
+ * 
+ * @author Michael Lavelle
+ */
+public class LinearRegressionConjugateGradientAlgorithm implements
+		LinearRegressionAlgorithm<LinearRegressionConjugateGradientTrainingContext> {
+
+	private int numberOfThreads;
+
+	public LinearRegressionConjugateGradientAlgorithm() {
+		this(1);
+	}
+
+	/**
+	 * @param numberOfThreads The number of threads to partition the rows of the feature matrix across when 
+	 * calculating matrix vector products
+	 */
+	public LinearRegressionConjugateGradientAlgorithm(int numberOfThreads) {
+		if (numberOfThreads < 1)
+		{
+			throw new IllegalArgumentException("Number of threads must be at least 1");
+		}
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	@Override
+	public NumericHypothesisFunction train(double[][] featureMatrix,
+			double[] labelVector, LinearRegressionConjugateGradientTrainingContext trainingContext) {
+		return train(new RowArrayFeatureMatrix(featureMatrix), labelVector, trainingContext);
+	}
+
+	@Override
+	public NumericHypothesisFunction train(FeatureRows featureRows,
+			double[] labelVector, LinearRegressionConjugateGradientTrainingContext trainingContext) {
+		MatrixVectorProducts products = new MatrixVectorProducts(featureRows, numberOfThreads);
+		try
+		{
+			return new LinearRegressionHypothesisFunction(solve(featureRows, labelVector, trainingContext, products));
+		}
+		finally
+		{
+			products.shutdown();
+		}
+	}
+
+	private double[] solve(FeatureRows featureRows, double[] labelVector, 
+			LinearRegressionConjugateGradientTrainingContext trainingContext, MatrixVectorProducts products) {
+		int thetaCount = featureRows.getColumnCount();
+		double lambda = Math.max(0d, trainingContext.getRegularizationLambda());
+		double[] thetas = new double[thetaCount];
+		double[] residuals = labelVector.clone();
+		double[] directionProducts = new double[featureRows.getRowCount()];
+		double[] gradients = new double[thetaCount];
+
+		// The negative gradient of the cost, halved, X^T (y - X thetas) - lambda * thetas excluding the intercept
+		products.multiplyTranspose(residuals, gradients);
+		double[] searchDirection = gradients.clone();
+		double gradientNormSquared = VectorOperations.dotProduct(gradients, gradients);
+		double convergedGradientNormSquared = gradientNormSquared * trainingContext.getConvergenceTolerance() 
+				* trainingContext.getConvergenceTolerance();
+
+		for (int iteration = 0; iteration < trainingContext.getMaxIterations() && gradientNormSquared > convergedGradientNormSquared; iteration++)
+		{
+			products.multiply(searchDirection, directionProducts);
+			double curvature = VectorOperations.dotProduct(directionProducts, directionProducts);
+			for (int j = 1; j < thetaCount; j++)
+			{
+				curvature = curvature + lambda * searchDirection[j] * searchDirection[j];
+			}
+			if (curvature <= 0d)
+			{
+				break;
+			}
+			double stepLength = gradientNormSquared / curvature;
+			VectorOperations.axpy(stepLength, searchDirection, thetas);
+			VectorOperations.axpy(-stepLength, directionProducts, residuals);
+
+			products.multiplyTranspose(residuals, gradients);
+			for (int j = 1; j < thetaCount; j++)
+			{
+				gradients[j] = gradients[j] - lambda * thetas[j];
+			}
+			double previousGradientNormSquared = gradientNormSquared;
+			gradientNormSquared = VectorOperations.dotProduct(gradients, gradients);
+			VectorOperations.scaledAdd(gradientNormSquared / previousGradientNormSquared, searchDirection, 1d, gradients);
+		}
+		return thetas;
+	}
+
+	@Override
+	public Double predictLabel(double[] featureVector,
+			NumericHypothesisFunction hypothesisFunction) {
+		return hypothesisFunction.predict(featureVector);
+	}
+
+	@Override
+	public Double predictLabel(FeatureRows featureRows, int row,
+			NumericHypothesisFunction hypothesisFunction) {
+		return hypothesisFunction.predict(featureRows, row);
+	}
+
+	@Override
+	public boolean isFeatureScaledDataRequired() {
+		return false;
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	/**
+	 * Calculates products of the feature rows and their transpose with vectors, partitioning the feature rows 
+	 * across a pool of worker threads when more than one thread is used
+	 */
+	private static class MatrixVectorProducts {
+
+		private FeatureRows featureRows;
+		private int[] partitionStartRows;
+		private double[][] partitionTransposeProducts;
+		private ExecutorService executorService;
+
+		public MatrixVectorProducts(FeatureRows featureRows, int numberOfThreads) {
+			this.featureRows = featureRows;
+			int rowCount = featureRows.getRowCount();
+			int partitionCount = Math.max(1, Math.min(numberOfThreads, rowCount));
+			this.partitionStartRows = new int[partitionCount + 1];
+			for (int p = 0; p <= partitionCount; p++) {
+				partitionStartRows[p] = (int) (((long) rowCount * p) / partitionCount);
+			}
+			if (partitionCount > 1) {
+				this.partitionTransposeProducts = new double[partitionCount][featureRows.getColumnCount()];
+				this.executorService = Executors.newFixedThreadPool(partitionCount);
+			}
+		}
+
+		/**
+		 * Populates result with the product of the feature rows with x
+		 */
+		public void multiply(final double[] x, final double[] result) {
+			if (executorService == null) {
+				featureRows.multiply(0, featureRows.getRowCount(), x, result);
+				return;
+			}
+			List<Future<double[]>> partitionResults = new ArrayList<Future<double[]>>(partitionStartRows.length - 1);
+			for (int p = 0; p < partitionStartRows.length - 1; p++) {
+				final int fromRow = partitionStartRows[p];
+				final int toRow = partitionStartRows[p + 1];
+				partitionResults.add(executorService.submit(new Callable<double[]>() {
+					@Override
+					public double[] call() {
+						double[] partitionResult = new double[toRow - fromRow];
+						featureRows.multiply(fromRow, toRow, x, partitionResult);
+						return partitionResult;
+					}
+				}));
+			}
+			for (int p = 0; p < partitionResults.size(); p++) {
+				double[] partitionResult = getResult(partitionResults.get(p));
+				System.arraycopy(partitionResult, 0, result, partitionStartRows[p], partitionResult.length);
+			}
+		}
+
+		/**
+		 * Populates result with the product of the transpose of the feature rows with x
+		 */
+		public void multiplyTranspose(final double[] x, double[] result) {
+			Arrays.fill(result, 0d);
+			if (executorService == null) {
+				accumulateTransposeProduct(x, 0, featureRows.getRowCount(), result);
+				return;
+			}
+			List<Future<double[]>> partitionResults = new ArrayList<Future<double[]>>(partitionTransposeProducts.length);
+			for (int p = 0; p < partitionTransposeProducts.length; p++) {
+				final int fromRow = partitionStartRows[p];
+				final int toRow = partitionStartRows[p + 1];
+				final double[] partitionResult = partitionTransposeProducts[p];
+				partitionResults.add(executorService.submit(new Callable<double[]>() {
+					@Override
+					public double[] call() {
+						Arrays.fill(partitionResult, 0d);
+						accumulateTransposeProduct(x, fromRow, toRow, partitionResult);
+						return partitionResult;
+					}
+				}));
+			}
+			for (Future<double[]> partitionResult : partitionResults) {
+				VectorOperations.axpy(1d, getResult(partitionResult), result);
+			}
+		}
+
+		private void accumulateTransposeProduct(double[] x, int fromRow, int toRow, double[] result) {
+			for (int i = fromRow; i < toRow; i++) {
+				featureRows.addScaledRow(i, x[i], result);
+			}
+		}
+
+		private double[] getResult(Future<double[]> partitionResult) {
+			try {
+				return partitionResult.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException(e);
+			} catch (ExecutionException e) {
+				throw new RuntimeException(e.getCause());
+			}
+		}
+
+		public void shutdown() {
+			if (executorService != null) {
+				executorService.shutdownNow();
+			}
+		}
+	}
+
+}
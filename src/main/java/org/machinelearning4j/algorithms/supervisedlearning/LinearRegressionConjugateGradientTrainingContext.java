@@ -0,0 +1,70 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+/**
+ *  Training context for a linear regression conjugate gradient algorithm
+ *  
+ *  The regularization lambda has the same meaning as for the normal equation, with thetas minimising
+ *  ||X thetas - y||^2 + lambda * ||thetas excluding the intercept||^2
+ * 
+ * @author Michael Lavelle
+ */
+public class LinearRegressionConjugateGradientTrainingContext {
+
+	private static final double DEFAULT_CONVERGENCE_TOLERANCE = 1e-10;
+
+	private int maxIterations;
+	private double regularizationLambda;
+	private double convergenceTolerance = DEFAULT_CONVERGENCE_TOLERANCE;
+
+	/**
+	 * @param maxIterations The maximum number of conjugate gradient iterations, each requiring one product with
+	 * the feature matrix and one with its transpose
+	 */
+	public LinearRegressionConjugateGradientTrainingContext(int maxIterations) {
+		if (maxIterations < 1)
+		{
+			throw new IllegalArgumentException("Max iterations must be at least 1");
+		}
+		this.maxIterations = maxIterations;
+	}
+
+	public int getMaxIterations() {
+		return maxIterations;
+	}
+
+	public double getRegularizationLambda() {
+		return regularizationLambda;
+	}
+
+	public void setRegularizationLambda(double regularizationLambda) {
+		this.regularizationLambda = regularizationLambda;
+	}
+
+	public double getConvergenceTolerance() {
+		return convergenceTolerance;
+	}
+
+	/**
+	 * @param convergenceTolerance Training is considered converged once the norm of the gradient of the 
+	 * least squares cost has fallen below this fraction of its initial norm
+	 */
+	public void setConvergenceTolerance(double convergenceTolerance) {
+		this.convergenceTolerance = convergenceTolerance;
+	}
+
+}
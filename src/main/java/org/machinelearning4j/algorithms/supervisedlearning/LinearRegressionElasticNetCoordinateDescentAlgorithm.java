@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.RowArrayFeatureMatrix;
+
+/**
+ *  A linear regression algorithm using elastic-net regularization, minimising the mean squared error cost
+ *  plus the penalty defined by the training context with cyclic coordinate descent.
+ *  
+ *  With an L1 penalty, thetas for features which do not contribute enough to the fit are set to exactly zero,
+ *  so the learned hypothesis function only depends on a subset of the features.  Predictions are made by the 
+ *  standard hypothesis function, so still evaluate every theta.
+ *  
+ *  A RuntimeException is thrown if the thetas have not converged within the maximum number of coordinate 
+ *  descent passes of the training context.
+ *  
+ *  As the penalty applies equally to each theta, the data must be feature scaled.
+ * 
+ * @author Michael Lavelle
+ */
+public class LinearRegressionElasticNetCoordinateDescentAlgorithm implements
+		LinearRegressionAlgorithm<ElasticNetTrainingContext> {
+
+	public LinearRegressionElasticNetCoordinateDescentAlgorithm() {
+	}
+
+	@Override
+	public NumericHypothesisFunction train(double[][] featureMatrix,
+			double[] labelVector, ElasticNetTrainingContext trainingContext) {
+		return train(new RowArrayFeatureMatrix(featureMatrix), labelVector, trainingContext);
+	}
+
+	@Override
+	public NumericHypothesisFunction train(FeatureRows featureRows,
+			double[] labelVector, ElasticNetTrainingContext trainingContext) {
+		double[] thetas = new double[featureRows.getColumnCount()];
+		// Least squares is already quadratic, so a single weighted problem with unit weights is solved
+		ElasticNetCoordinateDescentSolver solver = new ElasticNetCoordinateDescentSolver(featureRows, null, labelVector, thetas);
+		int passes = solver.solve(thetas, trainingContext.getL1Penalty(), trainingContext.getL2Penalty(), 
+				trainingContext.getConvergenceTolerance(), trainingContext.getMaxIterations());
+		if (!solver.isConverged())
+		{
+			throw new RuntimeException("Training has stopped after " + passes + " coordinate descent passes but the thetas have not converged");
+		}
+		return new LinearRegressionHypothesisFunction(thetas);
+	}
+
+	@Override
+	public Double predictLabel(double[] featureVector,
+			NumericHypothesisFunction hypothesisFunction) {
+		return hypothesisFunction.predict(featureVector);
+	}
+
+	@Override
+	public Double predictLabel(FeatureRows featureRows, int row,
+			NumericHypothesisFunction hypothesisFunction) {
+		return hypothesisFunction.predict(featureRows, row);
+	}
+
+	@Override
+	public boolean isFeatureScaledDataRequired() {
+		return true;
+	}
+
+}
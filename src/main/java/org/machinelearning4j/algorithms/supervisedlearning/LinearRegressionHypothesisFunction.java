@@ -15,6 +15,9 @@
  */
 package org.machinelearning4j.algorithms.supervisedlearning;
 
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.VectorOperations;
+
 /**
  * 
  * @author Michael Lavelle
@@ -25,7 +28,7 @@ package org.machinelearning4j.algorithms.supervisedlearning;
  * This LinearRegressionHypothesisFunction uses a set of theta weights corresponding
  * to the feature values to predict a value from a linear combination of the weighted values.
  */
-public class LinearRegressionHypothesisFunction implements NumericHypothesisFunction {
+public class LinearRegressionHypothesisFunction implements NumericHypothesisFunction, ThetaWeightedHypothesisFunction {
 
 	private double[] thetas;
 
@@ -33,15 +36,20 @@ public class LinearRegressionHypothesisFunction implements NumericHypothesisFunc
 	{
 		this.thetas = thetas;
 	}
+
+	@Override
+	public double[] getThetas() {
+		return thetas.clone();
+	}
 	
 	@Override
 	public Double predict(double[] numericFeatures) {
-		double y = 0d;
-		for (int index = 0; index < numericFeatures.length; index++)
-		{
-			y = y +  thetas[index] * numericFeatures[index];
-		}
-		return y;
+		return VectorOperations.dotProduct(numericFeatures, thetas);
+	}
+
+	@Override
+	public Double predict(FeatureRows featureRows, int row) {
+		return featureRows.dotProduct(row, thetas);
 	}
 
 }
@@ -15,78 +15,399 @@
  */
 package org.machinelearning4j.algorithms.supervisedlearning;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.RowArrayFeatureMatrix;
+import org.machinelearning4j.core.VectorOperations;
+import org.machinelearning4j.util.Iterators;
+
+import Jama.CholeskyDecomposition;
+import Jama.EigenvalueDecomposition;
 import Jama.Matrix;
+import Jama.QRDecomposition;
 
 /**
  *  A linear regression algorithm using the normal equation, using regularization
  *  defined by the value of the regularizationLambda specified in the training 
  *  context parameter passed to the train() method
  *  
+ *  The normal equations (X^T X + lambda * I') thetas = X^T y, where I' is the identity matrix
+ *  excluding the intercept, are formed by accumulating the upper triangle of X^T X and the 
+ *  vector X^T y row by row with a GramMatrixAccumulator, and solved using a Cholesky 
+ *  decomposition - neither the transpose of the feature matrix nor the inverse of X^T X is ever 
+ *  materialised.  If X^T X is not positive 
+ *  definite or is too ill-conditioned for the Cholesky solve to be accurate, the least squares 
+ *  problem is solved instead by a QR decomposition of the feature matrix, which avoids squaring 
+ *  its condition number.  When trained from a GramMatrixAccumulator the feature matrix is not
+ *  available, so the fallback is a QR decomposition of X^T X itself, whose condition number is 
+ *  the square of that of the feature matrix - regularisation is recommended on this path.
+ *  
+ *  The rows of the feature matrix can be partitioned across a number of threads, each accumulating 
+ *  X^T X and X^T y for its partition, with the partial sums merged in partition order so that the
+ *  solution is deterministic for a given number of threads.
+ *  
+ *  As only X^T X and X^T y are required, the algorithm can also be trained on a stream of training 
+ *  examples, or on accumulators populated and merged elsewhere, with memory proportional to the square
+ *  of the number of features.
+ *  
  *  Warning - if specified regularisation lambda is zero, no regularisation
- *  with occur and there is a risk of matrix operations throwing a non-invertible
- *  exception.
+ *  with occur and there is a risk of a rank deficient exception being thrown
+ *  when the features are linearly dependent.
  *  
- *  If regularisation is used, the necessary matrices are guaranteed to be invertible
+ *  If regularisation is used, the normal equations are guaranteed to have a unique solution
  * 
  * @author Michael Lavelle
  */
 public class LinearRegressionNormalEquationAlgorithm implements
-		LinearRegressionAlgorithm<LinearRegressionNormalEquationTrainingContext> {
+		LinearRegressionAlgorithm<LinearRegressionNormalEquationTrainingContext>, OnlineRegressionAlgorithm,
+		StreamingRegressionAlgorithm<LinearRegressionNormalEquationTrainingContext>, RegularizationPathRegressionAlgorithm {
+	
+	/**
+	 * The smallest reciprocal condition number estimate of X^T X for which the Cholesky solve is used
+	 */
+	private static final double MIN_CHOLESKY_RECIPROCAL_CONDITION_NUMBER = 1e-12;
+	
+	/**
+	 * The smallest ratio of the smallest to the largest regularized eigenvalue of the Schur complement for which
+	 * the normal equations of a regularization path are considered non-singular
+	 */
+	private static final double MIN_REGULARIZATION_PATH_EIGENVALUE_RATIO = 1e-12;
+	
+	private int numberOfThreads;
 	
 	public LinearRegressionNormalEquationAlgorithm() {
+		this(1);
 	}
 	
-	private Matrix createFeatureMatrix(double[][] featureMatrixValues)
-	{
-
-		return new Matrix(featureMatrixValues);
+	/**
+	 * @param numberOfThreads The number of threads to partition the rows of the feature matrix across when 
+	 * accumulating X^T X and X^T y
+	 */
+	public LinearRegressionNormalEquationAlgorithm(int numberOfThreads) {
+		if (numberOfThreads < 1)
+		{
+			throw new IllegalArgumentException("Number of threads must be at least 1");
+		}
+		this.numberOfThreads = numberOfThreads;
 	}
 	
-	private Matrix createLabelVector(double[] labelVectorValues)
+	/**
+	 * @return The upper triangle of the accumulated X^T X, with the regularization term added to the diagonal for 
+	 * non-intercept thetas
+	 */
+	private double[][] createRegularisedGramMatrix(GramMatrixAccumulator accumulator, double lambda)
 	{
-		Matrix labelVector = new Matrix(labelVectorValues.length,1);
-		int i  = 0;
-		for (double label : labelVectorValues)
+		double[][] gramMatrix = accumulator.getGramMatrix();
+		for (int j = 1; j < gramMatrix.length; j++)
 		{
-			labelVector.set(i, 0, label);
-			i++;
+			gramMatrix[j][j] = gramMatrix[j][j] + lambda;
 		}
-		return labelVector;
+		return gramMatrix;
 	}
-	
-	private Matrix createRegularisationMatrix(Matrix preRegularisationMatrix,double lambda)
-	{
-		Matrix regularisationMatrix = Matrix.identity(preRegularisationMatrix.getRowDimension(), preRegularisationMatrix.getColumnDimension());
-		regularisationMatrix.set(0, 0, 0);
-		regularisationMatrix.times(lambda);
-		return regularisationMatrix;
+
+	@Override
+	public NumericHypothesisFunction train(double[][] featureMatrix,
+			double[] labelVector,LinearRegressionNormalEquationTrainingContext context) {
+		return train(new RowArrayFeatureMatrix(featureMatrix), labelVector, context);
 	}
 
 	@Override
-	public NumericHypothesisFunction train(double[][] featureMatrixValues,
-			double[] labelVectorValues,LinearRegressionNormalEquationTrainingContext context) {
-		int featureCount = featureMatrixValues[0].length;
-		double[] thetas = new double[featureCount];
+	public NumericHypothesisFunction train(FeatureRows featureRows,
+			double[] labelVector,LinearRegressionNormalEquationTrainingContext context) {
+		double regularisationLambda = Math.max(0d, context.getRegularizationLambda());
 		
-		Matrix featureMatrix = createFeatureMatrix(featureMatrixValues);
-		Matrix labelVector = createLabelVector(labelVectorValues);
+		GramMatrixAccumulator accumulator = accumulate(featureRows, labelVector);
+		double[] thetas = solveByCholeskyDecomposition(createRegularisedGramMatrix(accumulator, regularisationLambda), 
+				accumulator.getFeatureLabelProducts());
+		if (thetas == null)
+		{
+			thetas = solveByQRDecomposition(featureRows, labelVector, regularisationLambda);
+		}
+		return new LinearRegressionHypothesisFunction(thetas);
+	}
 
-		Matrix result = featureMatrix.transpose().times(featureMatrix);
-		double regularisationLambda = context.getRegularizationLambda();
-		if (regularisationLambda > 0)
+	private GramMatrixAccumulator accumulate(final FeatureRows featureRows, final double[] labelVector)
+	{
+		final int featureCount = featureRows.getColumnCount();
+		final int rowCount = featureRows.getRowCount();
+		int partitionCount = Math.max(1, Math.min(numberOfThreads, rowCount));
+		if (partitionCount == 1)
+		{
+			GramMatrixAccumulator accumulator = new GramMatrixAccumulator(featureCount);
+			accumulator.add(featureRows, labelVector, 0, rowCount);
+			return accumulator;
+		}
+		ExecutorService executorService = Executors.newFixedThreadPool(partitionCount);
+		try
 		{
-			// Regularise if lambda specified is greater than zero
-			result = result.plus(createRegularisationMatrix(result,regularisationLambda));
+			List<Future<GramMatrixAccumulator>> partitionResults = new ArrayList<Future<GramMatrixAccumulator>>(partitionCount);
+			for (int p = 0; p < partitionCount; p++)
+			{
+				final int fromRow = (int) (((long) rowCount * p) / partitionCount);
+				final int toRow = (int) (((long) rowCount * (p + 1)) / partitionCount);
+				partitionResults.add(executorService.submit(new Callable<GramMatrixAccumulator>() {
+					@Override
+					public GramMatrixAccumulator call() {
+						GramMatrixAccumulator partitionAccumulator = new GramMatrixAccumulator(featureCount);
+						partitionAccumulator.add(featureRows, labelVector, fromRow, toRow);
+						return partitionAccumulator;
+					}
+				}));
+			}
+			GramMatrixAccumulator accumulator = getResult(partitionResults.get(0));
+			for (int p = 1; p < partitionCount; p++)
+			{
+				accumulator.merge(getResult(partitionResults.get(p)));
+			}
+			return accumulator;
+		}
+		finally
+		{
+			executorService.shutdownNow();
+		}
+	}
+
+	private GramMatrixAccumulator getResult(Future<GramMatrixAccumulator> partitionResult) {
+		try {
+			return partitionResult.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	/**
+	 * Accumulates X^T X and X^T y in a single streaming pass over the training examples, so that 
+	 * only these sufficient statistics are held in memory
+	 */
+	@Override
+	public NumericHypothesisFunction train(TrainingExampleStream trainingExamples,
+			LinearRegressionNormalEquationTrainingContext context) {
+		GramMatrixAccumulator accumulator = new GramMatrixAccumulator(trainingExamples.getFeatureValueCount());
+		Iterator<TrainingExample> trainingExampleIterator = trainingExamples.iterator();
+		try
+		{
+			while (trainingExampleIterator.hasNext())
+			{
+				accumulator.add(trainingExampleIterator.next());
+			}
+		}
+		finally
+		{
+			Iterators.closeIfCloseable(trainingExampleIterator);
+		}
+		return train(accumulator, context);
+	}
+
+	/**
+	 * Solves the normal equations for X^T X and X^T y previously accumulated, possibly by several merged accumulators
+	 * 
+	 * As the training examples themselves are not available, if X^T X is not sufficiently well conditioned for a 
+	 * Cholesky solve the normal equations are solved by QR decomposition of X^T X instead.  Unlike the QR 
+	 * fallback of train(FeatureRows,...) this does not avoid squaring the condition number of the feature matrix,
+	 * so it is less accurate for nearly collinear features unless a regularization lambda is specified.
+	 */
+	public NumericHypothesisFunction train(GramMatrixAccumulator accumulator,
+			LinearRegressionNormalEquationTrainingContext context) {
+		if (accumulator.getTrainingExampleCount() == 0)
+		{
+			throw new IllegalStateException("No training examples have been accumulated");
+		}
+		double regularisationLambda = Math.max(0d, context.getRegularizationLambda());
+		double[][] gramMatrix = createRegularisedGramMatrix(accumulator, regularisationLambda);
+		double[] featureLabelProducts = accumulator.getFeatureLabelProducts();
+		double[] thetas = solveByCholeskyDecomposition(gramMatrix, featureLabelProducts);
+		if (thetas == null)
+		{
+			// The Cholesky solve has mirrored the upper triangle
+			int featureCount = gramMatrix.length;
+			thetas = new QRDecomposition(new Matrix(gramMatrix, featureCount, featureCount))
+					.solve(new Matrix(featureLabelProducts, featureCount)).getColumnPackedCopy();
+		}
+		return new LinearRegressionHypothesisFunction(thetas);
+	}
+
+	/**
+	 * Trains a hypothesis function for each of a sequence of regularization lambdas, such as the candidates 
+	 * for a lambda selected by validation, accumulating X^T X and X^T y only once
+	 * 
+	 * @return The hypothesis functions for each lambda, in the order of the lambdas
+	 */
+	@Override
+	public NumericHypothesisFunction[] trainRegularizationPath(double[][] featureMatrix,
+			double[] labelVector, double[] regularizationLambdas) {
+		return trainRegularizationPath(new RowArrayFeatureMatrix(featureMatrix), labelVector, regularizationLambdas);
+	}
+
+	/**
+	 * Trains a hypothesis function for each of a sequence of regularization lambdas, accumulating X^T X and X^T y 
+	 * from the feature rows only once
+	 * 
+	 * @return The hypothesis functions for each lambda, in the order of the lambdas
+	 */
+	@Override
+	public NumericHypothesisFunction[] trainRegularizationPath(FeatureRows featureRows,
+			double[] labelVector, double[] regularizationLambdas) {
+		return trainRegularizationPath(accumulate(featureRows, labelVector), regularizationLambdas);
+	}
+
+	/**
+	 * Trains a hypothesis function for each of a sequence of regularization lambdas from X^T X and X^T y 
+	 * previously accumulated.
+	 * 
+	 * The intercept theta, which is not regularized, is eliminated from the normal equations, leaving
+	 * (S + lambda * I) thetas' = c for the non-intercept thetas, where S is the Schur complement of the 
+	 * intercept diagonal element of X^T X.  S is decomposed once as V E V^T for its eigenvalues E, 
+	 * after which the thetas for each lambda are V (E + lambda * I)^-1 V^T c, costing O(n^2) per lambda 
+	 * rather than a full solve, with the intercept theta then recovered by back substitution.
+	 * 
+	 * @return The hypothesis functions for each lambda, in the order of the lambdas
+	 */
+	public NumericHypothesisFunction[] trainRegularizationPath(GramMatrixAccumulator accumulator, double[] regularizationLambdas) {
+		if (accumulator.getTrainingExampleCount() == 0)
+		{
+			throw new IllegalStateException("No training examples have been accumulated");
+		}
+		double[][] gramMatrix = accumulator.getGramMatrix();
+		double[] featureLabelProducts = accumulator.getFeatureLabelProducts();
+		int thetaCount = gramMatrix.length;
+		double interceptDiagonal = gramMatrix[0][0];
+		if (interceptDiagonal <= 0d)
+		{
+			throw new IllegalStateException("The first feature must be a non-zero intercept feature");
+		}
+		double[] interceptProducts = gramMatrix[0];
+		
+		int reducedThetaCount = thetaCount - 1;
+		double[][] schurComplement = new double[reducedThetaCount][reducedThetaCount];
+		double[] reducedFeatureLabelProducts = new double[reducedThetaCount];
+		for (int j = 0; j < reducedThetaCount; j++)
+		{
+			double interceptProduct = interceptProducts[j + 1] / interceptDiagonal;
+			for (int k = j; k < reducedThetaCount; k++)
+			{
+				double value = gramMatrix[j + 1][k + 1] - interceptProduct * interceptProducts[k + 1];
+				schurComplement[j][k] = value;
+				schurComplement[k][j] = value;
+			}
+			reducedFeatureLabelProducts[j] = featureLabelProducts[j + 1] - interceptProduct * featureLabelProducts[0];
 		}
 		
-		result = result.inverse().times(featureMatrix.transpose());
-		Matrix thetasMatrix = result.times(labelVector);
+		double[] eigenvalues = new double[0];
+		double[][] eigenvectors = new double[0][0];
+		double[] projectedFeatureLabelProducts = new double[reducedThetaCount];
+		double maxEigenvalue = 0d;
+		if (reducedThetaCount > 0)
+		{
+			EigenvalueDecomposition eigenvalueDecomposition = new Matrix(schurComplement, reducedThetaCount, reducedThetaCount).eig();
+			eigenvalues = eigenvalueDecomposition.getRealEigenvalues();
+			eigenvectors = eigenvalueDecomposition.getV().getArray();
+			for (int j = 0; j < reducedThetaCount; j++)
+			{
+				VectorOperations.axpy(reducedFeatureLabelProducts[j], eigenvectors[j], projectedFeatureLabelProducts);
+				maxEigenvalue = Math.max(maxEigenvalue, eigenvalues[j]);
+			}
+		}
 		
-		for (int j = 0 ; j < thetas.length; j++)
+		NumericHypothesisFunction[] hypothesisFunctions = new NumericHypothesisFunction[regularizationLambdas.length];
+		double[] scaledProjections = new double[reducedThetaCount];
+		for (int l = 0; l < regularizationLambdas.length; l++)
 		{
-			thetas[j] = thetasMatrix.get(j,0);
+			double lambda = Math.max(0d, regularizationLambdas[l]);
+			for (int k = 0; k < reducedThetaCount; k++)
+			{
+				double regularisedEigenvalue = eigenvalues[k] + lambda;
+				if (regularisedEigenvalue <= MIN_REGULARIZATION_PATH_EIGENVALUE_RATIO * (maxEigenvalue + lambda))
+				{
+					throw new IllegalStateException("Normal equations are singular for regularization lambda " + regularizationLambdas[l]);
+				}
+				scaledProjections[k] = projectedFeatureLabelProducts[k] / regularisedEigenvalue;
+			}
+			double[] thetas = new double[thetaCount];
+			for (int j = 0; j < reducedThetaCount; j++)
+			{
+				thetas[j + 1] = VectorOperations.dotProduct(eigenvectors[j], scaledProjections);
+			}
+			thetas[0] = (featureLabelProducts[0] - VectorOperations.dotProduct(interceptProducts, 1, thetas, 1, reducedThetaCount)) / interceptDiagonal;
+			hypothesisFunctions[l] = new LinearRegressionHypothesisFunction(thetas);
 		}
-		return new LinearRegressionHypothesisFunction(thetas);
+		return hypothesisFunctions;
+	}
+
+	/**
+	 * @param gramMatrix The upper triangle of the regularised X^T X
+	 * @return The thetas solving the normal equations, or null if the matrix is not sufficiently well
+	 * conditioned for a Cholesky solve
+	 */
+	private static double[] solveByCholeskyDecomposition(double[][] gramMatrix, double[] featureLabelProducts)
+	{
+		int featureCount = gramMatrix.length;
+		// Jama checks the symmetry of the matrix it decomposes, so mirror the upper triangle
+		for (int j = 0; j < featureCount; j++)
+		{
+			for (int k = j + 1; k < featureCount; k++)
+			{
+				gramMatrix[k][j] = gramMatrix[j][k];
+			}
+		}
+		CholeskyDecomposition cholesky = new Matrix(gramMatrix, featureCount, featureCount).chol();
+		if (!cholesky.isSPD() || estimateReciprocalConditionNumber(cholesky.getL()) < MIN_CHOLESKY_RECIPROCAL_CONDITION_NUMBER)
+		{
+			return null;
+		}
+		return cholesky.solve(new Matrix(featureLabelProducts, featureCount)).getColumnPackedCopy();
+	}
+
+	/**
+	 * Estimates the reciprocal of the condition number of L L^T from the diagonal of the Cholesky factor L
+	 */
+	private static double estimateReciprocalConditionNumber(Matrix choleskyFactor)
+	{
+		double minDiagonal = Double.POSITIVE_INFINITY;
+		double maxDiagonal = 0d;
+		for (int j = 0; j < choleskyFactor.getRowDimension(); j++)
+		{
+			double diagonal = choleskyFactor.get(j, j);
+			minDiagonal = Math.min(minDiagonal, diagonal);
+			maxDiagonal = Math.max(maxDiagonal, diagonal);
+		}
+		double ratio = minDiagonal / maxDiagonal;
+		return ratio * ratio;
+	}
+
+	/**
+	 * Solves the least squares problem for the feature rows directly, augmented with rows of sqrt(lambda) for 
+	 * each non-intercept theta when regularised
+	 */
+	private double[] solveByQRDecomposition(FeatureRows featureRows, double[] labelVector, double lambda)
+	{
+		int rowCount = featureRows.getRowCount();
+		int featureCount = featureRows.getColumnCount();
+		int regularisationRowCount = lambda > 0 ? featureCount - 1 : 0;
+		Matrix designMatrix = new Matrix(rowCount + regularisationRowCount, featureCount);
+		Matrix labels = new Matrix(rowCount + regularisationRowCount, 1);
+		double[][] designValues = designMatrix.getArray();
+		for (int i = 0; i < rowCount; i++)
+		{
+			featureRows.copyRow(i, designValues[i]);
+			labels.set(i, 0, labelVector[i]);
+		}
+		double regularisationValue = Math.sqrt(lambda);
+		for (int j = 1; j <= regularisationRowCount; j++)
+		{
+			designValues[rowCount + j - 1][j] = regularisationValue;
+		}
+		return new QRDecomposition(designMatrix).solve(labels).getColumnPackedCopy();
 	}
 
 	@Override
@@ -95,10 +416,37 @@ public class LinearRegressionNormalEquationAlgorithm implements
 		return hypothesisFunction.predict(featureVector);
 	}
 
+	@Override
+	public Double predictLabel(FeatureRows featureRows, int row,
+			NumericHypothesisFunction hypothesisFunction) {
+		return hypothesisFunction.predict(featureRows, row);
+	}
+
+	/**
+	 * Updates the thetas found by the normal equation with stochastic gradient descent steps - the learning rate
+	 * must be small enough for the scale of the features, which need not be feature scaled for this algorithm
+	 */
+	@Override
+	public NumericHypothesisFunction update(
+			NumericHypothesisFunction hypothesisFunction,
+			FeatureRows featureRows, double[] labelVector, double learningRateAlpha) {
+		double[] thetas = ((LinearRegressionHypothesisFunction)hypothesisFunction).getThetas();
+		LinearRegressionHypothesisFunction updatedHypothesisFunction = new LinearRegressionHypothesisFunction(thetas);
+		for (int i = 0; i < featureRows.getRowCount(); i++) {
+			double error = updatedHypothesisFunction.predict(featureRows, i).doubleValue() - labelVector[i];
+			featureRows.addScaledRow(i, -learningRateAlpha * error, thetas);
+		}
+		return updatedHypothesisFunction;
+	}
+
 	@Override
 	public boolean isFeatureScaledDataRequired() {
 		return false;
 	}
 
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
 
 }
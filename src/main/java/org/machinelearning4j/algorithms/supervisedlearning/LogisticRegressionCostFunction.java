@@ -15,36 +15,31 @@
  */
 package org.machinelearning4j.algorithms.supervisedlearning;
 
+import org.machinelearning4j.core.RowArrayFeatureMatrix;
+
 /**
  * Defines logistic regression cost function
  * 
+ * The cost is calculated using the same single pass over the training data as the logistic regression
+ * gradient calculation, so is consistent with the gradients used by the training algorithms.
+ * 
  * @author Michael Lavelle
  */
-public class LogisticRegressionCostFunction implements CostFunction<double[],Double,LogisticRegressionHypothesisFunction> {
+public class LogisticRegressionCostFunction implements NumericCostFunction<LogisticRegressionHypothesisFunction> {
+
+	@Override
+	public double getCost(LogisticRegressionHypothesisFunction h, double[][] features,double[] labels) {		
+		return new LogisticRegressionGradientCalculator(h.thetas.length).calculateCost(new RowArrayFeatureMatrix(features), labels, h.thetas, h.getRegularizationLambda());
+	}
 
 	@Override
 	public double getCost(LogisticRegressionHypothesisFunction h, double[][] features,Double[] labels) {		
-		int trainingExamples = features.length;
-		double cost = 0d;
-		for (int i = 0; i < trainingExamples; i++)
-		{
-			cost = cost - labels[i].doubleValue() * Math.log(h.predict(features[i]))
-			- (1d - labels[i].doubleValue()) * Math.log(1 - h.predict(features[i]));
-		}
-		double regularizationTerm = 0d;
-		if (h.getRegularizationLambda() > 0)
+		double[] labelValues = new double[labels.length];
+		for (int i = 0; i < labels.length; i++)
 		{
-			double sumOfThetaSquares = 0d;
-			for (int j = 0 ; j < h.thetas.length; j++)
-			{
-				sumOfThetaSquares = sumOfThetaSquares+ h.thetas[j] * h.thetas[j];
-			}
-			regularizationTerm =  h.getRegularizationLambda()/2d + sumOfThetaSquares;
+			labelValues[i] = labels[i].doubleValue();
 		}
-		cost = (cost + regularizationTerm)/trainingExamples;
-		return cost;
+		return getCost(h, features, labelValues);
 	}
 
-	
-
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.RowArrayFeatureMatrix;
+import org.machinelearning4j.core.VectorOperations;
+
+/**
+ * A logistic regression algorithm using elastic-net regularization, minimising the mean log-loss plus the
+ * penalty defined by the training context.
+ * 
+ * Each outer iteration replaces the log-loss by its quadratic approximation at the current thetas - a weighted least 
+ * squares problem with weights p(1 - p) and working responses z + (y - p) / (p(1 - p)) for the current scores z and
+ * predicted probabilities p - and solves the regularized approximation by cyclic coordinate descent, warm started from the
+ * current thetas.  If the solution increases the penalised cost, the step from the current thetas is halved until it does
+ * not.  Iterations stop once the thetas change by no more than the convergence tolerance of the training context.
+ *
+ * A RuntimeException is thrown if the thetas have not converged within the maximum number of reweighting iterations, 
+ * or a reweighted problem has not converged within the maximum number of coordinate descent passes, of the training
+ * context - for example if the training data is linearly separable and no regularization is specified, in which case
+ * the thetas grow without bound.
+ *
+ * With an L1 penalty, thetas for features which do not contribute enough to the fit are set to exactly zero.
+ * Predictions are made by the standard hypothesis function, so still evaluate every theta.
+ * 
+ * @author Michael Lavelle
+ */
+public class LogisticRegressionElasticNetCoordinateDescentAlgorithm implements
+		LogisticRegressionAlgorithm<ElasticNetTrainingContext> {
+
+	/**
+	 * Lower bound on the weights, so that working responses stay finite for confidently predicted examples
+	 */
+	private static final double MIN_WEIGHT = 1e-5;
+	
+	private static final int MAX_STEP_HALVINGS = 30;
+
+	public LogisticRegressionElasticNetCoordinateDescentAlgorithm() {
+	}
+
+	@Override
+	public NumericHypothesisFunction train(double[][] featureMatrix,
+			double[] labelVector, ElasticNetTrainingContext trainingContext) {
+		return train(new RowArrayFeatureMatrix(featureMatrix), labelVector, trainingContext);
+	}
+
+	@Override
+	public NumericHypothesisFunction train(FeatureRows featureRows,
+			double[] labelVector, ElasticNetTrainingContext trainingContext) {
+		int rowCount = featureRows.getRowCount();
+		double l1Penalty = trainingContext.getL1Penalty();
+		double l2Penalty = trainingContext.getL2Penalty();
+		double[] thetas = new double[featureRows.getColumnCount()];
+		double[] previousThetas = new double[thetas.length];
+		double[] scores = new double[rowCount];
+		double[] weights = new double[rowCount];
+		double[] workingResponses = new double[rowCount];
+		double penalisedCost = calculatePenalisedCost(labelVector, scores, thetas, l1Penalty, l2Penalty);
+
+		for (int iteration = 1; iteration <= trainingContext.getMaxReweightingIterations(); iteration++) {
+			for (int i = 0; i < rowCount; i++) {
+				double prediction = LogisticFunctions.sigmoid(scores[i]);
+				double weight = Math.max(prediction * (1d - prediction), MIN_WEIGHT);
+				weights[i] = weight;
+				workingResponses[i] = scores[i] + (labelVector[i] - prediction) / weight;
+			}
+			System.arraycopy(thetas, 0, previousThetas, 0, thetas.length);
+			ElasticNetCoordinateDescentSolver solver = new ElasticNetCoordinateDescentSolver(featureRows, weights, workingResponses, thetas);
+			int passes = solver.solve(thetas, l1Penalty, l2Penalty, trainingContext.getConvergenceTolerance(), trainingContext.getMaxIterations());
+			if (!solver.isConverged()) {
+				throw new RuntimeException("Reweighting iteration " + iteration + " has stopped after " + passes 
+						+ " coordinate descent passes but the thetas have not converged");
+			}
+			
+			double previousPenalisedCost = penalisedCost;
+			featureRows.multiply(0, rowCount, thetas, scores);
+			penalisedCost = calculatePenalisedCost(labelVector, scores, thetas, l1Penalty, l2Penalty);
+			for (int halvings = 0; penalisedCost > previousPenalisedCost && halvings < MAX_STEP_HALVINGS; halvings++) {
+				VectorOperations.scaledAdd(0.5d, thetas, 0.5d, previousThetas);
+				featureRows.multiply(0, rowCount, thetas, scores);
+				penalisedCost = calculatePenalisedCost(labelVector, scores, thetas, l1Penalty, l2Penalty);
+			}
+			
+			double maxThetaChange = 0d;
+			for (int j = 0; j < thetas.length; j++) {
+				maxThetaChange = Math.max(maxThetaChange, Math.abs(thetas[j] - previousThetas[j]));
+			}
+			if (maxThetaChange <= trainingContext.getConvergenceTolerance()) {
+				return new LogisticRegressionHypothesisFunction(thetas, trainingContext.getRegularizationLambda());
+			}
+		}
+		throw new RuntimeException("Training has stopped after " + trainingContext.getMaxReweightingIterations() 
+				+ " reweighting iterations but the thetas have not converged");
+	}
+
+	/**
+	 * @return The mean log-loss for the scores plus the elastic-net penalty for the non-intercept thetas
+	 */
+	private double calculatePenalisedCost(double[] labelVector, double[] scores, double[] thetas, double l1Penalty, double l2Penalty) {
+		double costSum = 0d;
+		for (int i = 0; i < scores.length; i++) {
+			costSum = costSum + LogisticFunctions.logLoss(scores[i], labelVector[i]);
+		}
+		double penalty = 0d;
+		for (int j = 1; j < thetas.length; j++) {
+			penalty = penalty + l1Penalty * Math.abs(thetas[j]) + l2Penalty / 2d * thetas[j] * thetas[j];
+		}
+		return costSum / scores.length + penalty;
+	}
+
+	@Override
+	public Double predictLabel(double[] featureVector,
+			NumericHypothesisFunction hypothesisFunction) {
+		return hypothesisFunction.predict(featureVector);
+	}
+
+	@Override
+	public Double predictLabel(FeatureRows featureRows, int row,
+			NumericHypothesisFunction hypothesisFunction) {
+		return hypothesisFunction.predict(featureRows, row);
+	}
+
+	@Override
+	public boolean isFeatureScaledDataRequired() {
+		return true;
+	}
+
+}
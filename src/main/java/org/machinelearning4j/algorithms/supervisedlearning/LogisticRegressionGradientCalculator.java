@@ -0,0 +1,130 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import java.util.Arrays;
+
+import org.machinelearning4j.core.FeatureRows;
+
+/**
+ * Calculates the gradients of the logistic regression cost function with respect to each theta, together
+ * with the value of the cost function itself.
+ *
+ * The hypothesis function is evaluated once per training example, and the cost and all gradient components
+ * are accumulated in a single pass over the rows into buffers which are reused for each calculation.
+ *
+ * Rows are processed in blocks, with the linear scores of each block calculated by a row-block matrix-vector
+ * product before the gradient contributions of the block are accumulated.  All access to the training examples
+ * is through the row operations of FeatureRows, so the same calculation serves every feature storage, with the
+ * work for sparse rows proportional to the number of non-zero features.
+ *
+ * An instance holds mutable buffers, so should be created per training run rather than shared.
+ *
+ * @author Michael Lavelle
+ */
+public class LogisticRegressionGradientCalculator extends AbstractGradientCalculator<double[]> {
+
+	private static final int SCORE_BLOCK_SIZE = 64;
+
+	private boolean fastSigmoidApproximationEnabled;
+
+	public LogisticRegressionGradientCalculator(int thetaCount)
+	{
+		super(thetaCount, thetaCount);
+	}
+
+	/**
+	 * @param fastSigmoidApproximationEnabled Whether predicted probabilities are calculated using the bounded-error
+	 * fast approximation of the sigmoid function.  The cost is always calculated exactly from the linear scores.
+	 */
+	public void setFastSigmoidApproximationEnabled(boolean fastSigmoidApproximationEnabled) {
+		this.fastSigmoidApproximationEnabled = fastSigmoidApproximationEnabled;
+		invalidateCalculation();
+	}
+
+	/**
+	 * @return The predicted probability for the linear score z
+	 */
+	protected double sigmoid(double z) {
+		return fastSigmoidApproximationEnabled ? LogisticFunctions.fastSigmoid(z) : LogisticFunctions.sigmoid(z);
+	}
+
+	@Override
+	protected double calculateGradientSums(FeatureRows featureRows,
+			double[] labelVector, double[] thetas, double[] gradientSums) {
+		return accumulateGradientSums(featureRows, labelVector, thetas, 0, featureRows.getRowCount(), gradientSums);
+	}
+
+	/**
+	 * Calculates gradients estimated from a mini-batch of training examples, identified by the entries 
+	 * of rowIndexes from fromIndex (inclusive) to toIndex (exclusive).
+	 * 
+	 * The regularization term is scaled by the total number of training examples so that the
+	 * expected value of the mini-batch gradients matches the full batch gradients.
+	 * 
+	 * @return The gradients for the specified thetas - the returned array is owned by this
+	 * calculator and is overwritten by the next calculation
+	 */
+	public double[] calculateMiniBatchGradients(FeatureRows featureRows,
+			double[] labelVector, double[] thetas, double regularizationLambda, int[] rowIndexes, int fromIndex, int toIndex) {
+		invalidateCalculation();
+		Arrays.fill(gradients, 0d);
+		for (int index = fromIndex; index < toIndex; index++) {
+			int i = rowIndexes[index];
+			accumulateRowGradientSums(featureRows, i, labelVector[i], featureRows.dotProduct(i, thetas), gradients);
+		}
+		double batchSize = toIndex - fromIndex;
+		double m = featureRows.getRowCount();
+		for (int j = 0; j < gradients.length; j++) {
+			double regularizationTerm = 0d;
+			if (j > 0 && regularizationLambda > 0 ) regularizationTerm = regularizationLambda * thetas[j] / m;
+			gradients[j] = gradients[j] / batchSize + regularizationTerm;
+		}
+		return gradients;
+	}
+
+	/**
+	 * Adds the unregularized, unaveraged gradient contributions of rows fromRow (inclusive) to toRow (exclusive)
+	 * to the gradientSums array
+	 * 
+	 * @return The unregularized sum of the cost contributions of the rows
+	 */
+	protected double accumulateGradientSums(FeatureRows featureRows,
+			double[] labelVector, double[] thetas, int fromRow, int toRow, double[] gradientSums) {
+		double costSum = 0d;
+		// Allocated per call as rows may be accumulated concurrently into separate gradient sums
+		double[] scores = new double[Math.min(SCORE_BLOCK_SIZE, Math.max(toRow - fromRow, 0))];
+		for (int blockStart = fromRow; blockStart < toRow; blockStart += SCORE_BLOCK_SIZE) {
+			int blockEnd = Math.min(blockStart + SCORE_BLOCK_SIZE, toRow);
+			featureRows.multiply(blockStart, blockEnd, thetas, scores);
+			for (int i = blockStart; i < blockEnd; i++) {
+				costSum = costSum + accumulateRowGradientSums(featureRows, i, labelVector[i], scores[i - blockStart], gradientSums);
+			}
+		}
+		return costSum;
+	}
+
+	/**
+	 * @return The cost contribution of the row
+	 */
+	private double accumulateRowGradientSums(FeatureRows featureRows, int row, double label,
+			double z, double[] gradientSums) {
+		double error = sigmoid(z) - label;
+		featureRows.addScaledRow(row, error, gradientSums);
+		return LogisticFunctions.logLoss(z, label);
+	}
+
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import java.util.Arrays;
+
+import org.machinelearning4j.core.DenseFeatureMatrix;
+import org.machinelearning4j.core.FeatureRows;
+
+/**
+ * Calculates the cost and gradients of the logistic regression cost function together with its Hessian,
+ * X^T W X where W is the diagonal matrix of weights p(1 - p) for the predicted probabilities p,
+ * in the same pass over the rows of the feature matrix.
+ *
+ * Rows are processed in blocks, with the weighted outer products of each block accumulated into the
+ * upper triangle of the Hessian one column tile at a time, so that the working set stays cache resident
+ * as the number of rows grows.  Rows stored contiguously in a dense feature matrix are read in place for the outer 
+ * products - rows in any other storage are copied a block at a time into a contiguous buffer, so that the Hessian 
+ * can be calculated for any feature storage.
+ * 
+ * Accumulating the Hessian costs O(m n^2) for m rows of n features, so the costs of trial thetas which may be 
+ * rejected, such as those of a line search, are calculated without it.
+ *
+ * @author Michael Lavelle
+ */
+public class LogisticRegressionHessianGradientCalculator extends
+		LogisticRegressionGradientCalculator {
+
+	private static final int ROW_BLOCK_SIZE = 64;
+	private static final int COLUMN_TILE_SIZE = 64;
+
+	private double[][] hessianSums;
+	private double[] blockValues;
+	private double[] rowValues;
+	private double[] blockScores;
+	private double[] blockWeights;
+	private LogisticRegressionGradientCalculator trialCostCalculator;
+
+	public LogisticRegressionHessianGradientCalculator(int thetaCount) {
+		super(thetaCount);
+		this.trialCostCalculator = new LogisticRegressionGradientCalculator(thetaCount);
+		this.hessianSums = new double[thetaCount][thetaCount];
+		this.blockValues = new double[ROW_BLOCK_SIZE * thetaCount];
+		this.rowValues = new double[thetaCount];
+		this.blockScores = new double[ROW_BLOCK_SIZE];
+		this.blockWeights = new double[ROW_BLOCK_SIZE];
+	}
+
+	@Override
+	protected double calculateGradientSums(FeatureRows featureRows,
+			double[] labelVector, double[] thetas, double[] gradientSums) {
+		int thetaCount = thetas.length;
+		double costSum = 0d;
+		for (double[] hessianRow : hessianSums) {
+			Arrays.fill(hessianRow, 0d);
+		}
+		int rowCount = featureRows.getRowCount();
+		double[] denseValues = featureRows instanceof DenseFeatureMatrix ? ((DenseFeatureMatrix)featureRows).getValues() : null;
+		for (int blockStart = 0; blockStart < rowCount; blockStart += ROW_BLOCK_SIZE) {
+			int blockEnd = Math.min(blockStart + ROW_BLOCK_SIZE, rowCount);
+			featureRows.multiply(blockStart, blockEnd, thetas, blockScores);
+			for (int i = blockStart; i < blockEnd; i++) {
+				double z = blockScores[i - blockStart];
+				double prediction = sigmoid(z);
+				double error = prediction - labelVector[i];
+				costSum = costSum + LogisticFunctions.logLoss(z, labelVector[i]);
+				featureRows.addScaledRow(i, error, gradientSums);
+				if (denseValues == null) {
+					featureRows.copyRow(i, rowValues);
+					System.arraycopy(rowValues, 0, blockValues, (i - blockStart) * thetaCount, thetaCount);
+				}
+				blockWeights[i - blockStart] = prediction * (1d - prediction);
+			}
+			if (denseValues == null) {
+				accumulateBlockHessianSums(blockValues, 0, blockEnd - blockStart, thetaCount);
+			} else {
+				accumulateBlockHessianSums(denseValues, blockStart * thetaCount, blockEnd - blockStart, thetaCount);
+			}
+		}
+		return costSum;
+	}
+
+	/**
+	 * @return The value of the cost function for the specified thetas, calculated in a single pass which does not 
+	 * accumulate the Hessian, and without replacing the gradients and Hessian of the most recent gradient calculation
+	 */
+	public double calculateTrialCost(FeatureRows featureRows,
+			double[] labelVector, double[] thetas, double regularizationLambda) {
+		return trialCostCalculator.calculateCost(featureRows, labelVector, thetas, regularizationLambda);
+	}
+
+	/**
+	 * Accumulates the weighted outer products of blockRowCount rows stored contiguously in values from offset
+	 */
+	private void accumulateBlockHessianSums(double[] values, int offset, int blockRowCount, int thetaCount) {
+		for (int rowTileStart = 0; rowTileStart < thetaCount; rowTileStart += COLUMN_TILE_SIZE) {
+			int rowTileEnd = Math.min(rowTileStart + COLUMN_TILE_SIZE, thetaCount);
+			for (int columnTileStart = rowTileStart; columnTileStart < thetaCount; columnTileStart += COLUMN_TILE_SIZE) {
+				int columnTileEnd = Math.min(columnTileStart + COLUMN_TILE_SIZE, thetaCount);
+				for (int i = 0; i < blockRowCount; i++) {
+					int rowOffset = offset + i * thetaCount;
+					double weight = blockWeights[i];
+					for (int j = rowTileStart; j < rowTileEnd; j++) {
+						double weightedValue = weight * values[rowOffset + j];
+						double[] hessianRow = hessianSums[j];
+						for (int k = Math.max(j, columnTileStart); k < columnTileEnd; k++) {
+							hessianRow[k] = hessianRow[k] + weightedValue * values[rowOffset + k];
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return The Hessian of the cost function at the thetas of the most recent gradient calculation,
+	 * averaged over the training examples and including the regularization term for non-intercept thetas
+	 */
+	public double[][] getHessian(int trainingExampleCount, double regularizationLambda) {
+		int thetaCount = hessianSums.length;
+		double[][] hessian = new double[thetaCount][thetaCount];
+		for (int j = 0; j < thetaCount; j++) {
+			for (int k = j; k < thetaCount; k++) {
+				double value = hessianSums[j][k];
+				if (j == k && j > 0 && regularizationLambda > 0) value = value + regularizationLambda;
+				value = value / trainingExampleCount;
+				hessian[j][k] = value;
+				hessian[k][j] = value;
+			}
+		}
+		return hessian;
+	}
+
+}
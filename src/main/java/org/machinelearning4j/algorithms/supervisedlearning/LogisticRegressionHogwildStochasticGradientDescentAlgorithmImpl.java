@@ -0,0 +1,337 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.RowArrayFeatureMatrix;
+
+/**
+ * A logistic regression algorithm implementation using asynchronous, lock-free parallel stochastic gradient
+ * descent (Hogwild).
+ *
+ * Each worker thread repeatedly claims an iteration from the training context and makes a pass over all the 
+ * training examples in its own newly shuffled order, seeded from the shuffle random of the training context, updating the shared thetas after each training example without any locking or synchronisation between 
+ * workers.  An update may therefore be based on thetas which are partly overwritten by other workers, but when
+ * each training example has few non-zero features the updates of different workers rarely touch the same 
+ * thetas, and the lost updates have little effect on convergence while the workers never wait for each other.
+ * Training is not deterministic when more than one thread is used, even when a shuffle seed is set.
+ *
+ * Each update is a plain stochastic gradient descent step using the learning rate alpha - the update rule
+ * of the training context is not used.  The regularization decay of each training example is applied lazily by 
+ * each worker, to the thetas of the non-zero features of a training example when that example is next processed 
+ * and to all thetas at the end of the worker's pass, so an update costs time proportional to the non-zero features 
+ * of the training example rather than to the number of thetas.  The combined decay of each number of training 
+ * examples is tabulated once per training run and shared by the workers.  As an iteration is a single pass of one worker over 
+ * the training examples, the number of iterations for a given number of passes is the same as for sequential 
+ * stochastic gradient descent.
+ * 
+ * Workers hand a copy of the thetas at the end of each snapshot iteration to the calling thread, which records the 
+ * cost function snapshots in iteration order regardless of the order in which the workers complete their passes.  
+ * Holding out validation examples is not supported.
+ *
+ * @author Michael Lavelle
+ */
+public class LogisticRegressionHogwildStochasticGradientDescentAlgorithmImpl implements
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext>, OnlineRegressionAlgorithm {
+
+	private static final ThetasSnapshot WORKER_FINISHED = new ThetasSnapshot(-1, null);
+
+	private int numberOfThreads;
+
+	/**
+	 * @param numberOfThreads The number of worker threads used for training
+	 */
+	public LogisticRegressionHogwildStochasticGradientDescentAlgorithmImpl(int numberOfThreads) {
+		if (numberOfThreads < 1)
+		{
+			throw new IllegalArgumentException("Number of threads must be at least 1");
+		}
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	public LogisticRegressionHogwildStochasticGradientDescentAlgorithmImpl() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	@Override
+	public NumericHypothesisFunction train(double[][] featureMatrix,
+			double[] labelVector,
+			GradientDescentAlgorithmTrainingContext trainingContext) {
+		return train(new RowArrayFeatureMatrix(featureMatrix), labelVector, trainingContext);
+	}
+
+	@Override
+	public NumericHypothesisFunction train(final FeatureRows featureRows, final double[] labelVector,
+			final GradientDescentAlgorithmTrainingContext trainingContext) {
+		if (trainingContext.getValidationExampleCount() > 0)
+		{
+			throw new IllegalStateException("Holding out validation examples is not supported for asynchronous stochastic gradient descent");
+		}
+		GradientDescentTrainingSupport.validateLearningRate(trainingContext);
+		final double[] thetas = GradientDescentTrainingSupport.createInitialThetas(featureRows.getColumnCount(), trainingContext);
+		LogisticRegressionHypothesisFunction hypothesisFunction = new LogisticRegressionHypothesisFunction(thetas, 
+				trainingContext.getRegularizationLambda(), trainingContext.isFastSigmoidApproximationEnabled());
+		trainingContext.setCurrentThetas(thetas);
+
+		LogisticRegressionGradientCalculator costCalculator = new LogisticRegressionGradientCalculator(thetas.length);
+		long initialIteration = trainingContext.getCurrentIteration();
+		if (GradientDescentTrainingSupport.isCostFunctionSnapshotDue(trainingContext, initialIteration)) {
+			trainingContext.addCostFunctionSnapshotValue(costCalculator.calculateCost(featureRows, labelVector, thetas, 
+					trainingContext.getRegularizationLambda()));
+		}
+
+		final double[] decayFactors = createDecayFactors(featureRows.getRowCount(), trainingContext);
+		Random seedRandom = trainingContext.getShuffleRandom();
+		final BlockingQueue<ThetasSnapshot> snapshotQueue = new LinkedBlockingQueue<ThetasSnapshot>();
+		ExecutorService executorService = Executors.newFixedThreadPool(numberOfThreads);
+		try
+		{
+			List<Future<Void>> workerResults = new ArrayList<Future<Void>>(numberOfThreads);
+			for (int w = 0; w < numberOfThreads; w++) {
+				final Random shuffleRandom = new Random(seedRandom.nextLong());
+				workerResults.add(executorService.submit(new Callable<Void>() {
+					@Override
+					public Void call() {
+						try
+						{
+							runWorker(featureRows, labelVector, trainingContext, thetas, decayFactors, shuffleRandom, snapshotQueue);
+						}
+						catch (RuntimeException e)
+						{
+							// Stop the other workers
+							trainingContext.setTrainingTerminated(true);
+							throw e;
+						}
+						finally
+						{
+							snapshotQueue.add(WORKER_FINISHED);
+						}
+						return null;
+					}
+				}));
+			}
+			takeCostFunctionSnapshots(featureRows, labelVector, trainingContext, initialIteration, snapshotQueue, costCalculator);
+			for (Future<Void> workerResult : workerResults) {
+				getResult(workerResult);
+			}
+		}
+		finally
+		{
+			executorService.shutdownNow();
+		}
+
+		long lastIteration = trainingContext.getCurrentIteration();
+		if (trainingContext.getCostFunctionSnapshotIntervalInIterations() != null 
+				&& !GradientDescentTrainingSupport.isCostFunctionSnapshotDue(trainingContext, lastIteration)) {
+			trainingContext.addCostFunctionSnapshotValue(costCalculator.calculateCost(featureRows, labelVector, thetas, 
+					trainingContext.getRegularizationLambda()));
+		}
+
+		GradientDescentTrainingSupport.selectTrainedThetas(thetas, trainingContext);
+		return hypothesisFunction;
+	}
+
+	/**
+	 * Records the cost of each copy of the thetas handed over by the workers, in iteration order, until all the 
+	 * workers have finished
+	 */
+	private void takeCostFunctionSnapshots(FeatureRows featureRows, double[] labelVector, 
+			GradientDescentAlgorithmTrainingContext trainingContext, long initialIteration, BlockingQueue<ThetasSnapshot> snapshotQueue, 
+			LogisticRegressionGradientCalculator costCalculator) {
+		Integer snapshotInterval = trainingContext.getCostFunctionSnapshotIntervalInIterations();
+		Map<Long,double[]> pendingSnapshots = new HashMap<Long,double[]>();
+		long nextSnapshotIteration = snapshotInterval == null ? -1 : (initialIteration / snapshotInterval + 1) * snapshotInterval;
+		int runningWorkerCount = numberOfThreads;
+		while (runningWorkerCount > 0) {
+			ThetasSnapshot snapshot = takeSnapshot(snapshotQueue);
+			if (snapshot == WORKER_FINISHED) {
+				runningWorkerCount--;
+				continue;
+			}
+			pendingSnapshots.put(snapshot.iteration, snapshot.thetas);
+			double[] snapshotThetas;
+			while ((snapshotThetas = pendingSnapshots.remove(nextSnapshotIteration)) != null) {
+				trainingContext.addCostFunctionSnapshotValue(costCalculator.calculateCost(featureRows, labelVector, snapshotThetas, 
+						trainingContext.getRegularizationLambda()));
+				nextSnapshotIteration = nextSnapshotIteration + snapshotInterval;
+			}
+		}
+	}
+
+	/**
+	 * @return The combined regularization decay of k training examples at index k, for k from 0 to the number of 
+	 * training examples, or null if there is no regularization
+	 */
+	private double[] createDecayFactors(int rowCount, GradientDescentAlgorithmTrainingContext trainingContext) {
+		double exampleRegularizationLambda = trainingContext.getRegularizationLambda() / rowCount;
+		if (exampleRegularizationLambda <= 0) {
+			return null;
+		}
+		double decay = 1d - trainingContext.getLearningRateAlpha() * exampleRegularizationLambda;
+		double[] decayFactors = new double[rowCount + 1];
+		decayFactors[0] = 1d;
+		for (int k = 1; k <= rowCount; k++) {
+			decayFactors[k] = decayFactors[k - 1] * decay;
+		}
+		return decayFactors;
+	}
+
+	/**
+	 * @param decayFactors The shared, read-only table of combined regularization decays, or null if there is no regularization
+	 */
+	private void runWorker(FeatureRows featureRows, double[] labelVector, GradientDescentAlgorithmTrainingContext trainingContext, 
+			double[] thetas, double[] decayFactors, Random shuffleRandom, BlockingQueue<ThetasSnapshot> snapshotQueue) {
+		int[] rows = new int[featureRows.getRowCount()];
+		for (int i = 0; i < rows.length; i++) {
+			rows[i] = i;
+		}
+		double learningRateAlpha = trainingContext.getLearningRateAlpha();
+		boolean fastSigmoidApproximationEnabled = trainingContext.isFastSigmoidApproximationEnabled();
+
+		// lastDecayedExamples[j] is the number of examples of the current pass whose decay has been applied to 
+		// theta j by this worker
+		int[] lastDecayedExamples = null;
+		int[] columnIndexes = null;
+		if (decayFactors != null) {
+			lastDecayedExamples = new int[thetas.length];
+			columnIndexes = new int[thetas.length];
+		}
+
+		while (trainingContext.isTrainingRunning() && !trainingContext.isTrainingSuccessful()) {
+			long iteration = trainingContext.incrementIterationNumberIfLimitNotReached();
+			if (iteration < 0) {
+				return;
+			}
+			for (int i = rows.length - 1; i > 0; i--) {
+				int swapIndex = shuffleRandom.nextInt(i + 1);
+				int row = rows[i];
+				rows[i] = rows[swapIndex];
+				rows[swapIndex] = row;
+			}
+			for (int example = 1; example <= rows.length; example++) {
+				int row = rows[example - 1];
+				if (decayFactors != null) {
+					int nonZeroCount = featureRows.copyNonZeroColumnIndexes(row, columnIndexes);
+					for (int c = 0; c < nonZeroCount; c++) {
+						int j = columnIndexes[c];
+						if (j > 0) {
+							thetas[j] = thetas[j] * decayFactors[example - lastDecayedExamples[j]];
+							lastDecayedExamples[j] = example;
+						}
+					}
+				}
+				updateThetas(featureRows, row, labelVector[row], thetas, learningRateAlpha, fastSigmoidApproximationEnabled);
+			}
+			if (decayFactors != null) {
+				for (int j = 1; j < thetas.length; j++) {
+					thetas[j] = thetas[j] * decayFactors[rows.length - lastDecayedExamples[j]];
+					lastDecayedExamples[j] = 0;
+				}
+			}
+			if (GradientDescentTrainingSupport.isCostFunctionSnapshotDue(trainingContext, iteration)) {
+				snapshotQueue.add(new ThetasSnapshot(iteration, thetas.clone()));
+			}
+		}
+	}
+
+	/**
+	 * Updates the shared thetas in place with an unregularized stochastic gradient descent step for the training 
+	 * example at the row
+	 */
+	private void updateThetas(FeatureRows featureRows, int row, double label, double[] thetas, double learningRateAlpha, 
+			boolean fastSigmoidApproximationEnabled) {
+		double z = featureRows.dotProduct(row, thetas);
+		double error = (fastSigmoidApproximationEnabled ? LogisticFunctions.fastSigmoid(z) : LogisticFunctions.sigmoid(z)) - label;
+		featureRows.addScaledRow(row, -learningRateAlpha * error, thetas);
+	}
+
+	private ThetasSnapshot takeSnapshot(BlockingQueue<ThetasSnapshot> snapshotQueue) {
+		try {
+			return snapshotQueue.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+	}
+
+	private void getResult(Future<Void> workerResult) {
+		try {
+			workerResult.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	@Override
+	public Double predictLabel(double[] featureVector,
+			NumericHypothesisFunction hypothesisFunction) {
+		return hypothesisFunction.predict(featureVector);
+	}
+
+	@Override
+	public Double predictLabel(FeatureRows featureRows, int row,
+			NumericHypothesisFunction hypothesisFunction) {
+		return hypothesisFunction.predict(featureRows, row);
+	}
+
+	@Override
+	public NumericHypothesisFunction update(
+			NumericHypothesisFunction hypothesisFunction,
+			FeatureRows featureRows, double[] labelVector, double learningRateAlpha) {
+		return GradientDescentTrainingSupport.updateLogisticRegressionHypothesisFunction(hypothesisFunction, featureRows, 
+				labelVector, learningRateAlpha);
+	}
+
+	@Override
+	public boolean isFeatureScaledDataRequired() {
+		return true;
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	/**
+	 * A copy of the shared thetas taken by a worker at the end of an iteration
+	 */
+	private static class ThetasSnapshot {
+
+		private long iteration;
+		private double[] thetas;
+
+		ThetasSnapshot(long iteration, double[] thetas) {
+			this.iteration = iteration;
+			this.thetas = thetas;
+		}
+	}
+
+}
@@ -15,6 +15,9 @@
  */
 package org.machinelearning4j.algorithms.supervisedlearning;
 
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.VectorOperations;
+
 /**
  * 
  * @author Michael Lavelle
@@ -25,15 +28,35 @@ package org.machinelearning4j.algorithms.supervisedlearning;
  * This LogisticRegressionHypothesisFunction uses a set of theta weights corresponding
  * to the feature values to predict a value from a the sigmoid function applied to a linear combination of the weighted values.
  */
-public class LogisticRegressionHypothesisFunction implements NumericHypothesisFunction {
+public class LogisticRegressionHypothesisFunction implements NumericHypothesisFunction, ThetaWeightedHypothesisFunction {
 
 	protected double[] thetas;
 	protected double regularizationLambda;
+	protected boolean fastSigmoidApproximationEnabled;
 
 	public LogisticRegressionHypothesisFunction(double[] thetas,double regularizationLambda)
+	{
+		this(thetas,regularizationLambda,false);
+	}
+
+	/**
+	 * @param fastSigmoidApproximationEnabled Whether predictions use the bounded-error fast approximation
+	 * of the sigmoid function rather than the exact function
+	 */
+	public LogisticRegressionHypothesisFunction(double[] thetas,double regularizationLambda,boolean fastSigmoidApproximationEnabled)
 	{
 		this.thetas = thetas;
 		this.regularizationLambda = regularizationLambda;
+		this.fastSigmoidApproximationEnabled = fastSigmoidApproximationEnabled;
+	}
+
+	public boolean isFastSigmoidApproximationEnabled() {
+		return fastSigmoidApproximationEnabled;
+	}
+
+	@Override
+	public double[] getThetas() {
+		return thetas.clone();
 	}
 
 	public double getRegularizationLambda() {
@@ -42,13 +65,13 @@ public class LogisticRegressionHypothesisFunction implements NumericHypothesisFu
 
 	@Override
 	public Double predict(double[] x) {
-		double y = 0d;
-		for (int index = 0; index < x.length; index++)
-		{
-			y = y +  thetas[index] * x[index];
-
-		}
-		y =  1d/(1d + Math.exp(-y));
-		return y;
+		double y = VectorOperations.dotProduct(x, thetas);
+		return fastSigmoidApproximationEnabled ? LogisticFunctions.fastSigmoid(y) : LogisticFunctions.sigmoid(y);
+	}
+
+	@Override
+	public Double predict(FeatureRows featureRows, int row) {
+		double y = featureRows.dotProduct(row, thetas);
+		return fastSigmoidApproximationEnabled ? LogisticFunctions.fastSigmoid(y) : LogisticFunctions.sigmoid(y);
 	}
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.VectorOperations;
+
+
+/**
+ * A logistic regression algorithm implementation using the limited-memory BFGS quasi-Newton method.
+ *
+ * Each iteration moves the thetas along a search direction obtained from an approximation of the inverse
+ * Hessian built from the most recent theta and gradient changes, with the step length chosen by a
+ * backtracking line search satisfying the Armijo sufficient decrease condition on the cost function.
+ * Each cost evaluation of the line search is made in the same pass as the gradient calculation, so the gradients
+ * at the accepted thetas are available to the next iteration without a further pass over the training data.
+ *
+ * No learning rate is required - any learning rate alpha on the training context is ignored.
+ *
+ * @author Michael Lavelle
+ */
+public class LogisticRegressionLimitedMemoryBFGSAlgorithmImpl extends
+		AbstractLogisticRegressionGradientDescentAlgorithm<GradientDescentAlgorithmTrainingContext> {
+
+	private static final int DEFAULT_HISTORY_SIZE = 10;
+	private static final double SUFFICIENT_DECREASE_CONSTANT = 1e-4;
+	private static final int MAX_LINE_SEARCH_STEPS = 40;
+
+	private int historySize;
+
+	/**
+	 * @param historySize The number of most recent theta and gradient changes used to approximate the inverse Hessian
+	 */
+	public LogisticRegressionLimitedMemoryBFGSAlgorithmImpl(int historySize) {
+		if (historySize < 1)
+		{
+			throw new IllegalArgumentException("History size must be at least 1");
+		}
+		this.historySize = historySize;
+	}
+
+	public LogisticRegressionLimitedMemoryBFGSAlgorithmImpl() {
+		this(DEFAULT_HISTORY_SIZE);
+	}
+
+	@Override
+	protected void validateTrainingContext(
+			GradientDescentAlgorithmTrainingContext trainingContext) {
+		// No learning rate is required
+	}
+
+	@Override
+	protected LogisticRegressionGradientCalculator createGradientCalculator(
+			FeatureRows featureRows) {
+		return new LogisticRegressionLimitedMemoryBFGSGradientCalculator(featureRows.getColumnCount(), historySize);
+	}
+
+	@Override
+	protected void performHypothesisFunctionUpdateIteration(
+			FeatureRows featureRows, double[] labelVector,
+			LogisticRegressionHypothesisFunction hypothesisFunction,
+			LogisticRegressionGradientCalculator gradientCalculator,
+			GradientDescentAlgorithmTrainingContext trainingContext) {
+
+		LogisticRegressionLimitedMemoryBFGSGradientCalculator lbfgsCalculator = (LogisticRegressionLimitedMemoryBFGSGradientCalculator)gradientCalculator;
+		double[] thetas = hypothesisFunction.thetas;
+		double[] gradients = lbfgsCalculator.calculateGradients(featureRows, labelVector, thetas, trainingContext.getRegularizationLambda());
+		double[] searchDirection = lbfgsCalculator.calculateSearchDirection(thetas, gradients);
+		double directionalDerivative = VectorOperations.dotProduct(gradients, searchDirection);
+		if (directionalDerivative >= 0) {
+			// Gradients are zero - the thetas are already at the minimum
+			return;
+		}
+
+		double initialCost = lbfgsCalculator.calculateCost(featureRows, labelVector, thetas, trainingContext.getRegularizationLambda());
+		double[] trialThetas = new double[thetas.length];
+
+		// Without curvature history the search direction is the negative gradient, so scale the first trial step
+		double stepLength = lbfgsCalculator.isCurvatureHistoryAvailable() ? 1d : 1d / Math.sqrt(-directionalDerivative);
+		for (int step = 0; step < MAX_LINE_SEARCH_STEPS; step++) {
+			System.arraycopy(thetas, 0, trialThetas, 0, thetas.length);
+			VectorOperations.axpy(stepLength, searchDirection, trialThetas);
+			// Also calculates the gradients at the trial thetas, which are retained for the next iteration if accepted
+			double trialCost = lbfgsCalculator.calculateCost(featureRows, labelVector, trialThetas, trainingContext.getRegularizationLambda());
+			if (trialCost <= initialCost + SUFFICIENT_DECREASE_CONSTANT * stepLength * directionalDerivative) {
+				System.arraycopy(trialThetas, 0, thetas, 0, thetas.length);
+				return;
+			}
+			stepLength = nextStepLength(stepLength, initialCost, directionalDerivative, trialCost);
+		}
+		// No sufficient decrease found along this direction - restart from steepest descent on the next iteration
+		lbfgsCalculator.resetHistory();
+	}
+
+	/**
+	 * Minimises the quadratic interpolating the cost at zero step length, its directional derivative there,
+	 * and the cost at the rejected step length, safeguarded to shrink the step by a factor between 0.1 and 0.5
+	 */
+	private double nextStepLength(double stepLength, double initialCost,
+			double directionalDerivative, double trialCost) {
+		double curvature = trialCost - initialCost - stepLength * directionalDerivative;
+		double interpolatedStepLength = -directionalDerivative * stepLength * stepLength / (2d * curvature);
+		if (Double.isNaN(interpolatedStepLength) || Double.isInfinite(trialCost)) {
+			return stepLength * 0.1d;
+		}
+		return Math.max(0.1d * stepLength, Math.min(0.5d * stepLength, interpolatedStepLength));
+	}
+
+	public int getHistorySize() {
+		return historySize;
+	}
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.VectorOperations;
+
+/**
+ * Calculates the gradients of the logistic regression cost function, and maintains the limited history of
+ * theta and gradient changes from which L-BFGS search directions are calculated.
+ *
+ * An instance holds the curvature history of a single training run, so must not be shared between runs.
+ *
+ * @author Michael Lavelle
+ */
+public class LogisticRegressionLimitedMemoryBFGSGradientCalculator extends
+		LogisticRegressionGradientCalculator {
+
+	private int historySize;
+	private double[][] thetaChanges;
+	private double[][] gradientChanges;
+	private double[] rhos;
+	private double[] alphas;
+	private int historyCount;
+	private int newestHistoryIndex = -1;
+	private double[] candidateThetaChange;
+	private double[] candidateGradientChange;
+
+	private double[] searchDirection;
+	private double[] previousThetas;
+	private double[] previousGradients;
+	private boolean previousValuesRecorded;
+
+	public LogisticRegressionLimitedMemoryBFGSGradientCalculator(int thetaCount, int historySize) {
+		super(thetaCount);
+		this.historySize = historySize;
+		this.thetaChanges = new double[historySize][thetaCount];
+		this.gradientChanges = new double[historySize][thetaCount];
+		this.rhos = new double[historySize];
+		this.alphas = new double[historySize];
+		this.candidateThetaChange = new double[thetaCount];
+		this.candidateGradientChange = new double[thetaCount];
+		this.searchDirection = new double[thetaCount];
+		this.previousThetas = new double[thetaCount];
+		this.previousGradients = new double[thetaCount];
+	}
+
+	/**
+	 * Records the changes in thetas and gradients since the previous call, and calculates
+	 * a descent direction by applying the L-BFGS approximation of the inverse Hessian to the gradients.
+	 *
+	 * @return The search direction - the returned array is owned by this calculator and is overwritten by the next calculation
+	 */
+	public double[] calculateSearchDirection(double[] thetas, double[] gradients) {
+		if (previousValuesRecorded) {
+			recordHistory(thetas, gradients);
+		}
+		System.arraycopy(thetas, 0, previousThetas, 0, thetas.length);
+		System.arraycopy(gradients, 0, previousGradients, 0, gradients.length);
+		previousValuesRecorded = true;
+
+		applyInverseHessianApproximation(gradients);
+		if (VectorOperations.dotProduct(searchDirection, gradients) >= 0) {
+			// Not a descent direction - discard the curvature history and fall back to steepest descent
+			resetHistory();
+			applyInverseHessianApproximation(gradients);
+		}
+		return searchDirection;
+	}
+
+	/**
+	 * @return Whether any curvature history is available, in which case a unit step along the search
+	 * direction is expected to be well scaled
+	 */
+	public boolean isCurvatureHistoryAvailable() {
+		return historyCount > 0;
+	}
+
+	public void resetHistory() {
+		historyCount = 0;
+		newestHistoryIndex = -1;
+	}
+
+	/**
+	 * Calculates the new pair of changes into the candidate buffers, so that a rejected pair leaves the history 
+	 * untouched - when the history is full the next slot holds the oldest pair still in use.  An accepted pair is 
+	 * swapped into the next slot, whose arrays become the candidate buffers.
+	 */
+	private void recordHistory(double[] thetas, double[] gradients) {
+		double[] thetaChange = candidateThetaChange;
+		double[] gradientChange = candidateGradientChange;
+		for (int j = 0; j < thetas.length; j++) {
+			thetaChange[j] = thetas[j] - previousThetas[j];
+			gradientChange[j] = gradients[j] - previousGradients[j];
+		}
+		double curvature = VectorOperations.dotProduct(thetaChange, gradientChange);
+		// Only retain pairs which keep the inverse Hessian approximation positive definite
+		if (curvature > 1e-10 * Math.sqrt(VectorOperations.dotProduct(thetaChange, thetaChange) * VectorOperations.dotProduct(gradientChange, gradientChange))) {
+			int nextIndex = (newestHistoryIndex + 1) % historySize;
+			candidateThetaChange = thetaChanges[nextIndex];
+			candidateGradientChange = gradientChanges[nextIndex];
+			thetaChanges[nextIndex] = thetaChange;
+			gradientChanges[nextIndex] = gradientChange;
+			rhos[nextIndex] = 1d / curvature;
+			newestHistoryIndex = nextIndex;
+			historyCount = Math.min(historyCount + 1, historySize);
+		}
+	}
+
+	private void applyInverseHessianApproximation(double[] gradients) {
+		double[] q = searchDirection;
+		System.arraycopy(gradients, 0, q, 0, gradients.length);
+		for (int k = 0; k < historyCount; k++) {
+			int index = (newestHistoryIndex - k + historySize) % historySize;
+			alphas[index] = rhos[index] * VectorOperations.dotProduct(thetaChanges[index], q);
+			VectorOperations.axpy(-alphas[index], gradientChanges[index], q);
+		}
+		if (historyCount > 0) {
+			double[] newestGradientChange = gradientChanges[newestHistoryIndex];
+			double gamma = 1d / (rhos[newestHistoryIndex] * VectorOperations.dotProduct(newestGradientChange, newestGradientChange));
+			VectorOperations.scale(gamma, q);
+		}
+		for (int k = historyCount - 1; k >= 0; k--) {
+			int index = (newestHistoryIndex - k + historySize) % historySize;
+			double beta = rhos[index] * VectorOperations.dotProduct(gradientChanges[index], q);
+			VectorOperations.axpy(alphas[index] - beta, thetaChanges[index], q);
+		}
+		VectorOperations.scale(-1d, q);
+	}
+
+}
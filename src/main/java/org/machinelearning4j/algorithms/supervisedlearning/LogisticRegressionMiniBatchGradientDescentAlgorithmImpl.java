@@ -0,0 +1,74 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import java.util.Random;
+
+import org.machinelearning4j.core.FeatureRows;
+
+
+/**
+ * A logistic regression algorithm implementation using mini-batch gradient descent.
+ *
+ * Each training iteration is an epoch over the training examples in a newly shuffled order, with thetas
+ * updated after each mini-batch of examples.  With a batch size of 1 this is stochastic gradient descent.
+ *
+ * @author Michael Lavelle
+ */
+public class LogisticRegressionMiniBatchGradientDescentAlgorithmImpl extends
+		AbstractLogisticRegressionGradientDescentAlgorithm<MiniBatchGradientDescentAlgorithmTrainingContext> {
+
+	public LogisticRegressionMiniBatchGradientDescentAlgorithmImpl() {
+	}
+
+	/**
+	 * Performs a single epoch of mini-batch updates to the thetas of the hypothesis function
+	 */
+	@Override
+	protected void performHypothesisFunctionUpdateIteration(
+			FeatureRows featureRows, double[] labelVector,
+			LogisticRegressionHypothesisFunction hypothesisFunction,
+			LogisticRegressionGradientCalculator gradientCalculator,
+			MiniBatchGradientDescentAlgorithmTrainingContext trainingContext) {
+
+		int[] rowIndexes = createShuffledRowIndexes(featureRows.getRowCount(), trainingContext.getShuffleRandom());
+		double[] thetas = hypothesisFunction.thetas;
+		double learningRateAlpha = trainingContext.getCurrentEpochLearningRateAlpha();
+		int batchSize = trainingContext.getBatchSize();
+		GradientDescentUpdateRule updateRule = trainingContext.getUpdateRule();
+		for (int fromIndex = 0; fromIndex < rowIndexes.length; fromIndex += batchSize) {
+			int toIndex = Math.min(fromIndex + batchSize, rowIndexes.length);
+			double[] gradients = gradientCalculator.calculateMiniBatchGradients(featureRows,
+					labelVector, thetas, trainingContext.getRegularizationLambda(), rowIndexes, fromIndex, toIndex);
+			updateRule.updateThetas(thetas, gradients, learningRateAlpha);
+		}
+	}
+
+	private int[] createShuffledRowIndexes(int rowCount, Random random) {
+		int[] rowIndexes = new int[rowCount];
+		for (int i = 0; i < rowCount; i++) {
+			rowIndexes[i] = i;
+		}
+		for (int i = rowCount - 1; i > 0; i--) {
+			int swapIndex = random.nextInt(i + 1);
+			int rowIndex = rowIndexes[i];
+			rowIndexes[i] = rowIndexes[swapIndex];
+			rowIndexes[swapIndex] = rowIndex;
+		}
+		return rowIndexes;
+	}
+
+}
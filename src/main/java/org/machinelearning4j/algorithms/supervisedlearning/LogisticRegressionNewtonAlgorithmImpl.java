@@ -0,0 +1,135 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.VectorOperations;
+
+import Jama.CholeskyDecomposition;
+import Jama.Matrix;
+
+
+/**
+ * A logistic regression algorithm implementation using Newton's method, equivalent to
+ * iteratively reweighted least squares (IRLS).
+ *
+ * Each iteration solves the linear system formed by the weighted Hessian X^T W X and the gradients
+ * of the cost function, so converges in a small number of iterations, but at a cost per iteration
+ * which grows with the square of the number of features and the cube for the solve.  This algorithm
+ * is therefore suited to models with a modest number of features.
+ *
+ * Where the Hessian is not numerically positive definite - eg. for separable data without regularization, 
+ * where the predicted probabilities saturate - the Hessian is damped by adding a multiple of the identity matrix 
+ * which is increased until the Cholesky decomposition succeeds, moving the step towards a gradient descent step.
+ * A RuntimeException is thrown if the Hessian cannot be made positive definite within the maximum number of damping 
+ * increases, as when it contains non-finite values.  Each step is then halved until the cost decreases, so the cost 
+ * never increases from one iteration to the next - the costs of the trial steps are calculated without the Hessian, 
+ * which is only calculated at the accepted thetas.
+ *
+ * No learning rate is required - any learning rate alpha on the training context is ignored.
+ *
+ * @author Michael Lavelle
+ */
+public class LogisticRegressionNewtonAlgorithmImpl extends
+		AbstractLogisticRegressionGradientDescentAlgorithm<GradientDescentAlgorithmTrainingContext> {
+
+	/**
+	 * The damping first added to the diagonal of a Hessian which is not positive definite, relative to its 
+	 * largest diagonal element
+	 */
+	private static final double INITIAL_RELATIVE_DAMPING = 1e-8;
+	
+	private static final double DAMPING_INCREASE_FACTOR = 10d;
+	
+	private static final int MAX_DAMPING_INCREASES = 20;
+	
+	private static final int MAX_STEP_HALVINGS = 30;
+
+	public LogisticRegressionNewtonAlgorithmImpl() {
+	}
+
+	@Override
+	protected void validateTrainingContext(
+			GradientDescentAlgorithmTrainingContext trainingContext) {
+		// No learning rate is required
+	}
+
+	@Override
+	protected LogisticRegressionGradientCalculator createGradientCalculator(
+			FeatureRows featureRows) {
+		return new LogisticRegressionHessianGradientCalculator(featureRows.getColumnCount());
+	}
+
+	@Override
+	protected void performHypothesisFunctionUpdateIteration(
+			FeatureRows featureRows, double[] labelVector,
+			LogisticRegressionHypothesisFunction hypothesisFunction,
+			LogisticRegressionGradientCalculator gradientCalculator,
+			GradientDescentAlgorithmTrainingContext trainingContext) {
+
+		LogisticRegressionHessianGradientCalculator hessianCalculator = (LogisticRegressionHessianGradientCalculator)gradientCalculator;
+		double[] thetas = hypothesisFunction.thetas;
+		double regularizationLambda = trainingContext.getRegularizationLambda();
+		double[] gradients = hessianCalculator.calculateGradients(featureRows, labelVector, thetas, regularizationLambda);
+		// Calculated in the same pass as the gradients
+		double cost = hessianCalculator.calculateCost(featureRows, labelVector, thetas, regularizationLambda);
+		double[] thetaChanges = solveNewtonStep(hessianCalculator.getHessian(featureRows.getRowCount(), regularizationLambda), gradients);
+
+		// Halve the step until the cost decreases - the gradients and Hessian for an accepted step are calculated 
+		// by the next iteration
+		double[] stepThetas = new double[thetas.length];
+		double stepSize = 1d;
+		for (int halvings = 0; halvings <= MAX_STEP_HALVINGS; halvings++) {
+			System.arraycopy(thetas, 0, stepThetas, 0, thetas.length);
+			VectorOperations.axpy(-stepSize, thetaChanges, stepThetas);
+			if (hessianCalculator.calculateTrialCost(featureRows, labelVector, stepThetas, regularizationLambda) < cost) {
+				System.arraycopy(stepThetas, 0, thetas, 0, thetas.length);
+				return;
+			}
+			stepSize = stepSize / 2d;
+		}
+		// No step along the Newton direction decreases the cost to within numerical precision, so the thetas are left unchanged
+	}
+
+	/**
+	 * @return The solution of H * thetaChanges = gradients, damping the Hessian H if it is not numerically positive definite
+	 */
+	private double[] solveNewtonStep(double[][] hessian, double[] gradients) {
+		int thetaCount = gradients.length;
+		Matrix hessianMatrix = new Matrix(hessian, thetaCount, thetaCount);
+		CholeskyDecomposition choleskyDecomposition = hessianMatrix.chol();
+		if (!choleskyDecomposition.isSPD())
+		{
+			double maxDiagonal = 0d;
+			for (int j = 0; j < thetaCount; j++) {
+				maxDiagonal = Math.max(maxDiagonal, hessian[j][j]);
+			}
+			double damping = INITIAL_RELATIVE_DAMPING * (maxDiagonal > 0d ? maxDiagonal : 1d);
+			for (int dampingIncreases = 0; !choleskyDecomposition.isSPD(); dampingIncreases++)
+			{
+				if (dampingIncreases == MAX_DAMPING_INCREASES)
+				{
+					throw new RuntimeException("The Hessian is not positive definite after " + MAX_DAMPING_INCREASES 
+							+ " increases of its damping - it may contain non-finite values");
+				}
+				choleskyDecomposition = hessianMatrix.plus(Matrix.identity(thetaCount, thetaCount).times(damping)).chol();
+				damping = damping * DAMPING_INCREASE_FACTOR;
+			}
+		}
+		return choleskyDecomposition.solve(new Matrix(gradients, thetaCount)).getColumnPackedCopy();
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+
+
+/**
+ * A logistic regression algorithm implementation using batch gradient descent, where the
+ * gradients for each iteration are calculated in parallel over partitions of the training
+ * examples
+ *
+ * @author Michael Lavelle
+ */
+public class LogisticRegressionParallelBatchGradientDescentAlgorithmImpl extends
+		LogisticRegressionBatchGradientDescentAlgorithmImpl {
+
+	private int numberOfThreads;
+
+	/**
+	 * @param numberOfThreads The number of worker threads, and row partitions, to use when calculating gradients
+	 */
+	public LogisticRegressionParallelBatchGradientDescentAlgorithmImpl(int numberOfThreads) {
+		if (numberOfThreads < 1)
+		{
+			throw new IllegalArgumentException("Number of threads must be at least 1");
+		}
+		this.numberOfThreads = numberOfThreads;
+	}
+
+	public LogisticRegressionParallelBatchGradientDescentAlgorithmImpl() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	@Override
+	protected LogisticRegressionGradientCalculator createGradientCalculator(
+			FeatureRows featureRows) {
+		return new LogisticRegressionParallelGradientCalculator(featureRows.getColumnCount(), featureRows.getRowCount(), numberOfThreads);
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+}
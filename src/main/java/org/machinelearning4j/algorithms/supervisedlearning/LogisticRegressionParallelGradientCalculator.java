@@ -0,0 +1,102 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.VectorOperations;
+
+/**
+ * Calculates the cost and gradients of the logistic regression cost function by partitioning the rows
+ * of the training examples into contiguous blocks, accumulating partial cost and gradient sums for each
+ * block on a pool of worker threads, and then reducing the partial sums in block order.
+ *
+ * As the partition boundaries depend only on the number of rows and the number of partitions,
+ * and the reduction order is fixed, the calculated gradients are deterministic for a given
+ * number of threads.
+ *
+ * @author Michael Lavelle
+ */
+public class LogisticRegressionParallelGradientCalculator extends
+		LogisticRegressionGradientCalculator {
+
+	private ExecutorService executorService;
+	private int[] partitionStartRows;
+	private double[][] partitionGradientSums;
+
+	public LogisticRegressionParallelGradientCalculator(int thetaCount,
+			int rowCount, int numberOfThreads) {
+		super(thetaCount);
+		int partitionCount = Math.max(1, Math.min(numberOfThreads, rowCount));
+		this.partitionStartRows = new int[partitionCount + 1];
+		for (int p = 0; p <= partitionCount; p++) {
+			partitionStartRows[p] = (int) (((long) rowCount * p) / partitionCount);
+		}
+		this.partitionGradientSums = new double[partitionCount][thetaCount];
+		this.executorService = Executors.newFixedThreadPool(partitionCount);
+	}
+
+	@Override
+	protected double calculateGradientSums(final FeatureRows featureRows,
+			final double[] labelVector, final double[] thetas,
+			double[] gradientSums) {
+		List<Future<Double>> partitionResults = new ArrayList<Future<Double>>(partitionGradientSums.length);
+		for (int p = 0; p < partitionGradientSums.length; p++) {
+			final int fromRow = partitionStartRows[p];
+			final int toRow = partitionStartRows[p + 1];
+			final double[] partialGradientSums = partitionGradientSums[p];
+			partitionResults.add(executorService.submit(new Callable<Double>() {
+				@Override
+				public Double call() {
+					Arrays.fill(partialGradientSums, 0d);
+					return accumulateGradientSums(featureRows, labelVector, thetas, fromRow, toRow, partialGradientSums);
+				}
+			}));
+		}
+		double costSum = 0d;
+		for (int p = 0; p < partitionGradientSums.length; p++) {
+			costSum = costSum + getResult(partitionResults.get(p)).doubleValue();
+			double[] partialGradientSums = partitionGradientSums[p];
+			VectorOperations.axpy(1d, partialGradientSums, gradientSums);
+		}
+		return costSum;
+	}
+
+	private Double getResult(Future<Double> partitionResult) {
+		try {
+			return partitionResult.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	@Override
+	public void shutdown() {
+		executorService.shutdownNow();
+	}
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import java.util.Iterator;
+
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.VectorOperations;
+import org.machinelearning4j.util.Iterators;
+
+
+/**
+ * A logistic regression algorithm implementation using stochastic gradient descent, which can be trained either 
+ * on feature rows or on a stream of training examples too large to hold in memory.
+ *
+ * Each training iteration is a pass over the training examples in their stored order, with thetas updated after 
+ * each example using the learning rate alpha - the update rule of the training context is not used.  As the 
+ * order is not shuffled, training examples should be stored in a random order.  The regularization term for 
+ * each update is the regularization term of the cost function divided by the number of training examples.
+ *
+ * When trained on a stream, no additional pass is made to calculate cost function snapshots - instead the cost
+ * snapshot for an iteration is the average of the cost of each training example calculated immediately before
+ * the update for that example, plus the regularization term for the thetas at the end of the pass.  The snapshot 
+ * for the first pass, calculated mostly from thetas close to the initial thetas, takes the place of the snapshot 
+ * taken before the first iteration when training on feature rows.  Holding out validation examples is not 
+ * supported for streamed training examples.
+ *
+ * @author Michael Lavelle
+ */
+public class LogisticRegressionStreamingStochasticGradientDescentAlgorithmImpl extends
+		AbstractLogisticRegressionGradientDescentAlgorithm<GradientDescentAlgorithmTrainingContext> 
+		implements StreamingRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> {
+
+	public LogisticRegressionStreamingStochasticGradientDescentAlgorithmImpl() {
+	}
+
+	/**
+	 * Performs a single pass of stochastic gradient descent updates over the feature rows
+	 */
+	@Override
+	protected void performHypothesisFunctionUpdateIteration(
+			FeatureRows featureRows, double[] labelVector,
+			LogisticRegressionHypothesisFunction hypothesisFunction,
+			LogisticRegressionGradientCalculator gradientCalculator,
+			GradientDescentAlgorithmTrainingContext trainingContext) {
+		double learningRateAlpha = trainingContext.getLearningRateAlpha();
+		double exampleRegularizationLambda = trainingContext.getRegularizationLambda() / featureRows.getRowCount();
+		for (int i = 0; i < featureRows.getRowCount(); i++) {
+			updateThetas(featureRows, i, labelVector[i], hypothesisFunction, learningRateAlpha, exampleRegularizationLambda);
+		}
+	}
+
+	@Override
+	public NumericHypothesisFunction train(
+			TrainingExampleStream trainingExamples,
+			GradientDescentAlgorithmTrainingContext trainingContext) {
+		if (trainingContext.getValidationExampleCount() > 0)
+		{
+			throw new IllegalStateException("Holding out validation examples is not supported for streamed training examples");
+		}
+		validateTrainingContext(trainingContext);
+		long trainingExampleCount = trainingExamples.getTrainingExampleCount();
+		if (trainingExampleCount == 0)
+		{
+			throw new IllegalArgumentException("No training examples are available");
+		}
+		LogisticRegressionHypothesisFunction hypothesisFunction = getInitialHypothesisFunction(trainingExamples.getFeatureValueCount(), trainingContext);
+		double[] thetas = hypothesisFunction.thetas;
+		trainingContext.setCurrentThetas(thetas);
+
+		double learningRateAlpha = trainingContext.getLearningRateAlpha();
+		double regularizationLambda = trainingContext.getRegularizationLambda();
+		double exampleRegularizationLambda = regularizationLambda / trainingExampleCount;
+		Integer snapshotInterval = trainingContext.getCostFunctionSnapshotIntervalInIterations();
+		double lastIterationCost = Double.NaN;
+		boolean snapshotTakenOfLastIteration = true;
+		while (trainingContext.isTrainingRunning()
+				&& !trainingContext.isTrainingSuccessful()) {
+			long iteration = trainingContext.incrementIterationNumber();
+			double costSum = 0d;
+			Iterator<TrainingExample> trainingExampleIterator = trainingExamples.iterator();
+			try {
+				while (trainingExampleIterator.hasNext()) {
+					TrainingExample trainingExample = trainingExampleIterator.next();
+					costSum = costSum + updateThetas(trainingExample.getFeatureValues(), trainingExample.getLabelValue(), 
+							hypothesisFunction, learningRateAlpha, exampleRegularizationLambda);
+				}
+			} finally {
+				// Releases the stream's resources if the pass fails before reaching the end of the training examples
+				Iterators.closeIfCloseable(trainingExampleIterator);
+			}
+			double sumOfThetaSquares = VectorOperations.dotProduct(thetas, 1, thetas, 1, thetas.length - 1);
+			lastIterationCost = (costSum + regularizationLambda / 2d * sumOfThetaSquares) / trainingExampleCount;
+			snapshotTakenOfLastIteration = snapshotInterval != null && (iteration == 1 || iteration % snapshotInterval == 0);
+			if (snapshotTakenOfLastIteration) {
+				trainingContext.addCostFunctionSnapshotValue(lastIterationCost);
+			}
+		}
+		if (snapshotInterval != null && !snapshotTakenOfLastIteration) {
+			trainingContext.addCostFunctionSnapshotValue(lastIterationCost);
+		}
+
+		return getTrainedHypothesisFunction(hypothesisFunction, trainingContext);
+	}
+
+	/**
+	 * Updates the thetas of the hypothesis function in place with a stochastic gradient descent step for the training 
+	 * example at a row of the feature rows
+	 */
+	private void updateThetas(FeatureRows featureRows, int row, double label, LogisticRegressionHypothesisFunction hypothesisFunction,
+			double learningRateAlpha, double exampleRegularizationLambda) {
+		double[] thetas = hypothesisFunction.thetas;
+		double z = featureRows.dotProduct(row, thetas);
+		featureRows.addScaledRow(row, regularizeAndGetStepScale(z, label, hypothesisFunction, learningRateAlpha, exampleRegularizationLambda), thetas);
+	}
+
+	/**
+	 * Updates the thetas of the hypothesis function in place with a stochastic gradient descent step for a single 
+	 * training example
+	 * 
+	 * @return The unregularized cost of the training example for the thetas before the update
+	 */
+	private double updateThetas(double[] x, double label, LogisticRegressionHypothesisFunction hypothesisFunction,
+			double learningRateAlpha, double exampleRegularizationLambda) {
+		double[] thetas = hypothesisFunction.thetas;
+		double z = VectorOperations.dotProduct(x, thetas);
+		VectorOperations.axpy(regularizeAndGetStepScale(z, label, hypothesisFunction, learningRateAlpha, exampleRegularizationLambda), x, thetas);
+		return LogisticFunctions.logLoss(z, label);
+	}
+
+	/**
+	 * Applies the regularization term of a stochastic gradient descent step for a training example with score z to the 
+	 * thetas of the hypothesis function
+	 * 
+	 * @return The multiple of the features of the training example to add to the thetas to complete the step
+	 */
+	private double regularizeAndGetStepScale(double z, double label, LogisticRegressionHypothesisFunction hypothesisFunction,
+			double learningRateAlpha, double exampleRegularizationLambda) {
+		double[] thetas = hypothesisFunction.thetas;
+		double prediction = hypothesisFunction.isFastSigmoidApproximationEnabled() ? LogisticFunctions.fastSigmoid(z) : LogisticFunctions.sigmoid(z);
+		if (exampleRegularizationLambda > 0) {
+			for (int j = 1; j < thetas.length; j++) {
+				thetas[j] = thetas[j] - learningRateAlpha * exampleRegularizationLambda * thetas[j];
+			}
+		}
+		return -learningRateAlpha * (prediction - label);
+	}
+
+}
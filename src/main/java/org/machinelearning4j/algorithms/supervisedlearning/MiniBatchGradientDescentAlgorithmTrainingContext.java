@@ -0,0 +1,73 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+/**
+ *  Training context for a mini-batch gradient descent regression algorithm.
+ *
+ *  Each iteration of training is a single epoch - a pass over all training examples in
+ *  a shuffled order, updating thetas after each mini-batch.  Iteration limits, cost function snapshot
+ *  intervals and convergence criteria are therefore all applied at epoch granularity.
+ *
+ *  A batch size of 1 gives stochastic gradient descent.
+ *
+ * @author Michael Lavelle
+ */
+public class MiniBatchGradientDescentAlgorithmTrainingContext extends
+		GradientDescentAlgorithmTrainingContext {
+
+	private int batchSize;
+
+	private double learningRateDecay;
+
+	/**
+	 * @param maxEpochs The maximum number of passes over the training examples
+	 * @param batchSize The number of training examples used to estimate the gradients for each update of the thetas
+	 */
+	public MiniBatchGradientDescentAlgorithmTrainingContext(long maxEpochs,int batchSize) {
+		super(maxEpochs);
+		if (batchSize < 1)
+		{
+			throw new IllegalArgumentException("Batch size must be at least 1");
+		}
+		this.batchSize = batchSize;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public double getLearningRateDecay() {
+		return learningRateDecay;
+	}
+
+	/**
+	 * @param learningRateDecay The decay applied to the learning rate for each completed epoch, so that
+	 * the learning rate for epoch e (starting at 1) is alpha / (1 + learningRateDecay * (e - 1))
+	 */
+	public void setLearningRateDecay(double learningRateDecay) {
+		this.learningRateDecay = learningRateDecay;
+	}
+
+	/**
+	 * @return The learning rate to apply to updates within the current epoch
+	 */
+	public double getCurrentEpochLearningRateAlpha() {
+		long completedEpochs = Math.max(0, getCurrentIteration() - 1);
+		return getLearningRateAlpha() / (1d + learningRateDecay * completedEpochs);
+	}
+
+}
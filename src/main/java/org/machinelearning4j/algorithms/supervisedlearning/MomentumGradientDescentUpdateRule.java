@@ -0,0 +1,65 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.VectorOperations;
+
+/**
+ * Updates each theta using a velocity which accumulates an exponentially decaying sum of
+ * previous steps, optionally using Nesterov accelerated gradient.
+ *
+ * The Nesterov variant is applied in its reformulated form, so that the gradients are still
+ * evaluated at the current thetas rather than at a look-ahead position.
+ *
+ * @author Michael Lavelle
+ */
+public class MomentumGradientDescentUpdateRule implements GradientDescentUpdateRule {
+
+	private double momentum;
+	private boolean nesterov;
+	private double[] velocities;
+
+	/**
+	 * @param momentum The fraction of the previous velocity retained on each step, eg. 0.9
+	 * @param nesterov Whether to use Nesterov accelerated gradient
+	 */
+	public MomentumGradientDescentUpdateRule(double momentum,boolean nesterov) {
+		this.momentum = momentum;
+		this.nesterov = nesterov;
+	}
+
+	@Override
+	public void initialise(int thetaCount) {
+		velocities = new double[thetaCount];
+	}
+
+	@Override
+	public void updateThetas(double[] thetas, double[] gradients,
+			double learningRateAlpha) {
+		if (!nesterov) {
+			VectorOperations.scaledAdd(momentum, velocities, -learningRateAlpha, gradients);
+			VectorOperations.axpy(1d, velocities, thetas);
+			return;
+		}
+		for (int j = 0; j < thetas.length; j++) {
+			double previousVelocity = velocities[j];
+			double velocity = momentum * previousVelocity - learningRateAlpha * gradients[j];
+			velocities[j] = velocity;
+			thetas[j] = thetas[j] - momentum * previousVelocity + (1d + momentum) * velocity;
+		}
+	}
+
+}
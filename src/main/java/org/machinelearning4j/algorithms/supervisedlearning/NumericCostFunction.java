@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+
+/**
+ * 
+ * @param <H> the type of the hypothesis function used to predict numeric labels from numeric features 
+
+ * @author Michael Lavelle
+ * 
+ * A NumericCostFunction<H> calculates a cost associated with training prediction errors using a given NumericHypothesisFunction,
+ * operating directly on a primitive vector of numeric labels so that no boxing of labels is required.
+ */
+public interface NumericCostFunction<H extends NumericHypothesisFunction> extends CostFunction<double[],Double,H> {
+
+	public double getCost(H h,double[][] x,double[] y);
+}
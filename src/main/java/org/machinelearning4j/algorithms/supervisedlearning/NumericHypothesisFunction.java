@@ -15,6 +15,8 @@
  */
 package org.machinelearning4j.algorithms.supervisedlearning;
 
+import org.machinelearning4j.core.FeatureRows;
+
 
 /**
  * 
@@ -26,4 +28,10 @@ package org.machinelearning4j.algorithms.supervisedlearning;
 public interface NumericHypothesisFunction extends HypothesisFunction<double[],Double>{
 
 	public Double predict(double[] numericFeatures);
+	
+	/**
+	 * @return The prediction for the numeric features of a row of the feature rows, with work proportional to the 
+	 * number of values stored for the row
+	 */
+	public Double predict(FeatureRows featureRows,int row);
 }
\ No newline at end of file
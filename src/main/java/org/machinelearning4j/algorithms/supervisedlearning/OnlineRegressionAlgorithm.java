@@ -0,0 +1,40 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+
+/**
+ * 
+ * @author Michael Lavelle
+ * 
+ * An OnlineRegressionAlgorithm can incrementally update a previously trained NumericHypothesisFunction with 
+ * newly available training examples, without retraining on the full training data.
+ * 
+ * Updates are copy-on-write - the hypothesis function passed to update() is never modified, so may continue to 
+ * be used for predictions while the update is made, and is replaced by the returned hypothesis function once complete.
+ */
+public interface OnlineRegressionAlgorithm {
+	
+	/**
+	 * Applies a stochastic gradient descent step for each training example, in order, to a copy of the thetas of
+	 * the hypothesis function.  Regularization is not applied to online updates, as the regularization term of the 
+	 * cost function is relative to a number of training examples which is not defined for an open-ended sequence of updates.
+	 * 
+	 * @return A new hypothesis function with the updated thetas
+	 */
+	public NumericHypothesisFunction update(NumericHypothesisFunction hypothesisFunction,FeatureRows featureRows,double[] labelVector,double learningRateAlpha);
+}
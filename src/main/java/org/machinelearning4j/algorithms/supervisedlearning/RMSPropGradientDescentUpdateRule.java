@@ -0,0 +1,61 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+/**
+ * Updates each theta using a per-theta learning rate, scaled down by the square root of an
+ * exponentially decaying average of previous squared gradients for that theta (RMSProp)
+ *
+ * @author Michael Lavelle
+ */
+public class RMSPropGradientDescentUpdateRule implements GradientDescentUpdateRule {
+
+	private static final double DEFAULT_DECAY_RATE = 0.9;
+	private static final double DEFAULT_EPSILON = 1e-8;
+
+	private double decayRate;
+	private double epsilon;
+	private double[] averageSquaredGradients;
+
+	public RMSPropGradientDescentUpdateRule() {
+		this(DEFAULT_DECAY_RATE, DEFAULT_EPSILON);
+	}
+
+	/**
+	 * @param decayRate The fraction of the previous average squared gradient retained on each step
+	 * @param epsilon Small constant added to the denominator for numerical stability
+	 */
+	public RMSPropGradientDescentUpdateRule(double decayRate,double epsilon) {
+		this.decayRate = decayRate;
+		this.epsilon = epsilon;
+	}
+
+	@Override
+	public void initialise(int thetaCount) {
+		averageSquaredGradients = new double[thetaCount];
+	}
+
+	@Override
+	public void updateThetas(double[] thetas, double[] gradients,
+			double learningRateAlpha) {
+		for (int j = 0; j < thetas.length; j++) {
+			double gradient = gradients[j];
+			averageSquaredGradients[j] = decayRate * averageSquaredGradients[j] + (1d - decayRate) * gradient * gradient;
+			thetas[j] = thetas[j] - learningRateAlpha * gradient / (Math.sqrt(averageSquaredGradients[j]) + epsilon);
+		}
+	}
+
+}
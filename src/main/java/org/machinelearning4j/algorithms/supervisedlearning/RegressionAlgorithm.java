@@ -15,6 +15,7 @@
  */
 package org.machinelearning4j.algorithms.supervisedlearning;
 
+import org.machinelearning4j.core.FeatureRows;
 
 /**
  * 
@@ -27,12 +28,16 @@ package org.machinelearning4j.algorithms.supervisedlearning;
  * The numeric features for a specific element are encapsulated in an array of doubles, with
  * the features for the input collection of training elements being encapsulated in a feature matrix with
  * columns for each feature, and rows for each element.
- *  * 
  * 
+ * A RegressionAlgorithm can also be trained on, and make predictions for, FeatureRows in any feature storage, such as
+ * the sparse feature storage of a training set, learning the same hypothesis function, up to rounding, as for the 
+ * equivalent feature matrix.
  */
 public interface RegressionAlgorithm<C> {
 	
 	public NumericHypothesisFunction train(double[][] featureMatrix,double[] labelVector,C trainingContext);
+	public NumericHypothesisFunction train(FeatureRows featureRows,double[] labelVector,C trainingContext);
 	public Double predictLabel(double[] featureVector,NumericHypothesisFunction hypothesisFunction);
+	public Double predictLabel(FeatureRows featureRows,int row,NumericHypothesisFunction hypothesisFunction);
 	public boolean isFeatureScaledDataRequired();
 }
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+
+/**
+ * 
+ * @author Michael Lavelle
+ * 
+ * A RegularizationPathRegressionAlgorithm can train hypothesis functions for a sequence of regularization lambdas 
+ * more cheaply than by training for each lambda separately, such as when selecting a lambda by validation.
+ */
+public interface RegularizationPathRegressionAlgorithm {
+	
+	/**
+	 * @return The hypothesis functions for each lambda, in the order of the lambdas
+	 */
+	public NumericHypothesisFunction[] trainRegularizationPath(double[][] featureMatrix,double[] labelVector,double[] regularizationLambdas);
+
+	/**
+	 * @return The hypothesis functions for each lambda, in the order of the lambdas
+	 */
+	public NumericHypothesisFunction[] trainRegularizationPath(FeatureRows featureRows,double[] labelVector,double[] regularizationLambdas);
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+
+/**
+ * 
+ * @param <C> the type of the training context
+ * 
+ * @author Michael Lavelle
+ * 
+ * A SoftmaxRegressionAlgorithm can be trained on a collection of elements, each of which has a list of
+ * numeric features and belongs to exactly one of a number of mutually exclusive classes, and learns a
+ * SoftmaxRegressionHypothesisFunction which can be used to predict the probability distribution over the classes 
+ * given the numeric features of a specific element.
+ * 
+ * Classes are identified by their index, from 0 to classCount - 1.
+ */
+public interface SoftmaxRegressionAlgorithm<C> {
+
+	public SoftmaxRegressionHypothesisFunction train(double[][] featureMatrix,int[] labelClassIndexes,int classCount,C trainingContext);
+	public SoftmaxRegressionHypothesisFunction train(FeatureRows featureRows,int[] labelClassIndexes,int classCount,C trainingContext);
+	public double[] predictClassProbabilities(double[] featureVector,SoftmaxRegressionHypothesisFunction hypothesisFunction);
+	public boolean isFeatureScaledDataRequired();
+}
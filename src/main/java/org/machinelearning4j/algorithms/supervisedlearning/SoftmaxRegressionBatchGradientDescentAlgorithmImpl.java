@@ -0,0 +1,108 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.RowArrayFeatureMatrix;
+
+/**
+ * A softmax regression algorithm implementation using batch gradient descent.
+ * 
+ * The thetas of all classes are updated together on each iteration, from gradients calculated in a single pass over
+ * the feature rows, so a model over K classes is trained in one run rather than K separate binary runs.
+ * 
+ * @author Michael Lavelle
+ */
+public class SoftmaxRegressionBatchGradientDescentAlgorithmImpl extends 
+		AbstractGradientDescentAlgorithm<GradientDescentAlgorithmTrainingContext, int[], SoftmaxRegressionHypothesisFunction, SoftmaxRegressionGradientCalculator> 
+		implements SoftmaxRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> {
+
+	public SoftmaxRegressionBatchGradientDescentAlgorithmImpl() {
+	}
+
+	@Override
+	public SoftmaxRegressionHypothesisFunction train(double[][] featureMatrix,
+			int[] labelClassIndexes, int classCount,
+			GradientDescentAlgorithmTrainingContext trainingContext) {
+		return train(new RowArrayFeatureMatrix(featureMatrix), labelClassIndexes, classCount, trainingContext);
+	}
+
+	@Override
+	public SoftmaxRegressionHypothesisFunction train(FeatureRows featureRows,
+			int[] labelClassIndexes, int classCount,
+			GradientDescentAlgorithmTrainingContext trainingContext) {
+		for (int labelClassIndex : labelClassIndexes)
+		{
+			if (labelClassIndex < 0 || labelClassIndex >= classCount)
+			{
+				throw new IllegalArgumentException("Label class index " + labelClassIndex + " is not in the range 0 to " + (classCount - 1));
+			}
+		}
+		return trainHypothesisFunction(featureRows, labelClassIndexes, classCount * featureRows.getColumnCount(), trainingContext);
+	}
+
+	@Override
+	protected int[] selectLabels(int[] labelClassIndexes, int[] rows) {
+		int[] selectedLabelClassIndexes = new int[rows.length];
+		for (int i = 0; i < rows.length; i++) {
+			selectedLabelClassIndexes[i] = labelClassIndexes[rows[i]];
+		}
+		return selectedLabelClassIndexes;
+	}
+
+	@Override
+	protected SoftmaxRegressionHypothesisFunction createHypothesisFunction(
+			double[] thetas, int featureCount, GradientDescentAlgorithmTrainingContext trainingContext) {
+		return new SoftmaxRegressionHypothesisFunction(thetas, thetas.length / featureCount, 
+				trainingContext.getRegularizationLambda());
+	}
+
+	@Override
+	protected SoftmaxRegressionGradientCalculator createGradientCalculator(
+			FeatureRows featureRows, int thetaCount, GradientDescentAlgorithmTrainingContext trainingContext) {
+		return new SoftmaxRegressionGradientCalculator(thetaCount / featureRows.getColumnCount(), featureRows.getColumnCount());
+	}
+
+	@Override
+	protected AbstractGradientCalculator<int[]> createValidationGradientCalculator(
+			FeatureRows validationFeatureRows, int thetaCount) {
+		return new SoftmaxRegressionGradientCalculator(thetaCount / validationFeatureRows.getColumnCount(), 
+				validationFeatureRows.getColumnCount());
+	}
+
+	@Override
+	protected void performHypothesisFunctionUpdateIteration(
+			FeatureRows featureRows, int[] labelClassIndexes,
+			SoftmaxRegressionHypothesisFunction hypothesisFunction,
+			SoftmaxRegressionGradientCalculator gradientCalculator,
+			GradientDescentAlgorithmTrainingContext trainingContext) {
+		double[] gradients = gradientCalculator.calculateGradients(featureRows,
+				labelClassIndexes, hypothesisFunction.thetas, trainingContext.getRegularizationLambda());
+		trainingContext.getUpdateRule().updateThetas(hypothesisFunction.thetas, gradients, trainingContext.getLearningRateAlpha());
+	}
+
+	@Override
+	public double[] predictClassProbabilities(double[] featureVector,
+			SoftmaxRegressionHypothesisFunction hypothesisFunction) {
+		return hypothesisFunction.predict(featureVector);
+	}
+
+	@Override
+	public boolean isFeatureScaledDataRequired() {
+		return true;
+	}
+
+}
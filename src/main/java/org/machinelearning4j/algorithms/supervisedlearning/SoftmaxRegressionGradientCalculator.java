@@ -0,0 +1,100 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import java.util.Arrays;
+
+import org.machinelearning4j.core.FeatureRows;
+
+/**
+ * Calculates the gradients of the softmax regression (multinomial log-loss) cost function with respect to the 
+ * thetas of all classes, together with the value of the cost function itself.
+ *
+ * The scores of all classes are calculated once per training example, and the cost and the gradient components
+ * for every class are accumulated in a single pass over the rows into buffers which are reused for each calculation.
+ * 
+ * Rows are processed in blocks, with the scores of each class for a block calculated by a row-block matrix-vector 
+ * product with the thetas of the class.  All access to the training examples is through the row operations of 
+ * FeatureRows, so the same calculation serves every feature storage.
+ *
+ * An instance holds mutable buffers, so should be created per training run rather than shared.
+ *
+ * @author Michael Lavelle
+ */
+public class SoftmaxRegressionGradientCalculator extends AbstractGradientCalculator<int[]> {
+
+	private static final int SCORE_BLOCK_SIZE = 64;
+
+	private int classCount;
+	private int featureCount;
+	private double[][] classThetas;
+	private double[][] classGradientSums;
+	private double[][] classScores;
+	private double[] scores;
+
+	public SoftmaxRegressionGradientCalculator(int classCount,int featureCount)
+	{
+		super(classCount * featureCount, featureCount);
+		this.classCount = classCount;
+		this.featureCount = featureCount;
+		this.classThetas = new double[classCount][featureCount];
+		this.classGradientSums = new double[classCount][featureCount];
+		this.classScores = new double[classCount][SCORE_BLOCK_SIZE];
+		this.scores = new double[classCount];
+	}
+
+	@Override
+	protected double calculateGradientSums(FeatureRows featureRows,
+			int[] labelClassIndexes, double[] thetas, double[] gradientSums) {
+		for (int k = 0; k < classCount; k++) {
+			System.arraycopy(thetas, k * featureCount, classThetas[k], 0, featureCount);
+			Arrays.fill(classGradientSums[k], 0d);
+		}
+		double costSum = 0d;
+		int rowCount = featureRows.getRowCount();
+		for (int blockStart = 0; blockStart < rowCount; blockStart += SCORE_BLOCK_SIZE) {
+			int blockEnd = Math.min(blockStart + SCORE_BLOCK_SIZE, rowCount);
+			for (int k = 0; k < classCount; k++) {
+				featureRows.multiply(blockStart, blockEnd, classThetas[k], classScores[k]);
+			}
+			for (int i = blockStart; i < blockEnd; i++) {
+				for (int k = 0; k < classCount; k++) {
+					scores[k] = classScores[k][i - blockStart];
+				}
+				costSum = costSum + accumulateRowGradientSums(featureRows, i, labelClassIndexes[i]);
+			}
+		}
+		for (int k = 0; k < classCount; k++) {
+			System.arraycopy(classGradientSums[k], 0, gradientSums, k * featureCount, featureCount);
+		}
+		return costSum;
+	}
+
+	/**
+	 * @return The cost contribution of the row, -log of the predicted probability of the label class
+	 */
+	private double accumulateRowGradientSums(FeatureRows featureRows, int row, int labelClassIndex) {
+		double logSumOfExponentials = LogisticFunctions.logSumExp(scores);
+		double rowCost = logSumOfExponentials - scores[labelClassIndex];
+		for (int k = 0; k < classCount; k++) {
+			double error = Math.exp(scores[k] - logSumOfExponentials);
+			if (k == labelClassIndex) error = error - 1d;
+			featureRows.addScaledRow(row, error, classGradientSums[k]);
+		}
+		return rowCost;
+	}
+
+}
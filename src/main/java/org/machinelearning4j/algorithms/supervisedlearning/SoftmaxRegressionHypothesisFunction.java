@@ -0,0 +1,93 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.VectorOperations;
+
+/**
+ * 
+ * @author Michael Lavelle
+ * 
+ * A HypothesisFunction which predicts the probability distribution over a number of mutually exclusive classes
+ * given a numeric features array.
+ * 
+ * This SoftmaxRegressionHypothesisFunction uses a vector of theta weights for each class, calculating a linear score
+ * for each class from the weighted feature values, and predicting probabilities from the softmax function of the scores.
+ * 
+ * The thetas for all classes are stored in a single array, with the thetas for class k occupying the
+ * elements from k * featureCount (inclusive) to (k + 1) * featureCount (exclusive).
+ */
+public class SoftmaxRegressionHypothesisFunction implements HypothesisFunction<double[],double[]>, ThetaWeightedHypothesisFunction {
+
+	protected double[] thetas;
+	protected int classCount;
+	protected double regularizationLambda;
+
+	public SoftmaxRegressionHypothesisFunction(double[] thetas,int classCount,double regularizationLambda)
+	{
+		if (classCount < 2 || thetas.length % classCount != 0)
+		{
+			throw new IllegalArgumentException("Thetas must contain an equal number of weights for each of at least 2 classes");
+		}
+		this.thetas = thetas;
+		this.classCount = classCount;
+		this.regularizationLambda = regularizationLambda;
+	}
+
+	public int getClassCount() {
+		return classCount;
+	}
+
+	public double getRegularizationLambda() {
+		return regularizationLambda;
+	}
+
+	@Override
+	public double[] getThetas() {
+		return thetas.clone();
+	}
+
+	/**
+	 * @return The predicted probability of each class, indexed by class
+	 */
+	@Override
+	public double[] predict(double[] x) {
+		double[] probabilities = new double[classCount];
+		predictProbabilities(x, probabilities);
+		return probabilities;
+	}
+
+	/**
+	 * Populates the probabilities array with the predicted probability of each class, indexed by class
+	 */
+	public void predictProbabilities(double[] x, double[] probabilities) {
+		calculateScores(thetas, x, probabilities);
+		double logSumOfExponentials = LogisticFunctions.logSumExp(probabilities);
+		for (int k = 0; k < classCount; k++) {
+			probabilities[k] = Math.exp(probabilities[k] - logSumOfExponentials);
+		}
+	}
+
+	/**
+	 * Populates the scores array with the linear score of each class for the feature values x
+	 */
+	static void calculateScores(double[] thetas, double[] x, double[] scores) {
+		int featureCount = x.length;
+		for (int k = 0; k < scores.length; k++) {
+			scores[k] = VectorOperations.dotProduct(thetas, k * featureCount, x, 0, featureCount);
+		}
+	}
+}
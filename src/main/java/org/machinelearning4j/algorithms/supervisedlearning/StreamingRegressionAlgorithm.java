@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+
+/**
+ * 
+ * @author Michael Lavelle
+ * 
+ * A StreamingRegressionAlgorithm can be trained by making repeated passes over a stream of training examples,
+ * without requiring a feature matrix of all the training examples to be held in memory, and learns a 
+ * NumericHypothesisFunction which can be used to predict the value of numeric labels given the numeric features 
+ * of a specific element.
+ */
+public interface StreamingRegressionAlgorithm<C> {
+	
+	public NumericHypothesisFunction train(TrainingExampleStream trainingExamples,C trainingContext);
+}
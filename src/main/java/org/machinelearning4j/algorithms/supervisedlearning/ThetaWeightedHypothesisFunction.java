@@ -0,0 +1,31 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+/**
+ * 
+ * @author Michael Lavelle
+ * 
+ * A ThetaWeightedHypothesisFunction is a hypothesis function whose predictions are determined by a set of theta weights,
+ * so that the thetas of a trained function can be used as the starting point for further training.
+ */
+public interface ThetaWeightedHypothesisFunction {
+
+	/**
+	 * @return A copy of the theta weights of this hypothesis function
+	 */
+	public double[] getThetas();
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+/**
+ * The numeric feature values of a single training example, together with the numeric value of its label
+ * 
+ * @author Michael Lavelle
+ */
+public class TrainingExample {
+
+	private double[] featureValues;
+	private double labelValue;
+
+	public TrainingExample(double[] featureValues, double labelValue) {
+		this.featureValues = featureValues;
+		this.labelValue = labelValue;
+	}
+
+	public double[] getFeatureValues() {
+		return featureValues;
+	}
+
+	public double getLabelValue() {
+		return labelValue;
+	}
+
+}
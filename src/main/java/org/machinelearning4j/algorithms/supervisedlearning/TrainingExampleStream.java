@@ -0,0 +1,35 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+/**
+ * A source of training examples which need not be held in memory - each iterator makes a new pass over 
+ * the training examples, always in the same order
+ * 
+ * @author Michael Lavelle
+ */
+public interface TrainingExampleStream extends Iterable<TrainingExample> {
+
+	/**
+	 * @return The number of feature values of each training example
+	 */
+	public int getFeatureValueCount();
+
+	/**
+	 * @return The number of training examples in each pass
+	 */
+	public long getTrainingExampleCount();
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.machinelearning4j.core.FeatureRows;
+
+/**
+ * The examples held out from training by a gradient descent algorithm, together with the gradient calculator of 
+ * that algorithm's cost function, so that convergence criteria can evaluate the unregularized cost of thetas on 
+ * the held out examples without knowing the type of the labels or the cost function being minimised.
+ *
+ * @param <L> The type of the labels of the held out examples
+ * 
+ * @author Michael Lavelle
+ */
+class ValidationSet<L> {
+
+	private FeatureRows featureRows;
+	private L labels;
+	private AbstractGradientCalculator<L> gradientCalculator;
+
+	ValidationSet(FeatureRows featureRows, L labels, AbstractGradientCalculator<L> gradientCalculator) {
+		this.featureRows = featureRows;
+		this.labels = labels;
+		this.gradientCalculator = gradientCalculator;
+	}
+
+	FeatureRows getFeatureRows() {
+		return featureRows;
+	}
+
+	/**
+	 * @return The unregularized cost of the specified thetas on the held out examples
+	 */
+	double calculateCost(double[] thetas) {
+		return gradientCalculator.calculateCost(featureRows, labels, thetas, 0d);
+	}
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.algorithms.supervisedlearning;
+
+import org.apache.log4j.Logger;
+import org.machinelearning4j.algorithms.ConvergenceCriteria;
+
+/**
+ * Defines early stopping convergence criteria for a gradient descent algorithm, evaluating the unregularized 
+ * cost of the thetas being trained on the examples held out from training at each cost function snapshot interval.
+ * 
+ * Convergence is complete once the validation cost has not improved on its best value for patience consecutive 
+ * evaluations.  The thetas with the best validation cost are recorded as the best thetas of the training context, 
+ * without modifying the thetas being trained, and the algorithm trains a hypothesis function with the best thetas 
+ * once training stops - including when the iteration limit is reached before convergence is complete.
+ * 
+ * The training context must specify a validation example count and a cost function snapshot interval.  The held out 
+ * examples are rows of the already scaled feature rows passed to the algorithm, in the same feature storage, so no 
+ * elements are re-mapped.
+ * 
+ * Validation examples are held out by the algorithms extending AbstractGradientDescentAlgorithm, including softmax 
+ * regression - the asynchronous and streaming stochastic gradient descent algorithms throw an IllegalStateException 
+ * if a validation example count is specified.
+ * 
+ * An instance holds the state of the training run it is evaluating, so should not be shared by training runs 
+ * which are running concurrently.
+ * 
+ * @author Michael Lavelle
+ */
+public class ValidationSetEarlyStoppingConvergenceCriteria implements ConvergenceCriteria<GradientDescentAlgorithmTrainingContext> {
+
+	static Logger LOG = Logger.getLogger(ValidationSetEarlyStoppingConvergenceCriteria.class);
+
+	private int patience;
+
+	private GradientDescentAlgorithmTrainingContext evaluatedTrainingContext;
+	private long lastEvaluatedIteration;
+	private double bestValidationCost;
+	private int evaluationsWithoutImprovement;
+	private boolean converged;
+	
+	/**
+	 * @param patience The number of consecutive validation cost evaluations without improvement after which training is stopped
+	 */
+	public ValidationSetEarlyStoppingConvergenceCriteria(int patience) {
+		if (patience < 1)
+		{
+			throw new IllegalArgumentException("Patience must be at least 1");
+		}
+		this.patience = patience;
+	}
+
+	@Override
+	public boolean isPrerequisiteConditionViolated(GradientDescentAlgorithmTrainingContext trainingContext) {
+		return false;
+	}
+
+	@Override
+	public boolean isConvergenceCompleteConditionSatisfied(GradientDescentAlgorithmTrainingContext trainingContext) {
+		if (trainingContext.getValidationFeatureRows() == null)
+		{
+			throw new RuntimeException("No validation examples have been held out from training");
+		}
+		if (trainingContext.getCostFunctionSnapshotIntervalInIterations() == null)
+		{
+			throw new RuntimeException("No cost function snapshot interval specified on training context");
+		}
+		if (trainingContext != evaluatedTrainingContext || trainingContext.getCurrentIteration() < lastEvaluatedIteration)
+		{
+			startEvaluatingTrainingRun(trainingContext);
+		}
+		if (!converged && trainingContext.getCurrentIteration() > lastEvaluatedIteration 
+				&& trainingContext.getCurrentIteration() % trainingContext.getCostFunctionSnapshotIntervalInIterations() == 0)
+		{
+			evaluate(trainingContext);
+		}
+		return converged;
+	}
+
+	private void startEvaluatingTrainingRun(GradientDescentAlgorithmTrainingContext trainingContext) {
+		evaluatedTrainingContext = trainingContext;
+		lastEvaluatedIteration = 0;
+		bestValidationCost = Double.POSITIVE_INFINITY;
+		evaluationsWithoutImprovement = 0;
+		converged = false;
+		trainingContext.setBestThetas(null);
+	}
+
+	private void evaluate(GradientDescentAlgorithmTrainingContext trainingContext) {
+		double[] thetas = trainingContext.getCurrentThetas();
+		double validationCost = trainingContext.calculateValidationCost(thetas);
+		lastEvaluatedIteration = trainingContext.getCurrentIteration();
+		if (LOG.isDebugEnabled())
+		{
+			LOG.debug("Iteration: " + lastEvaluatedIteration + " : Validation cost: " +  validationCost);
+		}
+		if (validationCost < bestValidationCost)
+		{
+			bestValidationCost = validationCost;
+			trainingContext.setBestThetas(thetas.clone());
+			evaluationsWithoutImprovement = 0;
+		}
+		else if (++evaluationsWithoutImprovement >= patience)
+		{
+			converged = true;
+		}
+	}
+
+	/**
+	 * @return The lowest validation cost evaluated during the most recent training run
+	 */
+	public double getBestValidationCost() {
+		return bestValidationCost;
+	}
+
+}
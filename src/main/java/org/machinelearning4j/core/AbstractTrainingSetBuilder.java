@@ -28,6 +28,7 @@ public abstract class AbstractTrainingSetBuilder<T,S extends AbstractTrainingSet
 	protected NumericFeatureMapper<T> numericFeatureMapper;
 	protected int size;
 	protected FeatureScaler featureScaler;
+	protected FeatureStorage featureStorage = FeatureStorage.DENSE;
 	
 	public AbstractTrainingSetBuilder(int size,boolean addInterceptFeature)
 	{
@@ -54,6 +55,30 @@ public abstract class AbstractTrainingSetBuilder<T,S extends AbstractTrainingSet
 		return getChainedBuilder();
 	}
 	
+	/**
+	 * Stores the features of each element as a sparse row of its non-zero values, so that memory use is proportional 
+	 * to the number of non-zero values rather than the number of features.  Cannot be combined with feature scaling.
+	 * 
+	 * @return the chained builder
+	 */
+	public S withSparseFeatureStorage()
+	{
+		this.featureStorage = FeatureStorage.SPARSE;
+		return getChainedBuilder();
+	}
+	
+	/**
+	 * Stores the features of each element as float values, halving memory use for features which 
+	 * do not require double precision.
+	 * 
+	 * @return the chained builder
+	 */
+	public S withSinglePrecisionFeatureStorage()
+	{
+		this.featureStorage = FeatureStorage.SINGLE_PRECISION;
+		return getChainedBuilder();
+	}
+	
 	protected abstract S getChainedBuilder();
 
 
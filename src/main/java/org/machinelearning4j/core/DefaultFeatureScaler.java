@@ -21,18 +21,24 @@ package org.machinelearning4j.core;
  * 
  * @author Michael Lavelle
  */
-public class DefaultFeatureScaler implements FeatureScaler {
+public class DefaultFeatureScaler implements StatisticsFeatureScaler {
 
 	@Override
 	public double[] scaleFeatures(TrainingSet<?> parentTrainingSet,
 			double[] elementFeatureArrayToScale,boolean firstFeatureIsIntercept) {
+		return scaleFeatures(parentTrainingSet.getFeatureStatistics(), elementFeatureArrayToScale, firstFeatureIsIntercept);
+	}
+
+	@Override
+	public double[] scaleFeatures(Statistics[] featureStatistics,
+			double[] elementFeatureArrayToScale,boolean firstFeatureIsIntercept) {
 		
 		int nonInterceptStatisticsIndex = firstFeatureIsIntercept ? 0 : 1;
 		for (int i = 0 ; i < elementFeatureArrayToScale.length; i++)
 		{	
 			if ((firstFeatureIsIntercept && i != 0) || !firstFeatureIsIntercept)
 			{
-				Statistics statistics = parentTrainingSet.getFeatureStatistics()[nonInterceptStatisticsIndex - 1];
+				Statistics statistics = featureStatistics[nonInterceptStatisticsIndex - 1];
 				elementFeatureArrayToScale[i] = scaleFeatureValue(elementFeatureArrayToScale[i],statistics);
 			}
 			nonInterceptStatisticsIndex++;
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.core;
+
+/**
+ * Feature rows stored as a single contiguous array of double values in row-major order, with row i occupying the 
+ * columnCount values starting at i * columnCount.
+ * 
+ * Row operations read the values of a row in place, without copying.  Column operations read a column-major copy of 
+ * the values, built the first time a column is accessed and retained for the lifetime of these rows, so that 
+ * repeated column access - as by coordinate descent - reads each column contiguously.
+ * 
+ * The values array is shared rather than copied, so the rows it holds must not be modified while these rows are in use.
+ * 
+ * @author Michael Lavelle
+ */
+public class DenseFeatureMatrix implements FeatureRows {
+
+	/**
+	 * The largest array length that can be allocated on common JVMs, slightly below Integer.MAX_VALUE
+	 */
+	static final int MAX_VALUE_COUNT = Integer.MAX_VALUE - 8;
+	
+	private double[] values;
+	private int rowCount;
+	private int columnCount;
+	private volatile double[] columnMajorValues;
+	
+	/**
+	 * Copies the rows into a contiguous array - RowArrayFeatureMatrix serves the rows without copying them
+	 * 
+	 * @param rows The feature values of each row, of which there must be at least one, each with the same number of columns
+	 */
+	public DenseFeatureMatrix(double[][] rows)
+	{
+		this(rows, getColumnCount(rows));
+	}
+	
+	/**
+	 * Copies the rows into a contiguous array - RowArrayFeatureMatrix serves the rows without copying them
+	 * 
+	 * @param rows The feature values of each row, each with columnCount columns
+	 */
+	public DenseFeatureMatrix(double[][] rows,int columnCount)
+	{
+		this(new double[getValueCount(rows.length, columnCount)], rows.length, columnCount);
+		for (int i = 0; i < rows.length; i++)
+		{
+			System.arraycopy(rows[i], 0, values, i * columnCount, columnCount);
+		}
+	}
+	
+	/**
+	 * @param values The feature values of each row in row-major order - only the first rowCount * columnCount 
+	 * values are used, so the array may have spare capacity
+	 */
+	public DenseFeatureMatrix(double[] values,int rowCount,int columnCount)
+	{
+		if (values.length < (long)rowCount * columnCount)
+		{
+			throw new IllegalArgumentException("Expected at least " + ((long)rowCount * columnCount) + " values but found " + values.length);
+		}
+		this.values = values;
+		this.rowCount = rowCount;
+		this.columnCount = columnCount;
+	}
+	
+	/**
+	 * @return The number of values held by rowCount rows of columnCount columns, computed without overflow
+	 * @throws IllegalArgumentException If the values would not fit in a single array
+	 */
+	static int getValueCount(long rowCount,int columnCount)
+	{
+		long valueCount = rowCount * columnCount;
+		if (valueCount > MAX_VALUE_COUNT)
+		{
+			throw new IllegalArgumentException(rowCount + " rows of " + columnCount + " columns hold " + valueCount 
+					+ " values, which exceeds the maximum of " + MAX_VALUE_COUNT + " values in a single array");
+		}
+		return (int)valueCount;
+	}
+	
+	static int getColumnCount(double[][] rows)
+	{
+		if (rows.length == 0)
+		{
+			throw new IllegalArgumentException("The number of columns cannot be determined as there are no rows");
+		}
+		return rows[0].length;
+	}
+
+	/**
+	 * @return The feature values of each row in row-major order - the array is not copied so must not be modified, 
+	 * and may have spare capacity beyond the getRowCount() * getColumnCount() values of these rows
+	 */
+	public double[] getValues() {
+		return values;
+	}
+
+	/**
+	 * @return The feature values of each column in column-major order, with column j occupying the getRowCount() 
+	 * values starting at j * getRowCount() - built on first access and retained, so must not be modified
+	 */
+	public double[] getColumnMajorValues() {
+		double[] transposedValues = columnMajorValues;
+		if (transposedValues == null)
+		{
+			transposedValues = new double[rowCount * columnCount];
+			for (int i = 0; i < rowCount; i++)
+			{
+				int rowOffset = i * columnCount;
+				for (int j = 0; j < columnCount; j++)
+				{
+					transposedValues[j * rowCount + i] = values[rowOffset + j];
+				}
+			}
+			columnMajorValues = transposedValues;
+		}
+		return transposedValues;
+	}
+
+	@Override
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+	@Override
+	public double dotProduct(int row, double[] x) {
+		return VectorOperations.dotProduct(values, row * columnCount, x, 0, columnCount);
+	}
+
+	@Override
+	public void multiply(int fromRow, int toRow, double[] x, double[] result) {
+		VectorOperations.multiply(values, columnCount, fromRow, toRow, x, result);
+	}
+
+	@Override
+	public void addScaledRow(int row, double alpha, double[] y) {
+		VectorOperations.axpy(alpha, values, row * columnCount, y, columnCount);
+	}
+
+	@Override
+	public void copyRow(int row, double[] denseArray) {
+		System.arraycopy(values, row * columnCount, denseArray, 0, columnCount);
+	}
+
+	@Override
+	public int copyNonZeroColumnIndexes(int row, int[] columnIndexes) {
+		int rowOffset = row * columnCount;
+		int nonZeroCount = 0;
+		for (int j = 0; j < columnCount; j++)
+		{
+			if (values[rowOffset + j] != 0d) columnIndexes[nonZeroCount++] = j;
+		}
+		return nonZeroCount;
+	}
+
+	@Override
+	public void copyColumn(int column, double[] columnValues) {
+		System.arraycopy(getColumnMajorValues(), column * rowCount, columnValues, 0, rowCount);
+	}
+
+	/**
+	 * @return The selected rows, copied into a new contiguous array
+	 */
+	@Override
+	public FeatureRows selectRows(int[] rowIndexes) {
+		double[] selectedValues = new double[getValueCount(rowIndexes.length, columnCount)];
+		for (int i = 0; i < rowIndexes.length; i++)
+		{
+			System.arraycopy(values, rowIndexes[i] * columnCount, selectedValues, i * columnCount, columnCount);
+		}
+		return new DenseFeatureMatrix(selectedValues, rowIndexes.length, columnCount);
+	}
+
+}
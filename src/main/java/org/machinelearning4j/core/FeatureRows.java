@@ -0,0 +1,75 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.core;
+
+/**
+ * The numeric features of a sequence of elements, one row per element and one column per feature, accessed by row 
+ * independently of how the rows are stored.
+ * 
+ * Algorithms are written against the row operations defined here - scoring rows against a vector of thetas and 
+ * accumulating scaled rows into a vector - so that a single implementation serves every feature storage, with each 
+ * storage doing work proportional to the values it actually holds.  Operations which need all the values of a row 
+ * or a column, such as forming a Hessian or a Gram matrix, copy them into a dense array.
+ * 
+ * Implementations are read-only once populated, so may be shared between threads.
+ * 
+ * @author Michael Lavelle
+ */
+public interface FeatureRows {
+
+	int getRowCount();
+	
+	int getColumnCount();
+	
+	/**
+	 * @return The dot product of the row with the dense array x
+	 */
+	double dotProduct(int row,double[] x);
+	
+	/**
+	 * Populates result with the dot products of rows fromRow (inclusive) to toRow (exclusive) with the dense array x, 
+	 * so that result[i - fromRow] is the dot product of row i with x
+	 */
+	void multiply(int fromRow,int toRow,double[] x,double[] result);
+	
+	/**
+	 * Adds alpha multiplied by the row to the dense array y
+	 */
+	void addScaledRow(int row,double alpha,double[] y);
+	
+	/**
+	 * Populates denseArray with all the values of the row, including zero values
+	 */
+	void copyRow(int row,double[] denseArray);
+	
+	/**
+	 * Populates columnIndexes with the indexes of the columns holding non-zero values in the row, in ascending order - 
+	 * these are exactly the columns updated by addScaledRow, although a storage may include columns holding stored zeros
+	 * 
+	 * @return The number of column indexes populated
+	 */
+	int copyNonZeroColumnIndexes(int row,int[] columnIndexes);
+	
+	/**
+	 * Populates columnValues with the value of the column for each row, including zero values
+	 */
+	void copyColumn(int column,double[] columnValues);
+	
+	/**
+	 * @return The rows at the specified row indexes, in order, using the same storage as these rows
+	 */
+	FeatureRows selectRows(int[] rowIndexes);
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.core;
+
+/**
+ * Accumulates the mean and variance of each feature over a sequence of feature value arrays in a single 
+ * pass, without retaining the values, so that feature statistics can be gathered while streaming over 
+ * data too large to hold in memory.
+ * 
+ * Uses Welford's method, updating a running mean and sum of squared deviations from the mean for each 
+ * array of values, which avoids the loss of precision of accumulating sums of squares.
+ * 
+ * @author Michael Lavelle
+ */
+public class FeatureStatisticsAccumulator {
+
+	private long count;
+	private double[] means;
+	private double[] sumsOfSquaredDeviations;
+	private int startIndex;
+
+	/**
+	 * @param featureValueCount The number of values in each feature value array
+	 * @param firstFeatureIsIntercept Whether the first value of each array is an intercept term, for which 
+	 * statistics are not accumulated
+	 */
+	public FeatureStatisticsAccumulator(int featureValueCount,boolean firstFeatureIsIntercept)
+	{
+		this.startIndex = firstFeatureIsIntercept ? 1 : 0;
+		this.means = new double[featureValueCount - startIndex];
+		this.sumsOfSquaredDeviations = new double[featureValueCount - startIndex];
+	}
+
+	public void add(double[] featureValues)
+	{
+		count++;
+		for (int i = 0; i < means.length; i++)
+		{
+			double value = featureValues[i + startIndex];
+			double deviation = value - means[i];
+			means[i] = means[i] + deviation / count;
+			sumsOfSquaredDeviations[i] = sumsOfSquaredDeviations[i] + deviation * (value - means[i]);
+		}
+	}
+
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return The statistics of each non-intercept feature of the arrays accumulated so far
+	 */
+	public Statistics[] getFeatureStatistics()
+	{
+		if (count == 0)
+		{
+			throw new IllegalStateException("No feature values have been accumulated");
+		}
+		Statistics[] featureStatistics = new Statistics[means.length];
+		for (int i = 0; i < means.length; i++)
+		{
+			featureStatistics[i] = new Statistics(count, means[i], sumsOfSquaredDeviations[i] / count);
+		}
+		return featureStatistics;
+	}
+
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.core;
+
+/**
+ * Defines how the numeric features of the elements of a training set are stored
+ * 
+ * @author Michael Lavelle
+ */
+public enum FeatureStorage {
+
+	/**
+	 * A dense array of double values for each element
+	 */
+	DENSE,
+	
+	/**
+	 * A dense array of float values for each element, halving memory use for features which do not
+	 * require double precision
+	 */
+	SINGLE_PRECISION,
+	
+	/**
+	 * A sparse row of the non-zero values of each element, so that memory use is proportional to the
+	 * number of non-zero values rather than the number of features.  Feature scaling is not supported, as it
+	 * would not preserve the sparsity of the features.
+	 */
+	SPARSE
+}
@@ -16,6 +16,7 @@
 package org.machinelearning4j.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -40,6 +41,10 @@ public class NumericFeatureMapper<T> {
 		}
 	}
 	
+	public int getFeatureValueCount() {
+		return featureValueCount;
+	}
+
 	public boolean isHasInterceptFeature() {
 		return hasInterceptFeature;
 	}
@@ -64,4 +69,48 @@ public class NumericFeatureMapper<T> {
 		return numericFeatureValues;
 	}
 
+	/**
+	 * Maps the features of an element to a sparse vector of its non-zero feature values, obtaining the values of
+	 * each SparseNumericFeatureDefinition without creating a dense array of all its values
+	 */
+	public SparseVector getSparseFeatureValues(T element)
+	{
+		int[] indexes = new int[Math.min(featureValueCount, 16)];
+		double[] values = new double[indexes.length];
+		int nonZeroCount = 0;
+		int featureValueOffset = 0;
+		for (NumericFeatureDefinition<T> featureDefinition : featureDefinitions)
+		{
+			int[] definitionIndexes;
+			double[] definitionValues;
+			if (featureDefinition instanceof SparseNumericFeatureDefinition)
+			{
+				SparseVector sparseFeatureValues = ((SparseNumericFeatureDefinition<T>)featureDefinition).getSparseFeatureValues(element);
+				definitionIndexes = sparseFeatureValues.getIndexes();
+				definitionValues = sparseFeatureValues.getValues();
+			}
+			else
+			{
+				definitionIndexes = null;
+				definitionValues = featureDefinition.getFeatureValues(element);
+			}
+			if (nonZeroCount + definitionValues.length > indexes.length)
+			{
+				int capacity = Math.max(nonZeroCount + definitionValues.length, indexes.length * 2);
+				indexes = Arrays.copyOf(indexes, capacity);
+				values = Arrays.copyOf(values, capacity);
+			}
+			for (int k = 0; k < definitionValues.length; k++)
+			{
+				if (definitionValues[k] != 0d)
+				{
+					indexes[nonZeroCount] = featureValueOffset + (definitionIndexes == null ? k : definitionIndexes[k]);
+					values[nonZeroCount++] = definitionValues[k];
+				}
+			}
+			featureValueOffset += featureDefinition.getFeatureValueCount();
+		}
+		return new SparseVector(featureValueCount,Arrays.copyOf(indexes, nonZeroCount),Arrays.copyOf(values, nonZeroCount));
+	}
+
 }
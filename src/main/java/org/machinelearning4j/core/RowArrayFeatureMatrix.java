@@ -0,0 +1,122 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.core;
+
+/**
+ * Feature rows stored as a separate array of double values for each row, as supplied by algorithms' double[][] 
+ * entry points.
+ * 
+ * The row arrays are shared rather than copied, so that training on a double[][] does not duplicate the feature 
+ * values - they must not be modified while these rows are in use.  Rows are read in place, and column operations 
+ * gather the column from each row.
+ * 
+ * @author Michael Lavelle
+ */
+public class RowArrayFeatureMatrix implements FeatureRows {
+
+	private double[][] rows;
+	private int columnCount;
+	
+	/**
+	 * @param rows The feature values of each row, of which there must be at least one, each with the same number of columns
+	 */
+	public RowArrayFeatureMatrix(double[][] rows)
+	{
+		this(rows, DenseFeatureMatrix.getColumnCount(rows));
+	}
+	
+	/**
+	 * @param rows The feature values of each row, each with columnCount columns
+	 */
+	public RowArrayFeatureMatrix(double[][] rows,int columnCount)
+	{
+		this.rows = rows;
+		this.columnCount = columnCount;
+	}
+
+	/**
+	 * @return The feature values of each row - the array is not copied so must not be modified
+	 */
+	public double[][] getRows() {
+		return rows;
+	}
+
+	@Override
+	public int getRowCount() {
+		return rows.length;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+	@Override
+	public double dotProduct(int row, double[] x) {
+		return VectorOperations.dotProduct(rows[row], 0, x, 0, columnCount);
+	}
+
+	@Override
+	public void multiply(int fromRow, int toRow, double[] x, double[] result) {
+		for (int i = fromRow; i < toRow; i++)
+		{
+			result[i - fromRow] = VectorOperations.dotProduct(rows[i], 0, x, 0, columnCount);
+		}
+	}
+
+	@Override
+	public void addScaledRow(int row, double alpha, double[] y) {
+		VectorOperations.axpy(alpha, rows[row], 0, y, columnCount);
+	}
+
+	@Override
+	public void copyRow(int row, double[] denseArray) {
+		System.arraycopy(rows[row], 0, denseArray, 0, columnCount);
+	}
+
+	@Override
+	public int copyNonZeroColumnIndexes(int row, int[] columnIndexes) {
+		double[] values = rows[row];
+		int nonZeroCount = 0;
+		for (int j = 0; j < columnCount; j++)
+		{
+			if (values[j] != 0d) columnIndexes[nonZeroCount++] = j;
+		}
+		return nonZeroCount;
+	}
+
+	@Override
+	public void copyColumn(int column, double[] columnValues) {
+		for (int i = 0; i < rows.length; i++)
+		{
+			columnValues[i] = rows[i][column];
+		}
+	}
+
+	/**
+	 * @return The selected rows, sharing the row arrays of these rows
+	 */
+	@Override
+	public FeatureRows selectRows(int[] rowIndexes) {
+		double[][] selectedRows = new double[rowIndexes.length][];
+		for (int i = 0; i < rowIndexes.length; i++)
+		{
+			selectedRows[i] = rows[rowIndexes[i]];
+		}
+		return new RowArrayFeatureMatrix(selectedRows, columnCount);
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.core;
+
+/**
+ * Feature rows stored as a dense array of float values for each row, halving the memory used by, and the memory 
+ * traffic of each pass over, the feature values.
+ * 
+ * Only the storage is single precision - rows are combined with dense arrays of double values, and the results 
+ * accumulated, in double precision, so that rounding errors do not grow with the number of rows.
+ * 
+ * The row arrays are shared rather than copied, so must not be modified while these rows are in use.
+ * 
+ * @author Michael Lavelle
+ */
+public class SinglePrecisionFeatureMatrix implements FeatureRows {
+
+	private float[][] rows;
+	private int columnCount;
+	
+	/**
+	 * @param rows The feature values of each row, each with columnCount columns
+	 */
+	public SinglePrecisionFeatureMatrix(float[][] rows,int columnCount)
+	{
+		this.rows = rows;
+		this.columnCount = columnCount;
+	}
+
+	/**
+	 * @return The feature values of each row - the array is not copied so must not be modified
+	 */
+	public float[][] getRows() {
+		return rows;
+	}
+
+	@Override
+	public int getRowCount() {
+		return rows.length;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnCount;
+	}
+
+	@Override
+	public double dotProduct(int row, double[] x) {
+		return VectorOperations.dotProduct(x, rows[row]);
+	}
+
+	@Override
+	public void multiply(int fromRow, int toRow, double[] x, double[] result) {
+		for (int i = fromRow; i < toRow; i++)
+		{
+			result[i - fromRow] = VectorOperations.dotProduct(x, rows[i]);
+		}
+	}
+
+	@Override
+	public void addScaledRow(int row, double alpha, double[] y) {
+		VectorOperations.axpy(alpha, rows[row], y);
+	}
+
+	@Override
+	public void copyRow(int row, double[] denseArray) {
+		float[] values = rows[row];
+		for (int j = 0; j < columnCount; j++)
+		{
+			denseArray[j] = values[j];
+		}
+	}
+
+	@Override
+	public int copyNonZeroColumnIndexes(int row, int[] columnIndexes) {
+		float[] values = rows[row];
+		int nonZeroCount = 0;
+		for (int j = 0; j < columnCount; j++)
+		{
+			if (values[j] != 0f) columnIndexes[nonZeroCount++] = j;
+		}
+		return nonZeroCount;
+	}
+
+	@Override
+	public void copyColumn(int column, double[] columnValues) {
+		for (int i = 0; i < rows.length; i++)
+		{
+			columnValues[i] = rows[i][column];
+		}
+	}
+
+	/**
+	 * @return The selected rows, sharing the row arrays of these rows
+	 */
+	@Override
+	public FeatureRows selectRows(int[] rowIndexes) {
+		float[][] selectedRows = new float[rowIndexes.length][];
+		for (int i = 0; i < rowIndexes.length; i++)
+		{
+			selectedRows[i] = rows[rowIndexes[i]];
+		}
+		return new SinglePrecisionFeatureMatrix(selectedRows, columnCount);
+	}
+
+}
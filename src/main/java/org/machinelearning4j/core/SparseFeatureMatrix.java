@@ -0,0 +1,214 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.core;
+
+import java.util.Arrays;
+
+/**
+ * A feature matrix stored in compressed sparse row (CSR) format - the column indexes and values of the non-zero 
+ * elements of all rows are stored contiguously, in row order, with the start of each row's elements recorded 
+ * in a row pointer array.
+ * 
+ * Memory use is proportional to the number of non-zero elements rather than the number of columns, so is suited to
+ * feature matrices with many columns but few non-zero values per row, such as one-hot encoded or text features.
+ * 
+ * Rows are appended while the matrix is populated, after which the matrix is read-only.
+ * 
+ * @author Michael Lavelle
+ */
+public class SparseFeatureMatrix implements FeatureRows {
+
+	private int columnCount;
+	private int rowCount;
+	private int[] rowStarts;
+	private int[] columnIndexes;
+	private double[] values;
+	
+	/**
+	 * @param columnCount The number of columns (features) of each row
+	 * @param expectedRowCount The expected number of rows, used to size the row pointer array
+	 * @param expectedNonZeroCount The expected total number of non-zero elements, used to size the element arrays
+	 */
+	public SparseFeatureMatrix(int columnCount,int expectedRowCount,int expectedNonZeroCount)
+	{
+		this.columnCount = columnCount;
+		this.rowStarts = new int[Math.max(1, expectedRowCount) + 1];
+		this.columnIndexes = new int[Math.max(1, expectedNonZeroCount)];
+		this.values = new double[Math.max(1, expectedNonZeroCount)];
+	}
+	
+	/**
+	 * Appends a row to the matrix
+	 */
+	public void addRow(SparseVector row)
+	{
+		if (row.getDimension() != columnCount)
+		{
+			throw new IllegalArgumentException("Row dimension " + row.getDimension() + " does not match column count " + columnCount);
+		}
+		if (rowCount + 2 > rowStarts.length)
+		{
+			rowStarts = Arrays.copyOf(rowStarts, rowStarts.length * 2);
+		}
+		int nonZeroCount = getNonZeroCount();
+		int requiredCapacity = nonZeroCount + row.getNonZeroCount();
+		if (requiredCapacity > values.length)
+		{
+			int capacity = Math.max(requiredCapacity, values.length * 2);
+			columnIndexes = Arrays.copyOf(columnIndexes, capacity);
+			values = Arrays.copyOf(values, capacity);
+		}
+		System.arraycopy(row.getIndexes(), 0, columnIndexes, nonZeroCount, row.getNonZeroCount());
+		System.arraycopy(row.getValues(), 0, values, nonZeroCount, row.getNonZeroCount());
+		rowCount++;
+		rowStarts[rowCount] = requiredCapacity;
+	}
+
+	@Override
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	@Override
+	public int getColumnCount() {
+		return columnCount;
+	}
+	
+	public int getNonZeroCount() {
+		return rowStarts[rowCount];
+	}
+	
+	/**
+	 * @return The position in the column index and value arrays of the first non-zero element of the row
+	 */
+	public int getRowStart(int row) {
+		return rowStarts[row];
+	}
+
+	/**
+	 * @return The position in the column index and value arrays after the last non-zero element of the row
+	 */
+	public int getRowEnd(int row) {
+		return rowStarts[row + 1];
+	}
+
+	/**
+	 * @return The column indexes of the non-zero elements of all rows - the array may be longer than the number of
+	 * non-zero elements, and is not copied so must not be modified
+	 */
+	public int[] getColumnIndexes() {
+		return columnIndexes;
+	}
+
+	/**
+	 * @return The values of the non-zero elements of all rows - the array may be longer than the number of
+	 * non-zero elements, and is not copied so must not be modified
+	 */
+	public double[] getValues() {
+		return values;
+	}
+	
+	/**
+	 * @return The dot product of the row with a dense array, with work proportional to the number of non-zero elements of the row
+	 */
+	@Override
+	public double dotProduct(int row,double[] denseArray)
+	{
+		return VectorOperations.dotProduct(columnIndexes, values, rowStarts[row], rowStarts[row + 1], denseArray);
+	}
+	
+	@Override
+	public void multiply(int fromRow,int toRow,double[] x,double[] result)
+	{
+		for (int i = fromRow; i < toRow; i++)
+		{
+			result[i - fromRow] = VectorOperations.dotProduct(columnIndexes, values, rowStarts[i], rowStarts[i + 1], x);
+		}
+	}
+	
+	/**
+	 * Adds alpha multiplied by the row to a dense array, with work proportional to the number of non-zero elements of the row
+	 */
+	@Override
+	public void addScaledRow(int row,double alpha,double[] denseArray)
+	{
+		VectorOperations.axpy(alpha, columnIndexes, values, rowStarts[row], rowStarts[row + 1], denseArray);
+	}
+	
+	@Override
+	public void copyRow(int row,double[] denseArray)
+	{
+		Arrays.fill(denseArray, 0, columnCount, 0d);
+		for (int k = rowStarts[row]; k < rowStarts[row + 1]; k++)
+		{
+			denseArray[columnIndexes[k]] = values[k];
+		}
+	}
+	
+	/**
+	 * Populates nonZeroColumnIndexes with the stored column indexes of the row, without examining any other columns
+	 */
+	@Override
+	public int copyNonZeroColumnIndexes(int row,int[] nonZeroColumnIndexes)
+	{
+		int nonZeroCount = rowStarts[row + 1] - rowStarts[row];
+		System.arraycopy(columnIndexes, rowStarts[row], nonZeroColumnIndexes, 0, nonZeroCount);
+		return nonZeroCount;
+	}
+	
+	/**
+	 * Populates columnValues with the value of the column for each row, locating the column in each row by binary 
+	 * search of the row's column indexes
+	 */
+	@Override
+	public void copyColumn(int column,double[] columnValues)
+	{
+		for (int i = 0; i < rowCount; i++)
+		{
+			int position = Arrays.binarySearch(columnIndexes, rowStarts[i], rowStarts[i + 1], column);
+			columnValues[i] = position >= 0 ? values[position] : 0d;
+		}
+	}
+	
+	/**
+	 * @return A new sparse feature matrix containing copies of the selected rows
+	 */
+	@Override
+	public FeatureRows selectRows(int[] rowIndexes)
+	{
+		int nonZeroCount = 0;
+		for (int row : rowIndexes)
+		{
+			nonZeroCount = nonZeroCount + rowStarts[row + 1] - rowStarts[row];
+		}
+		SparseFeatureMatrix selectedRows = new SparseFeatureMatrix(columnCount, rowIndexes.length, nonZeroCount);
+		for (int row : rowIndexes)
+		{
+			selectedRows.addRow(getRow(row));
+		}
+		return selectedRows;
+	}
+	
+	/**
+	 * @return A copy of the row as a sparse vector
+	 */
+	public SparseVector getRow(int row)
+	{
+		int rowStart = rowStarts[row];
+		int rowEnd = rowStarts[row + 1];
+		return new SparseVector(columnCount,Arrays.copyOfRange(columnIndexes, rowStart, rowEnd),Arrays.copyOfRange(values, rowStart, rowEnd));
+	}
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.core;
+/**
+ * Defines a numeric feature of an element of type T with many values, few of which are non-zero for any 
+ * one element - for example a one-hot encoding of a categorical attribute, or word counts of a text attribute
+ * 
+ * @author Michael Lavelle
+ */
+public interface SparseNumericFeatureDefinition<T> extends NumericFeatureDefinition<T> {
+
+	/**
+	 * @return The non-zero feature values of the element, as a sparse vector with dimension getFeatureValueCount()
+	 */
+	SparseVector getSparseFeatureValues(T element);
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.core;
+
+/**
+ * A vector of numeric values stored as the indexes and values of its non-zero elements only,
+ * with indexes in increasing order
+ * 
+ * @author Michael Lavelle
+ */
+public class SparseVector {
+
+	private int dimension;
+	private int[] indexes;
+	private double[] values;
+	
+	/**
+	 * @param dimension The number of elements of the vector, including zero elements
+	 * @param indexes The indexes of the non-zero elements, in increasing order
+	 * @param values The values of the non-zero elements, corresponding to the indexes
+	 */
+	public SparseVector(int dimension,int[] indexes,double[] values)
+	{
+		if (indexes.length != values.length)
+		{
+			throw new IllegalArgumentException("The number of indexes and values must be equal");
+		}
+		for (int k = 0; k < indexes.length; k++)
+		{
+			if (indexes[k] < 0 || indexes[k] >= dimension || (k > 0 && indexes[k] <= indexes[k - 1]))
+			{
+				throw new IllegalArgumentException("Indexes must be in increasing order and less than the dimension " + dimension);
+			}
+		}
+		this.dimension = dimension;
+		this.indexes = indexes;
+		this.values = values;
+	}
+	
+	/**
+	 * @return A sparse vector containing the non-zero elements of the dense array
+	 */
+	public static SparseVector fromDenseArray(double[] denseArray)
+	{
+		int nonZeroCount = 0;
+		for (double value : denseArray)
+		{
+			if (value != 0d) nonZeroCount++;
+		}
+		int[] indexes = new int[nonZeroCount];
+		double[] values = new double[nonZeroCount];
+		int k = 0;
+		for (int index = 0; index < denseArray.length; index++)
+		{
+			if (denseArray[index] != 0d)
+			{
+				indexes[k] = index;
+				values[k++] = denseArray[index];
+			}
+		}
+		return new SparseVector(denseArray.length,indexes,values);
+	}
+
+	public int getDimension() {
+		return dimension;
+	}
+
+	public int getNonZeroCount() {
+		return indexes.length;
+	}
+
+	public int[] getIndexes() {
+		return indexes;
+	}
+
+	public double[] getValues() {
+		return values;
+	}
+	
+	/**
+	 * @return The dot product of this vector with a dense array of the same dimension, 
+	 * with work proportional to the number of non-zero elements
+	 */
+	public double dotProduct(double[] denseArray)
+	{
+		return VectorOperations.dotProduct(indexes, values, 0, indexes.length, denseArray);
+	}
+	
+	public double[] toDenseArray()
+	{
+		double[] denseArray = new double[dimension];
+		for (int k = 0; k < indexes.length; k++)
+		{
+			denseArray[indexes[k]] = values[k];
+		}
+		return denseArray;
+	}
+}
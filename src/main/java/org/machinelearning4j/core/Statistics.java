@@ -22,12 +22,17 @@ import java.util.Arrays;
  * Encapulates statistics for a vector of numbers, such as 
  * mean and stddev.
  * 
+ * Statistics may also be created from a mean and variance calculated elsewhere, for example in a 
+ * single streaming pass over data too large to hold in memory, in which case the median is not available.
+ * 
  * @author Michael Lavelle
  */
 public class Statistics 
 {
     double[] data;
     double size;    
+    private Double mean;
+    private Double variance;
 
     public Statistics(double[] data) 
     {
@@ -35,21 +40,42 @@ public class Statistics
         size = data.length;
     }   
 
+    /**
+     * @param size The number of values the mean and variance were calculated from
+     * @param mean The mean of the values
+     * @param variance The population variance of the values
+     */
+    public Statistics(long size, double mean, double variance) 
+    {
+        this.size = size;
+        this.mean = mean;
+        this.variance = variance;
+    }   
+
     public double getMean()
     {
-        double sum = 0.0;
-        for(double a : data)
-            sum += a;
-            return sum/size;
+        // Calculated once, as the mean is requested for every scaled feature value
+        if (mean == null)
+        {
+            double sum = 0.0;
+            for(double a : data)
+                sum += a;
+            mean = sum/size;
+        }
+        return mean;
     }
 
         double getVariance()
         {
-            double mean = getMean();
-            double temp = 0;
-            for(double a :data)
-                temp += (mean-a)*(mean-a);
-                return temp/size;
+            if (variance == null)
+            {
+                double mean = getMean();
+                double temp = 0;
+                for(double a :data)
+                    temp += (mean-a)*(mean-a);
+                variance = temp/size;
+            }
+            return variance;
         }
 
         public double getStdDev()
@@ -59,6 +85,10 @@ public class Statistics
 
         public double median() 
         {
+               if (data == null)
+               {
+                  throw new IllegalStateException("The median is not available for statistics created from a mean and variance");
+               }
                double[] b = new double[data.length];
                System.arraycopy(data, 0, b, 0, b.length);
                Arrays.sort(b);
@@ -73,4 +103,3 @@ public class Statistics
                }
         }
 }
-
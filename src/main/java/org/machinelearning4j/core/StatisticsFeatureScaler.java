@@ -0,0 +1,30 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.core;
+/**
+ * A feature scaler which can also scale features using previously calculated statistics, without a training set - 
+ * required for feature scaling of streamed training data, which is not held in a training set
+ * 
+ * @author Michael Lavelle
+ */
+public interface StatisticsFeatureScaler extends FeatureScaler {
+
+	/**
+	 * Scales features using previously calculated statistics for each non-intercept feature, for example those 
+	 * gathered while streaming over training data which is not held in a training set
+	 */
+	double[] scaleFeatures(Statistics[] featureStatistics,double[] elementFeatureArrayToScale,boolean firstFeatureIsIntercept);
+}
@@ -32,9 +32,37 @@ public interface TrainingSet<T> {
 	void add(Iterable<T> elements);
 	
 	/**
-	 * @return The numeric features for each element of the training set
+	 * @return The numeric features for each element of the training set - the matrix may be shared with
+	 * other callers, so must not be modified
 	 */
 	double[][] getFeatureMatrix();
+	
+	/**
+	 * @return The numeric features of all the elements of the training set in a single contiguous array in row-major 
+	 * order, feature scaled if feature scaling is configured - the array is the storage of the training set rather 
+	 * than a copy, so must not be modified, and only its first getFeatureValueCount() values are populated
+	 * @throws IllegalStateException If the features are not stored as dense double values, or exceed the maximum 
+	 * size of a single array - the feature rows serve the features of every training set
+	 */
+	double[] getFeatureValues();
+	
+	/**
+	 * @return The number of populated values of the feature values array - the number of elements multiplied by the 
+	 * number of feature values of each element
+	 */
+	int getFeatureValueCount();
+	
+	/**
+	 * @return The numeric features for each element of the training set, in the feature storage of the training 
+	 * set and feature scaled if feature scaling is configured
+	 */
+	FeatureRows getFeatureRows();
+	
+	/**
+	 * @return The numeric features for elements which are not part of the training set, such as elements to make
+	 * predictions for, in the feature storage of the training set and scaled in the same way as the training set
+	 */
+	FeatureRows createFeatureRows(Iterable<T> elements);
 
 
 	/**
@@ -42,6 +70,11 @@ public interface TrainingSet<T> {
 	 */
 	NumericFeatureMapper<T> getFeatureMapper();
 	
+	/**
+	 * @return Whether feature scaling can be configured for the feature storage of the training set
+	 */
+	boolean isFeatureScalingSupported();
+	
 	boolean isFeatureScalingConfigured();
 	
 	boolean isDataFeatureScaled();
@@ -15,43 +15,157 @@
  */
 package org.machinelearning4j.core;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * Default implementation of a TrainingSet
  * 
+ * The feature values of each element are appended to a single contiguous array as the element is added, pre-sized 
+ * from the expected size of the training set and grown by doubling, so that algorithms read the features in place 
+ * through the feature rows without them being rebuilt on each access.  When feature scaling is configured, the values 
+ * are scaled in place the first time the features are accessed, rather than scaled copies being made.
+ * 
+ * The feature rows and the feature matrix are created on first access and retained until more elements are added.  
+ * The feature matrix is a copy of the contiguous values as a separate array for each row, for algorithms written 
+ * against a double[][] - the feature rows, and the column-major view they build for column access, avoid this copy.
+ * 
+ * A single array holds at most about 2^31 values, so once the features of the training set would exceed this the 
+ * values are moved to a separate array for each row, which the feature matrix and the feature rows then share.  The 
+ * contiguous feature values are not available for such a training set.
+ * 
  * @author Michael Lavelle
  */
 public class TrainingSetImpl<T> implements TrainingSet<T> {
 
 	private NumericFeatureMapper<T> numericFeatureMapper;
-	private List<double[]> elementFeatures;
+	private double[] featureValues;
+	private double[][] featureValueRows;
+	private int columnCount;
+	private double[][] featureMatrix;
+	private FeatureRows featureRows;
+	private float[][] singlePrecisionFeatureRows;
+	private int rowCount;
 	protected int size;
 	protected boolean dataIsFeatureScaled;
 	protected FeatureScaler featureScaler;
 	protected Statistics[] featureStatistics;
+	private SparseFeatureMatrix sparseFeatureMatrix;
 	
 	public TrainingSetImpl(NumericFeatureMapper<T> numericFeatureMapper,int size)
 	{
-		this.elementFeatures = new ArrayList<double[]>();
-		this.numericFeatureMapper = numericFeatureMapper;
-		this.size = size;
+		this(numericFeatureMapper,null,size);
 	}
 	
 	public TrainingSetImpl(NumericFeatureMapper<T> numericFeatureMapper,FeatureScaler featureScaler,int size)
 	{
-		this.elementFeatures = new ArrayList<double[]>();
 		this.numericFeatureMapper = numericFeatureMapper;
+		this.columnCount = numericFeatureMapper.getFeatureValueCount();
+		if ((long)Math.max(size, 0) * columnCount > DenseFeatureMatrix.MAX_VALUE_COUNT)
+		{
+			this.featureValueRows = new double[size][];
+		}
+		else
+		{
+			this.featureValues = new double[Math.max(size, 0) * columnCount];
+		}
 		this.featureScaler = featureScaler;
 		this.size = size;
 	}
 	
-	
+	/**
+	 * Creates a training set storing the features of each element as specified by featureStorage.  
+	 * Feature scaling is not supported for sparse feature storage, as it would not preserve the sparsity of the features.
+	 */
+	public TrainingSetImpl(NumericFeatureMapper<T> numericFeatureMapper,FeatureScaler featureScaler,int size,FeatureStorage featureStorage)
+	{
+		this(numericFeatureMapper,featureScaler,size);
+		if (featureStorage == FeatureStorage.SPARSE)
+		{
+			if (featureScaler != null)
+			{
+				throw new IllegalStateException("Feature scaling is not supported with sparse feature storage");
+			}
+			this.featureValues = null;
+			this.featureValueRows = null;
+			this.sparseFeatureMatrix = new SparseFeatureMatrix(numericFeatureMapper.getFeatureValueCount(),size,size);
+		}
+		else if (featureStorage == FeatureStorage.SINGLE_PRECISION)
+		{
+			this.featureValues = null;
+			this.featureValueRows = null;
+			this.singlePrecisionFeatureRows = new float[Math.max(size, 0)][];
+		}
+	}
 	
 	protected void addFeatureValuesForElement(T element)
 	{
-		elementFeatures.add(numericFeatureMapper.getFeatureValues(element));
+		if (sparseFeatureMatrix != null)
+		{
+			sparseFeatureMatrix.addRow(numericFeatureMapper.getSparseFeatureValues(element));
+		}
+		else if (singlePrecisionFeatureRows != null)
+		{
+			double[] featureValues = numericFeatureMapper.getFeatureValues(element);
+			float[] singlePrecisionFeatureValues = new float[featureValues.length];
+			for (int i = 0; i < featureValues.length; i++)
+			{
+				singlePrecisionFeatureValues[i] = (float)featureValues[i];
+			}
+			if (rowCount == singlePrecisionFeatureRows.length)
+			{
+				singlePrecisionFeatureRows = Arrays.copyOf(singlePrecisionFeatureRows, getGrownCapacity(rowCount));
+			}
+			singlePrecisionFeatureRows[rowCount++] = singlePrecisionFeatureValues;
+		}
+		else
+		{
+			if (featureValueRows == null && (long)(rowCount + 1) * columnCount > featureValues.length)
+			{
+				long grownValueCount = Math.min((long)getGrownCapacity(rowCount) * columnCount, DenseFeatureMatrix.MAX_VALUE_COUNT);
+				if (grownValueCount < (long)(rowCount + 1) * columnCount)
+				{
+					moveFeatureValuesToRows();
+				}
+				else
+				{
+					featureValues = Arrays.copyOf(featureValues, (int)grownValueCount);
+				}
+			}
+			if (featureValueRows != null)
+			{
+				if (rowCount == featureValueRows.length)
+				{
+					featureValueRows = Arrays.copyOf(featureValueRows, getGrownCapacity(rowCount));
+				}
+				featureValueRows[rowCount++] = numericFeatureMapper.getFeatureValues(element);
+			}
+			else
+			{
+				System.arraycopy(numericFeatureMapper.getFeatureValues(element), 0, featureValues, rowCount * columnCount, columnCount);
+				rowCount++;
+			}
+			// Views of the previous rows remain valid, but no longer include all the rows
+			featureMatrix = null;
+			featureRows = null;
+		}
+	}
+	
+	/**
+	 * Moves the contiguous feature values to a separate array for each row, once they can no longer be held by a single array
+	 */
+	private void moveFeatureValuesToRows()
+	{
+		featureValueRows = new double[getGrownCapacity(rowCount)][];
+		for (int i = 0; i < rowCount; i++)
+		{
+			featureValueRows[i] = Arrays.copyOfRange(featureValues, i * columnCount, (i + 1) * columnCount);
+		}
+		featureValues = null;
+	}
+	
+	private int getGrownCapacity(int capacity)
+	{
+		return (int)Math.min(Math.max((long)capacity * 2, 16), DenseFeatureMatrix.MAX_VALUE_COUNT);
 	}
 	
 	/**
@@ -75,20 +189,159 @@ public class TrainingSetImpl<T> implements TrainingSet<T> {
 
 	@Override
 	public double[][] getFeatureMatrix() {
-		
-		// TODO. Build up feature matrix as elements are added instead of on feature matrix access
-		
-		double[][] featureMatrix = new double[elementFeatures.size()][];
-		int elementIndex = 0;
-		for (double[] elementFeatureArray : elementFeatures)
+		if (featureMatrix == null && featureValueRows != null)
 		{
-			featureMatrix[elementIndex++] = (featureScaler == null || dataIsFeatureScaled) ? elementFeatureArray : featureScaler.scaleFeatures(this,elementFeatureArray,true);
+			featureMatrix = Arrays.copyOf(getScaledFeatureValueRows(), rowCount);
+		}
+		if (featureMatrix == null)
+		{
+			double[] scaledFeatureValues = getFeatureValues();
+			featureMatrix = new double[rowCount][];
+			for (int i = 0; i < rowCount; i++)
+			{
+				featureMatrix[i] = Arrays.copyOfRange(scaledFeatureValues, i * columnCount, (i + 1) * columnCount);
+			}
 		}
-		if (featureScaler != null) dataIsFeatureScaled = true;
 		return featureMatrix;
 	}
+
+	@Override
+	public double[] getFeatureValues() {
+		
+		if (sparseFeatureMatrix != null)
+		{
+			throw new IllegalStateException("This training set uses sparse feature storage - features must be accessed using the feature rows");
+		}
+		if (singlePrecisionFeatureRows != null)
+		{
+			throw new IllegalStateException("This training set uses single precision feature storage - features must be accessed using the feature rows");
+		}
+		if (featureValueRows != null)
+		{
+			throw new IllegalStateException("The features of this training set exceed the maximum size of a single array - features must be accessed using the feature rows");
+		}
+		if (featureScaler != null && !dataIsFeatureScaled)
+		{
+			// Gather the statistics of the unscaled features before any rows are scaled
+			getFeatureStatistics();
+			double[] rowFeatureValues = new double[columnCount];
+			for (int i = 0; i < rowCount; i++)
+			{
+				System.arraycopy(featureValues, i * columnCount, rowFeatureValues, 0, columnCount);
+				double[] scaledFeatureValues = featureScaler.scaleFeatures(this,rowFeatureValues,true);
+				System.arraycopy(scaledFeatureValues, 0, featureValues, i * columnCount, columnCount);
+			}
+			dataIsFeatureScaled = true;
+		}
+		return featureValues;
+	}
+
+	@Override
+	public int getFeatureValueCount() {
+		if (featureValueRows != null)
+		{
+			throw new IllegalStateException("The features of this training set exceed the maximum size of a single array");
+		}
+		return rowCount * columnCount;
+	}
 	
+	private double[][] getScaledFeatureValueRows() {
+		
+		if (featureScaler != null && !dataIsFeatureScaled)
+		{
+			getFeatureStatistics();
+			for (int i = 0; i < rowCount; i++)
+			{
+				featureScaler.scaleFeatures(this,featureValueRows[i],true);
+			}
+			dataIsFeatureScaled = true;
+		}
+		return featureValueRows;
+	}
 	
+	private float[][] getSinglePrecisionFeatureRows() {
+		
+		if (singlePrecisionFeatureRows.length != rowCount)
+		{
+			singlePrecisionFeatureRows = Arrays.copyOf(singlePrecisionFeatureRows, rowCount);
+		}
+		if (featureScaler != null && !dataIsFeatureScaled)
+		{
+			getFeatureStatistics();
+			for (float[] elementFeatureArray : singlePrecisionFeatureRows)
+			{
+				// Scale in place, via a double precision copy of the row as feature scalers operate on double values
+				double[] scaledFeatureValues = new double[elementFeatureArray.length];
+				for (int i = 0; i < elementFeatureArray.length; i++)
+				{
+					scaledFeatureValues[i] = elementFeatureArray[i];
+				}
+				featureScaler.scaleFeatures(this,scaledFeatureValues,true);
+				for (int i = 0; i < elementFeatureArray.length; i++)
+				{
+					elementFeatureArray[i] = (float)scaledFeatureValues[i];
+				}
+			}
+			dataIsFeatureScaled = true;
+		}
+		return singlePrecisionFeatureRows;
+	}
+
+	@Override
+	public FeatureRows getFeatureRows() {
+		if (sparseFeatureMatrix != null)
+		{
+			return sparseFeatureMatrix;
+		}
+		if (singlePrecisionFeatureRows != null)
+		{
+			return new SinglePrecisionFeatureMatrix(getSinglePrecisionFeatureRows(), numericFeatureMapper.getFeatureValueCount());
+		}
+		if (featureRows == null)
+		{
+			featureRows = featureValueRows != null ? new RowArrayFeatureMatrix(getFeatureMatrix(), columnCount)
+					: new DenseFeatureMatrix(getFeatureValues(), rowCount, columnCount);
+		}
+		return featureRows;
+	}
+
+	/**
+	 * Maps the elements using the feature mapper of this training set, scaling their features with the feature 
+	 * statistics of this training set once its own features have been scaled.  Elements of a training set using single 
+	 * precision feature storage are mapped to double values, as they are not retained.
+	 */
+	@Override
+	public FeatureRows createFeatureRows(Iterable<T> elements) {
+		if (sparseFeatureMatrix != null)
+		{
+			SparseFeatureMatrix featureRows = new SparseFeatureMatrix(numericFeatureMapper.getFeatureValueCount(), 1, 1);
+			for (T element : elements)
+			{
+				featureRows.addRow(numericFeatureMapper.getSparseFeatureValues(element));
+			}
+			return featureRows;
+		}
+		int featureValueCount = numericFeatureMapper.getFeatureValueCount();
+		double[] elementFeatureValues = new double[featureValueCount];
+		int elementCount = 0;
+		for (T element : elements)
+		{
+			double[] featureValues = numericFeatureMapper.getFeatureValues(element);
+			if (featureScaler != null && dataIsFeatureScaled)
+			{
+				featureValues = featureScaler.scaleFeatures(this, featureValues, true);
+			}
+			if ((long)(elementCount + 1) * featureValueCount > elementFeatureValues.length)
+			{
+				elementFeatureValues = Arrays.copyOf(elementFeatureValues, 
+						DenseFeatureMatrix.getValueCount(Math.max(getGrownCapacity(elementCount), elementCount + 1), featureValueCount));
+			}
+			System.arraycopy(featureValues, 0, elementFeatureValues, elementCount * featureValueCount, featureValueCount);
+			elementCount++;
+		}
+		return new DenseFeatureMatrix(elementFeatureValues, elementCount, featureValueCount);
+	}
+
 	public Statistics[] getFeatureStatistics()
 	{
 		// Lazy evaulate feature statistics
@@ -96,18 +349,33 @@ public class TrainingSetImpl<T> implements TrainingSet<T> {
 		{
 			return featureStatistics;
 		}
+		else if (sparseFeatureMatrix != null)
+		{
+			throw new IllegalStateException("Feature statistics are not available for a training set using sparse feature storage");
+		}
 		else
 		{
 			int startIndex = numericFeatureMapper.isHasInterceptFeature() ? 1 : 0;
+			int featureValueCount = numericFeatureMapper.getFeatureValueCount();
 	
-			featureStatistics = new Statistics[elementFeatures.get(0).length - startIndex];
-			for (int featureIndex = startIndex;  featureIndex < (elementFeatures.get(0).length); featureIndex++)
+			featureStatistics = new Statistics[featureValueCount - startIndex];
+			for (int featureIndex = startIndex;  featureIndex < featureValueCount; featureIndex++)
 			{
-				double[] allFeatureValues = new double[elementFeatures.size()];
-				int elementIndex = 0;
-				for (double[] elementFeaturesArray : elementFeatures)
+				double[] allFeatureValues = new double[rowCount];
+				for (int elementIndex = 0; elementIndex < rowCount; elementIndex++)
 				{
-					allFeatureValues[elementIndex++] = elementFeaturesArray[featureIndex];
+					if (singlePrecisionFeatureRows != null)
+					{
+						allFeatureValues[elementIndex] = singlePrecisionFeatureRows[elementIndex][featureIndex];
+					}
+					else if (featureValueRows != null)
+					{
+						allFeatureValues[elementIndex] = featureValueRows[elementIndex][featureIndex];
+					}
+					else
+					{
+						allFeatureValues[elementIndex] = featureValues[elementIndex * featureValueCount + featureIndex];
+					}
 				}
 				int featInd = numericFeatureMapper.isHasInterceptFeature()  ? (featureIndex - 1) : featureIndex;
 				featureStatistics[featInd] = new Statistics(allFeatureValues);
@@ -123,6 +391,11 @@ public class TrainingSetImpl<T> implements TrainingSet<T> {
 
 
 
+	@Override
+	public boolean isFeatureScalingSupported() {
+		return sparseFeatureMatrix == null;
+	}
+
 	@Override
 	public boolean isFeatureScalingConfigured() {
 		return featureScaler != null;
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.core;
+
+/**
+ * Dense vector kernels used by the hypothesis functions and gradient calculations - dot products,
+ * axpy (y = alpha * x + y), scaled addition and row-block matrix-vector products.
+ *
+ * A dot product accumulated into a single sum forms a chain of dependent floating point additions which
+ * the JIT cannot reorder, so each addition waits for the previous one to complete.  The dot products here 
+ * are accumulated into four independent partial sums, combined at the end, allowing the additions to be 
+ * pipelined.  The matrix-vector product instead computes four rows at a time, so that each element of the 
+ * vector is loaded once for the four rows and the sum for each row is accumulated in the same order as a 
+ * sequential dot product.  The element-wise kernels have no dependencies between iterations and are left as 
+ * simple loops for the JIT to unroll and vectorise.
+ *
+ * The sparse kernels operate on the non-zero elements of a vector given as parallel index and value arrays,
+ * gathering from or scattering into a dense vector, so their work is proportional to the number of non-zero
+ * elements.  The sparse dot product is accumulated sequentially over the non-zero elements, so a sparse row scores 
+ * equally to the same row stored densely only up to rounding - the dense dot product sums in a different order.
+ *
+ * The JDK Vector API is not available at this project's Java 6 source level, so the kernels are plain scalar 
+ * code shaped so that the JIT's own loop unrolling and superword optimisations can apply.
+ *
+ * @author Michael Lavelle
+ */
+public final class VectorOperations {
+
+	private static final int MATRIX_VECTOR_ROW_BLOCK_SIZE = 4;
+
+	private VectorOperations() {
+	}
+
+	/**
+	 * @return The dot product of a and b, over the length of a
+	 */
+	public static double dotProduct(double[] a, double[] b) {
+		return dotProduct(a, 0, b, 0, a.length);
+	}
+
+	/**
+	 * @return The dot product of the length elements of a starting at aOffset with the length elements
+	 * of b starting at bOffset
+	 */
+	public static double dotProduct(double[] a, int aOffset, double[] b, int bOffset, int length) {
+		double sum0 = 0d;
+		double sum1 = 0d;
+		double sum2 = 0d;
+		double sum3 = 0d;
+		int unrolledLength = length & ~3;
+		int j = 0;
+		for (; j < unrolledLength; j += 4) {
+			sum0 = sum0 + a[aOffset + j] * b[bOffset + j];
+			sum1 = sum1 + a[aOffset + j + 1] * b[bOffset + j + 1];
+			sum2 = sum2 + a[aOffset + j + 2] * b[bOffset + j + 2];
+			sum3 = sum3 + a[aOffset + j + 3] * b[bOffset + j + 3];
+		}
+		for (; j < length; j++) {
+			sum0 = sum0 + a[aOffset + j] * b[bOffset + j];
+		}
+		return (sum0 + sum1) + (sum2 + sum3);
+	}
+
+	/**
+	 * @return The dot product of a and the float values b, over the length of a, accumulated in double precision
+	 */
+	public static double dotProduct(double[] a, float[] b) {
+		double sum0 = 0d;
+		double sum1 = 0d;
+		double sum2 = 0d;
+		double sum3 = 0d;
+		int length = a.length;
+		int unrolledLength = length & ~3;
+		int j = 0;
+		for (; j < unrolledLength; j += 4) {
+			sum0 = sum0 + a[j] * b[j];
+			sum1 = sum1 + a[j + 1] * b[j + 1];
+			sum2 = sum2 + a[j + 2] * b[j + 2];
+			sum3 = sum3 + a[j + 3] * b[j + 3];
+		}
+		for (; j < length; j++) {
+			sum0 = sum0 + a[j] * b[j];
+		}
+		return (sum0 + sum1) + (sum2 + sum3);
+	}
+
+	/**
+	 * @return The dot product of the sparse vector with non-zero values at positions from (inclusive) to 
+	 * to (exclusive) of the index and value arrays with the dense vector x
+	 */
+	public static double dotProduct(int[] indexes, double[] values, int from, int to, double[] x) {
+		double sum = 0d;
+		for (int k = from; k < to; k++) {
+			sum = sum + values[k] * x[indexes[k]];
+		}
+		return sum;
+	}
+
+	/**
+	 * Adds alpha * x to y, over the length of x
+	 */
+	public static void axpy(double alpha, double[] x, double[] y) {
+		axpy(alpha, x, y, 0);
+	}
+
+	/**
+	 * Adds alpha * x to the elements of y starting at yOffset, over the length of x
+	 */
+	public static void axpy(double alpha, double[] x, double[] y, int yOffset) {
+		for (int j = 0; j < x.length; j++) {
+			y[yOffset + j] = y[yOffset + j] + alpha * x[j];
+		}
+	}
+
+	/**
+	 * Adds alpha * x to y for the length elements of x starting at xOffset
+	 */
+	public static void axpy(double alpha, double[] x, int xOffset, double[] y, int length) {
+		for (int j = 0; j < length; j++) {
+			y[j] = y[j] + alpha * x[xOffset + j];
+		}
+	}
+
+	/**
+	 * Adds alpha * x to y for the float values x, over the length of x
+	 */
+	public static void axpy(double alpha, float[] x, double[] y) {
+		for (int j = 0; j < x.length; j++) {
+			y[j] = y[j] + alpha * x[j];
+		}
+	}
+
+	/**
+	 * Adds alpha * x to the dense vector y for the sparse vector x with non-zero values at positions 
+	 * from (inclusive) to to (exclusive) of the index and value arrays
+	 */
+	public static void axpy(double alpha, int[] indexes, double[] values, int from, int to, double[] y) {
+		for (int k = from; k < to; k++) {
+			y[indexes[k]] = y[indexes[k]] + alpha * values[k];
+		}
+	}
+
+	/**
+	 * Sets y to beta * y + alpha * x, over the length of y
+	 */
+	public static void scaledAdd(double beta, double[] y, double alpha, double[] x) {
+		for (int j = 0; j < y.length; j++) {
+			y[j] = beta * y[j] + alpha * x[j];
+		}
+	}
+
+	/**
+	 * Multiplies each element of x by alpha
+	 */
+	public static void scale(double alpha, double[] x) {
+		for (int j = 0; j < x.length; j++) {
+			x[j] = alpha * x[j];
+		}
+	}
+
+	/**
+	 * Populates result with the products of rows fromRow (inclusive) to toRow (exclusive) of the matrix
+	 * with the vector x, so that result[i - fromRow] is the dot product of row i with x - the matrix values
+	 * are stored contiguously in row-major order, with row i starting at i * columnCount
+	 */
+	public static void multiply(double[] matrix, int columnCount, int fromRow, int toRow, double[] x, double[] result) {
+		int i = fromRow;
+		for (; i + MATRIX_VECTOR_ROW_BLOCK_SIZE <= toRow; i += MATRIX_VECTOR_ROW_BLOCK_SIZE) {
+			int offset0 = i * columnCount;
+			int offset1 = offset0 + columnCount;
+			int offset2 = offset1 + columnCount;
+			int offset3 = offset2 + columnCount;
+			double sum0 = 0d;
+			double sum1 = 0d;
+			double sum2 = 0d;
+			double sum3 = 0d;
+			for (int j = 0; j < columnCount; j++) {
+				double value = x[j];
+				sum0 = sum0 + value * matrix[offset0 + j];
+				sum1 = sum1 + value * matrix[offset1 + j];
+				sum2 = sum2 + value * matrix[offset2 + j];
+				sum3 = sum3 + value * matrix[offset3 + j];
+			}
+			result[i - fromRow] = sum0;
+			result[i + 1 - fromRow] = sum1;
+			result[i + 2 - fromRow] = sum2;
+			result[i + 3 - fromRow] = sum3;
+		}
+		for (; i < toRow; i++) {
+			int offset = i * columnCount;
+			double sum = 0d;
+			for (int j = 0; j < columnCount; j++) {
+				sum = sum + x[j] * matrix[offset + j];
+			}
+			result[i - fromRow] = sum;
+		}
+	}
+
+}
@@ -16,7 +16,6 @@
 package org.machinelearning4j.core.unsupervisedlearning;
 
 import org.machinelearning4j.core.AbstractTrainingSetBuilder;
-import org.machinelearning4j.core.NumericFeatureMapper;
 import org.machinelearning4j.core.TrainingSet;
 import org.machinelearning4j.core.TrainingSetImpl;
 
@@ -33,14 +32,12 @@ public class UnlabeledTrainingSetBuilder<T> extends AbstractTrainingSetBuilder<T
 		super(size,false);
 	}
 
-	protected NumericFeatureMapper<T> numericFeatureMapper;
-
 	/**
 	 * @return An unlabeled TrainingSet for elements of type T
 	 */
 	public TrainingSet<T> build()
 	{
-		return new TrainingSetImpl<T>(numericFeatureMapper,featureScaler,size);
+		return new TrainingSetImpl<T>(numericFeatureMapper,featureScaler,size,featureStorage);
 	}
 
 	@Override
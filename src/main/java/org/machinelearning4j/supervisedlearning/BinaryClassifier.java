@@ -16,21 +16,33 @@
 package org.machinelearning4j.supervisedlearning;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionAlgorithm;
 import org.machinelearning4j.algorithms.supervisedlearning.NumericHypothesisFunction;
+import org.machinelearning4j.algorithms.supervisedlearning.OnlineRegressionAlgorithm;
+import org.machinelearning4j.core.FeatureRows;
 /**
  * Classifying LabelPredictor - predicts a classification of type L (where there are exactly
  * two exclusive values the classification can take ) with an associated
  * prediction probability
  * 
+ * The logistic regression algorithm is trained, and makes predictions, using the feature rows of the training set, so 
+ * training sets using sparse or single precision feature storage are trained on rows in that storage.
+ * 
+ * Once trained, the classifier can be updated online with newly labeled elements if the algorithm is also an 
+ * OnlineRegressionAlgorithm.  Updates are applied to a copy of the hypothesis function, which then replaces the 
+ * current hypothesis function atomically, so predictions may continue concurrently with updates and always use a 
+ * single consistent version of the hypothesis function.
+ * 
  * @author Michael Lavelle
  */
 public class BinaryClassifier<T,L,C> implements Classifier<T,L,C> {
 
 	private LabeledTrainingSet<T, L> labeledTrainingSet;
 	private LogisticRegressionAlgorithm<C> logisticRegressionAlgorithm;
-	private NumericHypothesisFunction hypothesisFunction;
+	private volatile NumericHypothesisFunction hypothesisFunction;
 	private double decisionBoundaryProbabilityThreshold = 0.5d;
 	private L negativeClass;
 	private L positiveClass;
@@ -39,7 +51,7 @@ public class BinaryClassifier<T,L,C> implements Classifier<T,L,C> {
 	public BinaryClassifier(
 			LabeledTrainingSet<T, L> labeledTrainingSet,
 			LogisticRegressionAlgorithm<C> logisticRegressionAlgorithm,NumericLabelMapper<L> labelMapper,L negativeClass,L positiveClass) {
-			if (!labeledTrainingSet.isFeatureScalingConfigured())
+			if (labeledTrainingSet.isFeatureScalingSupported() && !labeledTrainingSet.isFeatureScalingConfigured())
 			{
 				throw new IllegalStateException("Logistic regression algorithm requires " +
 						"that feature scaling is configured for the training set");
@@ -54,20 +66,30 @@ public class BinaryClassifier<T,L,C> implements Classifier<T,L,C> {
 	@Override
 	public void train(C trainingContext) {
 		
-		double[][] featureMatrix = labeledTrainingSet.getFeatureMatrix();
+		// Obtain the feature rows first, as feature scaling is applied when they are built
+		FeatureRows featureRows = labeledTrainingSet.getFeatureRows();
 		
-		if (!labeledTrainingSet.isDataFeatureScaled())
+		if (labeledTrainingSet.isFeatureScalingSupported() && !labeledTrainingSet.isDataFeatureScaled())
 		{
 			throw new IllegalStateException("Logistic regression algorithm requires " +
 					"that the data in the training set has been feature scaled");
 		}	
 		
-		hypothesisFunction = logisticRegressionAlgorithm.train(featureMatrix, labelMapper.getLabelValues(labeledTrainingSet.getLabels()),trainingContext);
+		hypothesisFunction = logisticRegressionAlgorithm.train(featureRows, labelMapper.getLabelValues(labeledTrainingSet.getLabels()),trainingContext);
 	}
 	
 	protected ClassificationProbability<L> predictLabel(double[] featureValues)
 	{
-		Double positiveClassProbability = logisticRegressionAlgorithm.predictLabel(featureValues , hypothesisFunction);
+		return predictLabel(featureValues, hypothesisFunction);
+	}
+	
+	private ClassificationProbability<L> predictLabel(double[] featureValues, NumericHypothesisFunction hypothesisFunction)
+	{
+		return getClassificationProbability(logisticRegressionAlgorithm.predictLabel(featureValues , hypothesisFunction));
+	}
+	
+	private ClassificationProbability<L> getClassificationProbability(Double positiveClassProbability)
+	{
 		if (positiveClassProbability == null)
 		{
 			return null;
@@ -88,13 +110,56 @@ public class BinaryClassifier<T,L,C> implements Classifier<T,L,C> {
 	@Override
 	public ClassificationProbability<L> predictLabel(T element) {
 
-		double[] featureValues = labeledTrainingSet.getFeatureMapper().getFeatureValues(element);
-		if (labeledTrainingSet.isFeatureScalingConfigured() && labeledTrainingSet.isDataFeatureScaled())
+		NumericHypothesisFunction currentHypothesisFunction = hypothesisFunction;
+		FeatureRows featureRows = labeledTrainingSet.createFeatureRows(Collections.singletonList(element));
+		return getClassificationProbability(logisticRegressionAlgorithm.predictLabel(featureRows, 0, currentHypothesisFunction));
+		
+	}
+	
+	/**
+	 * Updates the trained classifier online with a single newly labeled element
+	 * 
+	 * @param learningRateAlpha The learning rate for the stochastic gradient descent step for the element
+	 */
+	public void update(T element, L label, double learningRateAlpha)
+	{
+		update(Collections.singletonList(element), Collections.singletonList(label), learningRateAlpha);
+	}
+	
+	/**
+	 * Updates the trained classifier online with newly labeled elements, applying a stochastic gradient descent 
+	 * step for each element in order, and replacing the hypothesis function once all the steps have been applied.
+	 * 
+	 * Features are scaled using the feature statistics of the training set.  Concurrent updates are applied one 
+	 * after another.  The training set itself is not modified.
+	 * 
+	 * @param learningRateAlpha The learning rate for the stochastic gradient descent step for each element
+	 */
+	public synchronized void update(List<T> elements, List<L> labels, double learningRateAlpha)
+	{
+		if (hypothesisFunction == null)
 		{
-			featureValues = labeledTrainingSet.getFeatureScaler().scaleFeatures(labeledTrainingSet, featureValues,true);
+			throw new IllegalStateException("Classifier must be trained before it can be updated");
 		}
-		return predictLabel(featureValues);
-		
+		if (!(logisticRegressionAlgorithm instanceof OnlineRegressionAlgorithm))
+		{
+			throw new IllegalStateException("Online updates require a logistic regression algorithm which supports online updates");
+		}
+		if (elements.size() != labels.size())
+		{
+			throw new IllegalArgumentException("A label must be specified for each element");
+		}
+		hypothesisFunction = ((OnlineRegressionAlgorithm)logisticRegressionAlgorithm).update(hypothesisFunction, 
+				labeledTrainingSet.createFeatureRows(elements), 
+				labelMapper.getLabelValues(labels), learningRateAlpha);
+	}
+
+	/**
+	 * @return The hypothesis function learned by the most recent training, or null if not yet trained - 
+	 * which can be used as the starting point for retraining
+	 */
+	public NumericHypothesisFunction getHypothesisFunction() {
+		return hypothesisFunction;
 	}
 
 	public void setDecisionBoundaryProbabilityThreshold(
@@ -105,12 +170,14 @@ public class BinaryClassifier<T,L,C> implements Classifier<T,L,C> {
 	public double getTrainingSetPredictionAccuracyPercentage()
 	{
 		double predictedCorrect = 0;
+		NumericHypothesisFunction currentHypothesisFunction = hypothesisFunction;
 		double[] actualLabelValues = labelMapper.getLabelValues(labeledTrainingSet.getLabels());
-		int trainingExampleIndex = 0;
-		for (double[] elementFeatures :labeledTrainingSet.getFeatureMatrix())
+		FeatureRows featureRows = labeledTrainingSet.getFeatureRows();
+		for (int trainingExampleIndex = 0; trainingExampleIndex < actualLabelValues.length; trainingExampleIndex++)
 		{
-			ClassificationProbability<L> prediction = predictLabel(elementFeatures);
-			double actualLabelValue = actualLabelValues[trainingExampleIndex++];
+			ClassificationProbability<L> prediction = getClassificationProbability(
+					logisticRegressionAlgorithm.predictLabel(featureRows, trainingExampleIndex, currentHypothesisFunction));
+			double actualLabelValue = actualLabelValues[trainingExampleIndex];
 			@SuppressWarnings("unchecked")
 			double predictedLabelValue = labelMapper.getLabelValues(Arrays.asList(prediction.getClassification()))[0];
 			if (predictedLabelValue == actualLabelValue)
@@ -118,7 +185,7 @@ public class BinaryClassifier<T,L,C> implements Classifier<T,L,C> {
 				predictedCorrect++;
 			}
 		}
-		return 100 * predictedCorrect/labeledTrainingSet.getFeatureMatrix().length;
+		return 100 * predictedCorrect/actualLabelValues.length;
 	}
 
 }
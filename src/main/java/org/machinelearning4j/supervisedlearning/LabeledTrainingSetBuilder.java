@@ -16,6 +16,8 @@
 package org.machinelearning4j.supervisedlearning;
 
 import org.machinelearning4j.core.AbstractTrainingSetBuilder;
+import org.machinelearning4j.core.FeatureStorage;
+import org.machinelearning4j.util.TrainingSetDataSource;
 
 /**
  * Encapsulates the building of a LabeledTrainingSet.  To define a training set
@@ -49,7 +51,22 @@ public class LabeledTrainingSetBuilder<T,L> extends AbstractTrainingSetBuilder<T
 	 */
 	public LabeledTrainingSet<T,L> build()
 	{
-		return new LabeledTrainingSetImpl<T,L>(numericFeatureMapper,featureScaler,labelDefinition,size);
+		return new LabeledTrainingSetImpl<T,L>(numericFeatureMapper,featureScaler,labelDefinition,size,featureStorage);
+	}
+
+	/**
+	 * @param dataSource The source of the elements of the training set, which is streamed each time
+	 * the elements are required rather than being held in memory
+	 * 
+	 * @return A StreamingLabeledTrainingSet for elements of type T with labels of type L
+	 */
+	public StreamingLabeledTrainingSet<T,L> buildStreaming(TrainingSetDataSource<T,? extends Iterable<T>> dataSource)
+	{
+		if (featureStorage != FeatureStorage.DENSE)
+		{
+			throw new IllegalStateException("Feature storage options are not applicable to streaming training sets");
+		}
+		return new StreamingLabeledTrainingSet<T,L>(dataSource,numericFeatureMapper,featureScaler,labelDefinition);
 	}
 
 	@Override
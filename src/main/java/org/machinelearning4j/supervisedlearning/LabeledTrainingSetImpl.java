@@ -19,6 +19,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.machinelearning4j.core.FeatureScaler;
+import org.machinelearning4j.core.FeatureStorage;
 import org.machinelearning4j.core.NumericFeatureMapper;
 import org.machinelearning4j.core.TrainingSetImpl;
 
@@ -46,6 +47,17 @@ public class LabeledTrainingSetImpl<T,L>  extends TrainingSetImpl<T> implements
 		this.labelDefinition = labelDefinition;
 	}
 	
+	/**
+	 * Creates a training set storing the features of each element as specified by featureStorage.  
+	 * Feature scaling is not supported for sparse feature storage, as it would not preserve the sparsity of the features.
+	 */
+	public LabeledTrainingSetImpl(NumericFeatureMapper<T> numericFeatureMapper,FeatureScaler featureScaler,LabelDefinition<T,L> labelDefinition,int size,FeatureStorage featureStorage)
+	{
+		super(numericFeatureMapper,featureScaler,size,featureStorage);
+		this.labels = new ArrayList<L>();
+		this.labelDefinition = labelDefinition;
+	}
+	
 	protected void addLabelForElement(T element)
 	{
 		labels.add(labelDefinition.getLabel(element));
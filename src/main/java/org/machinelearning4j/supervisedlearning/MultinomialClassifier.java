@@ -0,0 +1,165 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.supervisedlearning;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.machinelearning4j.algorithms.supervisedlearning.SoftmaxRegressionAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.SoftmaxRegressionHypothesisFunction;
+import org.machinelearning4j.core.FeatureRows;
+/**
+ * Classifying LabelPredictor - predicts a classification of type L (where there are any number of
+ * mutually exclusive values the classification can take) with an associated prediction probability,
+ * using a softmax regression algorithm which trains a model for all classes together
+ * 
+ * @author Michael Lavelle
+ */
+public class MultinomialClassifier<T,L,C> implements Classifier<T,L,C> {
+
+	private LabeledTrainingSet<T, L> labeledTrainingSet;
+	private SoftmaxRegressionAlgorithm<C> softmaxRegressionAlgorithm;
+	private SoftmaxRegressionHypothesisFunction hypothesisFunction;
+	private List<L> classes;
+	private Map<L,Integer> classIndexes;
+	
+	/**
+	 * @param classes The values the classification can take - each label in the training set must be one of these classes
+	 */
+	public MultinomialClassifier(
+			LabeledTrainingSet<T, L> labeledTrainingSet,
+			SoftmaxRegressionAlgorithm<C> softmaxRegressionAlgorithm,List<L> classes) {
+			if (labeledTrainingSet.isFeatureScalingSupported() && !labeledTrainingSet.isFeatureScalingConfigured())
+			{
+				throw new IllegalStateException("Softmax regression algorithm requires " +
+						"that feature scaling is configured for the training set");
+			}
+			if (classes.size() < 2)
+			{
+				throw new IllegalArgumentException("At least 2 classes are required for classification");
+			}
+			this.labeledTrainingSet = labeledTrainingSet;
+			this.softmaxRegressionAlgorithm = softmaxRegressionAlgorithm;
+			this.classes = new ArrayList<L>(classes);
+			this.classIndexes = new HashMap<L,Integer>();
+			for (int classIndex = 0; classIndex < classes.size(); classIndex++)
+			{
+				classIndexes.put(classes.get(classIndex), classIndex);
+			}
+	}
+
+	@Override
+	public void train(C trainingContext) {
+		
+		// Obtain the feature rows first, as feature scaling is applied when they are built
+		FeatureRows featureRows = labeledTrainingSet.getFeatureRows();
+		
+		if (labeledTrainingSet.isFeatureScalingSupported() && !labeledTrainingSet.isDataFeatureScaled())
+		{
+			throw new IllegalStateException("Softmax regression algorithm requires " +
+					"that the data in the training set has been feature scaled");
+		}	
+		
+		hypothesisFunction = softmaxRegressionAlgorithm.train(featureRows, getLabelClassIndexes(labeledTrainingSet.getLabels()),classes.size(),trainingContext);
+	}
+
+	private int[] getLabelClassIndexes(List<L> labels)
+	{
+		int[] labelClassIndexes = new int[labels.size()];
+		int labelIndex = 0;
+		for (L label : labels)
+		{
+			Integer classIndex = classIndexes.get(label);
+			if (classIndex == null)
+			{
+				throw new IllegalStateException("Training set label " + label + " is not one of the classes of this classifier");
+			}
+			labelClassIndexes[labelIndex++] = classIndex.intValue();
+		}
+		return labelClassIndexes;
+	}
+	
+	protected ClassificationProbability<L> predictLabel(double[] featureValues)
+	{
+		double[] classProbabilities = softmaxRegressionAlgorithm.predictClassProbabilities(featureValues, hypothesisFunction);
+		int predictedClassIndex = 0;
+		for (int classIndex = 1; classIndex < classProbabilities.length; classIndex++)
+		{
+			if (classProbabilities[classIndex] > classProbabilities[predictedClassIndex])
+			{
+				predictedClassIndex = classIndex;
+			}
+		}
+		return new ClassificationProbability<L>(classes.get(predictedClassIndex),classProbabilities[predictedClassIndex]);
+	}
+	
+	@Override
+	public ClassificationProbability<L> predictLabel(T element) {
+		return predictLabel(getScaledFeatureValues(element));
+	}
+
+	/**
+	 * @return The predicted probability of each class for the element, in the order of the classes of this classifier
+	 */
+	public List<ClassificationProbability<L>> predictClassificationProbabilities(T element) {
+		double[] classProbabilities = softmaxRegressionAlgorithm.predictClassProbabilities(getScaledFeatureValues(element), hypothesisFunction);
+		List<ClassificationProbability<L>> classificationProbabilities = new ArrayList<ClassificationProbability<L>>(classes.size());
+		for (int classIndex = 0; classIndex < classProbabilities.length; classIndex++)
+		{
+			classificationProbabilities.add(new ClassificationProbability<L>(classes.get(classIndex),classProbabilities[classIndex]));
+		}
+		return classificationProbabilities;
+	}
+
+	private double[] getScaledFeatureValues(T element)
+	{
+		double[] featureValues = labeledTrainingSet.getFeatureMapper().getFeatureValues(element);
+		if (labeledTrainingSet.isFeatureScalingConfigured() && labeledTrainingSet.isDataFeatureScaled())
+		{
+			featureValues = labeledTrainingSet.getFeatureScaler().scaleFeatures(labeledTrainingSet, featureValues,true);
+		}
+		return featureValues;
+	}
+	
+	/**
+	 * @return The hypothesis function learned by the most recent training, or null if not yet trained - 
+	 * which can be used as the starting point for retraining
+	 */
+	public SoftmaxRegressionHypothesisFunction getHypothesisFunction() {
+		return hypothesisFunction;
+	}
+
+	public double getTrainingSetPredictionAccuracyPercentage()
+	{
+		double predictedCorrect = 0;
+		int[] actualLabelClassIndexes = getLabelClassIndexes(labeledTrainingSet.getLabels());
+		FeatureRows featureRows = labeledTrainingSet.getFeatureRows();
+		double[] elementFeatures = new double[featureRows.getColumnCount()];
+		for (int trainingExampleIndex = 0; trainingExampleIndex < actualLabelClassIndexes.length; trainingExampleIndex++)
+		{
+			featureRows.copyRow(trainingExampleIndex, elementFeatures);
+			ClassificationProbability<L> prediction = predictLabel(elementFeatures);
+			if (classIndexes.get(prediction.getClassification()).intValue() == actualLabelClassIndexes[trainingExampleIndex])
+			{
+				predictedCorrect++;
+			}
+		}
+		return 100 * predictedCorrect/actualLabelClassIndexes.length;
+	}
+
+}
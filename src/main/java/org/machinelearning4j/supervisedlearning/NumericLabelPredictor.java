@@ -15,12 +15,27 @@
  */
 package org.machinelearning4j.supervisedlearning;
 
+import java.util.Collections;
+import java.util.List;
+
 import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionAlgorithm;
 import org.machinelearning4j.algorithms.supervisedlearning.NumericHypothesisFunction;
+import org.machinelearning4j.algorithms.supervisedlearning.OnlineRegressionAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.RegularizationPathRegressionAlgorithm;
+import org.machinelearning4j.core.FeatureRows;
 
 /**
  *  Trainable component which learns to predict numeric labels from elements of type T,
  *  using a linear regression algorithm
+ *  
+ *  The algorithm is trained, and makes predictions, using the feature rows of the training set, so training 
+ *  sets using sparse feature storage are trained on their sparse rows.  As sparse feature storage does not 
+ *  support feature scaling, algorithms requiring feature scaled data can be used with it only for features 
+ *  which are already on comparable scales.
+ *  
+ *  Once trained, the predictor can be updated online with newly labeled elements if the algorithm is also an 
+ *  OnlineRegressionAlgorithm, with predictions continuing concurrently against the previous hypothesis function 
+ *  until the updated hypothesis function replaces it.
  * 
  * @author Michael Lavelle
  */
@@ -29,7 +44,7 @@ public class NumericLabelPredictor<T,L,C> implements
 
 	private LinearRegressionAlgorithm<C> linearRegressionAlgorithm;
 	
-	private NumericHypothesisFunction hypothesisFunction;
+	private volatile NumericHypothesisFunction hypothesisFunction;
 	
 	private LabeledTrainingSet<T, L> labeledTrainingSet;
 	
@@ -43,7 +58,8 @@ public class NumericLabelPredictor<T,L,C> implements
 		this.labeledTrainingSet = labeledTrainingSet;
 		this.labelMapper = labelMapper;
 		
-		if (!labeledTrainingSet.isFeatureScalingConfigured() && linearRegressionAlgorithm.isFeatureScaledDataRequired())
+		if (labeledTrainingSet.isFeatureScalingSupported() && !labeledTrainingSet.isFeatureScalingConfigured() 
+				&& linearRegressionAlgorithm.isFeatureScaledDataRequired())
 		{
 			throw new IllegalStateException("This regression algorithm requires " +
 					"that feature scaling is configured for the training set");
@@ -58,13 +74,38 @@ public class NumericLabelPredictor<T,L,C> implements
 	@Override
 	public void train(C trainingContext) {
 		
-		if (!labeledTrainingSet.isDataFeatureScaled() && linearRegressionAlgorithm.isFeatureScaledDataRequired())
+		hypothesisFunction = linearRegressionAlgorithm.train(getFeatureRows(), labelMapper.getLabelValues(labeledTrainingSet.getLabels()),trainingContext);
+	}
+
+	/**
+	 * Trains a hypothesis function for each of a sequence of regularization lambdas, using the data within the 
+	 * labeledTrainingSet, for selecting a lambda by validation.  The hypothesis function used by this predictor 
+	 * is not changed.
+	 * 
+	 * @return The hypothesis functions for each lambda, in the order of the lambdas
+	 */
+	public NumericHypothesisFunction[] trainRegularizationPath(double[] regularizationLambdas) {
+		if (!(linearRegressionAlgorithm instanceof RegularizationPathRegressionAlgorithm))
+		{
+			throw new IllegalStateException("A regularization path requires a linear regression algorithm which supports regularization paths");
+		}
+		
+		return ((RegularizationPathRegressionAlgorithm)linearRegressionAlgorithm).trainRegularizationPath(getFeatureRows(), 
+				labelMapper.getLabelValues(labeledTrainingSet.getLabels()), regularizationLambdas);
+	}
+
+	private FeatureRows getFeatureRows()
+	{
+		// Obtain the feature rows first, as feature scaling is applied when they are built
+		FeatureRows featureRows = labeledTrainingSet.getFeatureRows();
+		
+		if (labeledTrainingSet.isFeatureScalingSupported() && !labeledTrainingSet.isDataFeatureScaled() 
+				&& linearRegressionAlgorithm.isFeatureScaledDataRequired())
 		{
 			throw new IllegalStateException("This regression algorithm requires " +
 					"that the data in the training set has been feature scaled");
-		}	
-		
-		hypothesisFunction = linearRegressionAlgorithm.train(labeledTrainingSet.getFeatureMatrix(), labelMapper.getLabelValues(labeledTrainingSet.getLabels()),trainingContext);
+		}
+		return featureRows;
 	}
 
 	/**
@@ -73,12 +114,52 @@ public class NumericLabelPredictor<T,L,C> implements
 	 */
 	@Override
 	public Number predictLabel(T element) {
-		double[] featureValues = labeledTrainingSet.getFeatureMapper().getFeatureValues(element);
-		if (labeledTrainingSet.isFeatureScalingConfigured() && labeledTrainingSet.isDataFeatureScaled())
+		return linearRegressionAlgorithm.predictLabel(labeledTrainingSet.createFeatureRows(Collections.singletonList(element)), 
+				0, hypothesisFunction);
+	}
+	
+	/**
+	 * Updates the trained predictor online with a single newly labeled element
+	 * 
+	 * @param learningRateAlpha The learning rate for the stochastic gradient descent step for the element
+	 */
+	public void update(T element, L label, double learningRateAlpha)
+	{
+		update(Collections.singletonList(element), Collections.singletonList(label), learningRateAlpha);
+	}
+	
+	/**
+	 * Updates the trained predictor online with newly labeled elements, applying a stochastic gradient descent 
+	 * step for each element in order, and replacing the hypothesis function once all the steps have been applied.
+	 * Concurrent updates are applied one after another.  The training set itself is not modified.
+	 * 
+	 * @param learningRateAlpha The learning rate for the stochastic gradient descent step for each element
+	 */
+	public synchronized void update(List<T> elements, List<L> labels, double learningRateAlpha)
+	{
+		if (hypothesisFunction == null)
+		{
+			throw new IllegalStateException("Predictor must be trained before it can be updated");
+		}
+		if (!(linearRegressionAlgorithm instanceof OnlineRegressionAlgorithm))
+		{
+			throw new IllegalStateException("Online updates require a linear regression algorithm which supports online updates");
+		}
+		if (elements.size() != labels.size())
 		{
-			featureValues = labeledTrainingSet.getFeatureScaler().scaleFeatures(labeledTrainingSet, featureValues,true);
+			throw new IllegalArgumentException("A label must be specified for each element");
 		}
-		return linearRegressionAlgorithm.predictLabel(featureValues, hypothesisFunction);
+		hypothesisFunction = ((OnlineRegressionAlgorithm)linearRegressionAlgorithm).update(hypothesisFunction, 
+				labeledTrainingSet.createFeatureRows(elements), 
+				labelMapper.getLabelValues(labels), learningRateAlpha);
+	}
+
+	/**
+	 * @return The hypothesis function learned by the most recent training, or null if not yet trained - 
+	 * which can be used as the starting point for retraining
+	 */
+	public NumericHypothesisFunction getHypothesisFunction() {
+		return hypothesisFunction;
 	}
 
 }
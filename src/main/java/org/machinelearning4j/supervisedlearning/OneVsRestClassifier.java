@@ -0,0 +1,238 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.supervisedlearning;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.NumericHypothesisFunction;
+import org.machinelearning4j.core.FeatureRows;
+/**
+ * Classifying LabelPredictor - predicts a classification of type L (where there are any number of
+ * mutually exclusive values the classification can take) with an associated prediction probability,
+ * using a binary logistic regression model for each class which separates that class from all other classes.
+ * 
+ * The binary models are trained concurrently on a thread pool, all reading the same feature matrix obtained once
+ * from the training set, with the label values of every model derived in a single pass over the training set labels.
+ * 
+ * The predicted classification is the class whose model predicts the highest probability, and the associated probability
+ * is that model's prediction.  As the models are trained independently, the probabilities predicted for all classes are not
+ * required to sum to 1.
+ * 
+ * @author Michael Lavelle
+ */
+public class OneVsRestClassifier<T,L,C> implements Classifier<T,L,OneVsRestTrainingContext<L,C>> {
+
+	private LabeledTrainingSet<T, L> labeledTrainingSet;
+	private LogisticRegressionAlgorithm<C> logisticRegressionAlgorithm;
+	private List<L> classes;
+	private List<NumericHypothesisFunction> hypothesisFunctions;
+	
+	/**
+	 * @param classes The values the classification can take - each label in the training set must be one of these classes
+	 */
+	public OneVsRestClassifier(
+			LabeledTrainingSet<T, L> labeledTrainingSet,
+			LogisticRegressionAlgorithm<C> logisticRegressionAlgorithm,List<L> classes) {
+			if (!labeledTrainingSet.isFeatureScalingConfigured())
+			{
+				throw new IllegalStateException("Logistic regression algorithm requires " +
+						"that feature scaling is configured for the training set");
+			}
+			if (classes.size() < 2)
+			{
+				throw new IllegalArgumentException("At least 2 classes are required for classification");
+			}
+			this.labeledTrainingSet = labeledTrainingSet;
+			this.logisticRegressionAlgorithm = logisticRegressionAlgorithm;
+			this.classes = new ArrayList<L>(classes);
+	}
+
+	@Override
+	public void train(OneVsRestTrainingContext<L,C> trainingContext) {
+		
+		// Obtain the feature rows first, as feature scaling is applied when they are built - the rows
+		// are read-only, so are shared by the training of all the classes
+		final FeatureRows featureRows = labeledTrainingSet.getFeatureRows();
+		
+		if (!labeledTrainingSet.isDataFeatureScaled())
+		{
+			throw new IllegalStateException("Logistic regression algorithm requires " +
+					"that the data in the training set has been feature scaled");
+		}	
+		
+		double[][] classLabelVectors = getClassLabelVectors(labeledTrainingSet.getLabels());
+		
+		ExecutorService executorService = Executors.newFixedThreadPool(Math.min(trainingContext.getNumberOfThreads(), classes.size()));
+		try
+		{
+			List<Future<NumericHypothesisFunction>> trainingResults = new ArrayList<Future<NumericHypothesisFunction>>(classes.size());
+			for (int classIndex = 0; classIndex < classes.size(); classIndex++)
+			{
+				final double[] labelVector = classLabelVectors[classIndex];
+				final C classTrainingContext = trainingContext.getTrainingContext(classes.get(classIndex));
+				trainingResults.add(executorService.submit(new Callable<NumericHypothesisFunction>() {
+					@Override
+					public NumericHypothesisFunction call() {
+						return logisticRegressionAlgorithm.train(featureRows, labelVector, classTrainingContext);
+					}
+				}));
+			}
+			List<NumericHypothesisFunction> trainedHypothesisFunctions = new ArrayList<NumericHypothesisFunction>(classes.size());
+			for (Future<NumericHypothesisFunction> trainingResult : trainingResults)
+			{
+				trainedHypothesisFunctions.add(getResult(trainingResult));
+			}
+			hypothesisFunctions = trainedHypothesisFunctions;
+		}
+		finally
+		{
+			executorService.shutdownNow();
+		}
+	}
+
+	private NumericHypothesisFunction getResult(Future<NumericHypothesisFunction> trainingResult) {
+		try {
+			return trainingResult.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException)
+			{
+				throw (RuntimeException)e.getCause();
+			}
+			throw new RuntimeException(e.getCause());
+		}
+	}
+
+	/**
+	 * @return A label vector for each class, with value 1 for training examples of that class and 0 otherwise
+	 */
+	private double[][] getClassLabelVectors(List<L> labels)
+	{
+		double[][] classLabelVectors = new double[classes.size()][labels.size()];
+		int labelIndex = 0;
+		for (L label : labels)
+		{
+			int classIndex = classes.indexOf(label);
+			if (classIndex == -1)
+			{
+				throw new IllegalStateException("Training set label " + label + " is not one of the classes of this classifier");
+			}
+			classLabelVectors[classIndex][labelIndex++] = 1d;
+		}
+		return classLabelVectors;
+	}
+	
+	protected ClassificationProbability<L> predictLabel(double[] featureValues)
+	{
+		if (hypothesisFunctions == null)
+		{
+			throw new IllegalStateException("Classifier has not been trained");
+		}
+		int predictedClassIndex = 0;
+		double predictedClassProbability = 0d;
+		for (int classIndex = 0; classIndex < classes.size(); classIndex++)
+		{
+			double classProbability = logisticRegressionAlgorithm.predictLabel(featureValues, hypothesisFunctions.get(classIndex)).doubleValue();
+			if (classIndex == 0 || classProbability > predictedClassProbability)
+			{
+				predictedClassIndex = classIndex;
+				predictedClassProbability = classProbability;
+			}
+		}
+		return new ClassificationProbability<L>(classes.get(predictedClassIndex),predictedClassProbability);
+	}
+	
+	@Override
+	public ClassificationProbability<L> predictLabel(T element) {
+		return predictLabel(getScaledFeatureValues(element));
+	}
+
+	/**
+	 * @return The probability predicted by the model of each class for the element, in the order of the classes of this classifier
+	 */
+	public List<ClassificationProbability<L>> predictClassificationProbabilities(T element) {
+		if (hypothesisFunctions == null)
+		{
+			throw new IllegalStateException("Classifier has not been trained");
+		}
+		double[] featureValues = getScaledFeatureValues(element);
+		List<ClassificationProbability<L>> classificationProbabilities = new ArrayList<ClassificationProbability<L>>(classes.size());
+		for (int classIndex = 0; classIndex < classes.size(); classIndex++)
+		{
+			classificationProbabilities.add(new ClassificationProbability<L>(classes.get(classIndex),
+					logisticRegressionAlgorithm.predictLabel(featureValues, hypothesisFunctions.get(classIndex)).doubleValue()));
+		}
+		return classificationProbabilities;
+	}
+
+	/**
+	 * Maps and scales the features of the element once, for use by the models of all classes
+	 */
+	private double[] getScaledFeatureValues(T element)
+	{
+		double[] featureValues = labeledTrainingSet.getFeatureMapper().getFeatureValues(element);
+		if (labeledTrainingSet.isFeatureScalingConfigured() && labeledTrainingSet.isDataFeatureScaled())
+		{
+			featureValues = labeledTrainingSet.getFeatureScaler().scaleFeatures(labeledTrainingSet, featureValues,true);
+		}
+		return featureValues;
+	}
+	
+	/**
+	 * @return The hypothesis function of the binary model for the classification learned by the most recent training - 
+	 * which can be used as the starting point for retraining
+	 */
+	public NumericHypothesisFunction getHypothesisFunction(L classification) {
+		if (hypothesisFunctions == null)
+		{
+			throw new IllegalStateException("Classifier has not been trained");
+		}
+		int classIndex = classes.indexOf(classification);
+		if (classIndex == -1)
+		{
+			throw new IllegalArgumentException("Classification " + classification + " is not one of the classes of this classifier");
+		}
+		return hypothesisFunctions.get(classIndex);
+	}
+
+	public double getTrainingSetPredictionAccuracyPercentage()
+	{
+		double predictedCorrect = 0;
+		List<L> actualLabels = labeledTrainingSet.getLabels();
+		FeatureRows featureRows = labeledTrainingSet.getFeatureRows();
+		double[] elementFeatures = new double[featureRows.getColumnCount()];
+		for (int trainingExampleIndex = 0; trainingExampleIndex < featureRows.getRowCount(); trainingExampleIndex++)
+		{
+			featureRows.copyRow(trainingExampleIndex, elementFeatures);
+			ClassificationProbability<L> prediction = predictLabel(elementFeatures);
+			if (prediction.getClassification().equals(actualLabels.get(trainingExampleIndex)))
+			{
+				predictedCorrect++;
+			}
+		}
+		return 100 * predictedCorrect/featureRows.getRowCount();
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.supervisedlearning;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Training context for a one-vs-rest classifier, holding the training context used to train the binary
+ * model for each class, and the number of threads across which the binary models are trained concurrently.
+ * 
+ * As the binary models are trained concurrently, a separate training context instance (and any update rule or 
+ * convergence criteria it holds) must be set for each class.
+ * 
+ * @author Michael Lavelle
+ */
+public class OneVsRestTrainingContext<L,C> {
+
+	private int numberOfThreads;
+	private Map<L,C> trainingContexts;
+	
+	/**
+	 * @param numberOfThreads The maximum number of binary models to train concurrently
+	 */
+	public OneVsRestTrainingContext(int numberOfThreads)
+	{
+		if (numberOfThreads < 1)
+		{
+			throw new IllegalArgumentException("Number of threads must be at least 1");
+		}
+		this.numberOfThreads = numberOfThreads;
+		this.trainingContexts = new HashMap<L,C>();
+	}
+
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+
+	/**
+	 * @return The training context for the binary model which separates the classification from all other classes
+	 */
+	public C getTrainingContext(L classification) {
+		C trainingContext = trainingContexts.get(classification);
+		if (trainingContext == null)
+		{
+			throw new IllegalStateException("No training context has been set for classification " + classification);
+		}
+		return trainingContext;
+	}
+
+	public void setTrainingContext(L classification, C trainingContext) {
+		this.trainingContexts.put(classification, trainingContext);
+	}
+
+}
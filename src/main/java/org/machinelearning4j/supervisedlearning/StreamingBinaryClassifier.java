@@ -0,0 +1,125 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.supervisedlearning;
+
+import java.util.Collections;
+
+import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.NumericHypothesisFunction;
+import org.machinelearning4j.algorithms.supervisedlearning.StreamingRegressionAlgorithm;
+
+/**
+ * A classifier for a binary classification problem, trained with a logistic regression algorithm on elements
+ * streamed from a StreamingLabeledTrainingSet, so that the training data need not fit in memory.
+ * 
+ * The logistic regression algorithm must also be a StreamingRegressionAlgorithm.
+ * 
+ * @author Michael Lavelle
+ */
+public class StreamingBinaryClassifier<T, L, C> implements Classifier<T, L, C> {
+
+	private StreamingLabeledTrainingSet<T, L> trainingSet;
+	private LogisticRegressionAlgorithm<C> logisticRegressionAlgorithm;
+	private NumericHypothesisFunction hypothesisFunction;
+	private double decisionBoundaryProbabilityThreshold = 0.5d;
+	private L negativeClass;
+	private L positiveClass;
+	private NumericLabelMapper<L> labelMapper;
+	
+	public StreamingBinaryClassifier(
+			StreamingLabeledTrainingSet<T, L> trainingSet,
+			LogisticRegressionAlgorithm<C> logisticRegressionAlgorithm,NumericLabelMapper<L> labelMapper,L negativeClass,L positiveClass) {
+		if (!(logisticRegressionAlgorithm instanceof StreamingRegressionAlgorithm))
+		{
+			throw new IllegalStateException("Streaming training sets require " +
+					"a logistic regression algorithm which supports streamed training examples");
+		}
+		if (!trainingSet.isFeatureScalingConfigured())
+		{
+			throw new IllegalStateException("Logistic regression algorithm requires " +
+					"that feature scaling is configured for the training set");
+		}
+		this.trainingSet = trainingSet;
+		this.logisticRegressionAlgorithm = logisticRegressionAlgorithm;
+		this.labelMapper = labelMapper;
+		this.negativeClass = negativeClass;
+		this.positiveClass = positiveClass;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void train(C trainingContext) {
+		hypothesisFunction = ((StreamingRegressionAlgorithm<C>)logisticRegressionAlgorithm).train(
+				trainingSet.getTrainingExampleStream(labelMapper), trainingContext);
+	}
+
+	private ClassificationProbability<L> predictLabel(double[] featureValues)
+	{
+		double positiveClassProbability = logisticRegressionAlgorithm.predictLabel(featureValues, hypothesisFunction).doubleValue();
+		if (positiveClassProbability >= decisionBoundaryProbabilityThreshold)
+		{
+			return new ClassificationProbability<L>(positiveClass,positiveClassProbability);
+		}
+		else
+		{
+			return new ClassificationProbability<L>(negativeClass,1d - positiveClassProbability);
+		}
+	}
+
+	@Override
+	public ClassificationProbability<L> predictLabel(T element) {
+		if (hypothesisFunction == null)
+		{
+			throw new IllegalStateException("Classifier has not been trained");
+		}
+		return predictLabel(trainingSet.getFeatureValues(element));
+	}
+
+	/**
+	 * @return The hypothesis function learned by the most recent training, or null if not yet trained - 
+	 * which can be used as the starting point for retraining
+	 */
+	public NumericHypothesisFunction getHypothesisFunction() {
+		return hypothesisFunction;
+	}
+
+	public void setDecisionBoundaryProbabilityThreshold(
+			double decisionBoundaryProbabilityThreshold) {
+		this.decisionBoundaryProbabilityThreshold = decisionBoundaryProbabilityThreshold;
+	}
+
+	/**
+	 * Calculated in a streaming pass over the training set
+	 */
+	@Override
+	public double getTrainingSetPredictionAccuracyPercentage() {
+		double predictedCorrect = 0;
+		long elementCount = 0;
+		for (T element : trainingSet.getElements())
+		{
+			L prediction = predictLabel(element).getClassification();
+			double actualLabelValue = labelMapper.getLabelValues(Collections.singletonList(trainingSet.getLabel(element)))[0];
+			double predictedLabelValue = labelMapper.getLabelValues(Collections.singletonList(prediction))[0];
+			if (predictedLabelValue == actualLabelValue)
+			{
+				predictedCorrect++;
+			}
+			elementCount++;
+		}
+		return 100 * predictedCorrect/elementCount;
+	}
+
+}
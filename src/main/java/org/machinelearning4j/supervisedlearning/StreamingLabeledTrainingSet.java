@@ -0,0 +1,202 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.supervisedlearning;
+
+import java.io.Closeable;
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.machinelearning4j.algorithms.supervisedlearning.TrainingExample;
+import org.machinelearning4j.algorithms.supervisedlearning.TrainingExampleStream;
+import org.machinelearning4j.core.FeatureScaler;
+import org.machinelearning4j.core.FeatureStatisticsAccumulator;
+import org.machinelearning4j.core.NumericFeatureMapper;
+import org.machinelearning4j.core.Statistics;
+import org.machinelearning4j.core.StatisticsFeatureScaler;
+import org.machinelearning4j.util.Iterators;
+import org.machinelearning4j.util.TrainingSetDataSource;
+
+/**
+ * A labeled training set whose elements are streamed from a TrainingSetDataSource each time they are required,
+ * rather than being held in memory, so that the size of the training data is not limited by the heap.
+ * 
+ * Features are mapped, and scaled if feature scaling is configured, as each element is streamed.  The number
+ * of elements and the feature statistics used for scaling are gathered in a single streaming pass the first time
+ * they are required.  The data source must return the same elements, in the same order, on each pass.
+ * 
+ * @author Michael Lavelle
+ */
+public class StreamingLabeledTrainingSet<T,L> {
+
+	private TrainingSetDataSource<T,? extends Iterable<T>> dataSource;
+	private NumericFeatureMapper<T> numericFeatureMapper;
+	private StatisticsFeatureScaler featureScaler;
+	private LabelDefinition<T,L> labelDefinition;
+	private Statistics[] featureStatistics;
+	private long size;
+	
+	/**
+	 * @param featureScaler The feature scaler, or null if features are not scaled - as the elements are not held in a 
+	 * training set, the feature scaler must be a StatisticsFeatureScaler
+	 */
+	public StreamingLabeledTrainingSet(TrainingSetDataSource<T,? extends Iterable<T>> dataSource,NumericFeatureMapper<T> numericFeatureMapper,
+			FeatureScaler featureScaler,LabelDefinition<T,L> labelDefinition)
+	{
+		if (featureScaler != null && !(featureScaler instanceof StatisticsFeatureScaler))
+		{
+			throw new IllegalArgumentException("Feature scaling of streamed elements requires a StatisticsFeatureScaler, which can scale "
+					+ "features without a training set");
+		}
+		this.dataSource = dataSource;
+		this.numericFeatureMapper = numericFeatureMapper;
+		this.featureScaler = (StatisticsFeatureScaler)featureScaler;
+		this.labelDefinition = labelDefinition;
+	}
+	
+	private void gatherStatisticsIfRequired()
+	{
+		if (featureStatistics == null)
+		{
+			FeatureStatisticsAccumulator accumulator = new FeatureStatisticsAccumulator(numericFeatureMapper.getFeatureValueCount(),
+					numericFeatureMapper.isHasInterceptFeature());
+			Iterator<T> elements = dataSource.getData().iterator();
+			try
+			{
+				while (elements.hasNext())
+				{
+					accumulator.add(numericFeatureMapper.getFeatureValues(elements.next()));
+				}
+			}
+			finally
+			{
+				Iterators.closeIfCloseable(elements);
+			}
+			size = accumulator.getCount();
+			featureStatistics = accumulator.getFeatureStatistics();
+		}
+	}
+	
+	/**
+	 * @return The statistics of each non-intercept feature, gathered in a streaming pass over the data source
+	 */
+	public Statistics[] getFeatureStatistics()
+	{
+		gatherStatisticsIfRequired();
+		return featureStatistics;
+	}
+	
+	/**
+	 * @return The number of elements in the data source, counted in a streaming pass over the data source
+	 */
+	public long getSize()
+	{
+		gatherStatisticsIfRequired();
+		return size;
+	}
+	
+	/**
+	 * @return The feature values of the element, scaled if feature scaling is configured
+	 */
+	public double[] getFeatureValues(T element)
+	{
+		double[] featureValues = numericFeatureMapper.getFeatureValues(element);
+		if (featureScaler != null)
+		{
+			featureValues = featureScaler.scaleFeatures(getFeatureStatistics(), featureValues, numericFeatureMapper.isHasInterceptFeature());
+		}
+		return featureValues;
+	}
+	
+	public L getLabel(T element)
+	{
+		return labelDefinition.getLabel(element);
+	}
+	
+	/**
+	 * @return The elements of the data source, streamed as they are iterated over
+	 */
+	public Iterable<T> getElements()
+	{
+		return dataSource.getData();
+	}
+	
+	/**
+	 * @return A stream of training examples with the feature values and numeric label values of each element,
+	 * mapped as the elements are streamed - each iterator is Closeable, closing the iterator of the data source
+	 */
+	public TrainingExampleStream getTrainingExampleStream(final NumericLabelMapper<L> labelMapper)
+	{
+		return new TrainingExampleStream() {
+			
+			@Override
+			public Iterator<TrainingExample> iterator() {
+				final Iterator<T> elements = getElements().iterator();
+				return new CloseableTrainingExampleIterator() {
+					@Override
+					public boolean hasNext() {
+						return elements.hasNext();
+					}
+
+					@Override
+					public TrainingExample next() {
+						T element = elements.next();
+						double labelValue = labelMapper.getLabelValues(Collections.singletonList(getLabel(element)))[0];
+						return new TrainingExample(getFeatureValues(element), labelValue);
+					}
+
+					@Override
+					public void remove() {
+						throw new UnsupportedOperationException();
+					}
+
+					@Override
+					public void close() {
+						Iterators.closeIfCloseable(elements);
+					}
+				};
+			}
+			
+			@Override
+			public long getTrainingExampleCount() {
+				return getSize();
+			}
+			
+			@Override
+			public int getFeatureValueCount() {
+				return numericFeatureMapper.getFeatureValueCount();
+			}
+		};
+	}
+
+	public NumericFeatureMapper<T> getFeatureMapper() {
+		return numericFeatureMapper;
+	}
+
+	public boolean isFeatureScalingConfigured() {
+		return featureScaler != null;
+	}
+
+	public FeatureScaler getFeatureScaler() {
+		return featureScaler;
+	}
+
+	private interface CloseableTrainingExampleIterator extends Iterator<TrainingExample>, Closeable {
+		
+		@Override
+		void close();
+	}
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.supervisedlearning;
+
+import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.NumericHypothesisFunction;
+import org.machinelearning4j.algorithms.supervisedlearning.StreamingRegressionAlgorithm;
+
+/**
+ *  Trainable component which learns to predict numeric labels from elements of type T streamed from a 
+ *  StreamingLabeledTrainingSet, using a linear regression algorithm, so that the training data need not fit in memory.
+ *  
+ *  The linear regression algorithm must also be a StreamingRegressionAlgorithm.
+ * 
+ * @author Michael Lavelle
+ */
+public class StreamingNumericLabelPredictor<T,L,C> implements
+		LabelPredictor<T, Number,C> {
+
+	private StreamingLabeledTrainingSet<T, L> trainingSet;
+	private LinearRegressionAlgorithm<C> linearRegressionAlgorithm;
+	private NumericHypothesisFunction hypothesisFunction;
+	private NumericLabelMapper<L> labelMapper;
+
+	public StreamingNumericLabelPredictor(
+			StreamingLabeledTrainingSet<T, L> trainingSet,NumericLabelMapper<L> labelMapper,
+			LinearRegressionAlgorithm<C> linearRegressionAlgorithm) {
+		if (!(linearRegressionAlgorithm instanceof StreamingRegressionAlgorithm))
+		{
+			throw new IllegalStateException("Streaming training sets require " +
+					"a linear regression algorithm which supports streamed training examples");
+		}
+		if (!trainingSet.isFeatureScalingConfigured() && linearRegressionAlgorithm.isFeatureScaledDataRequired())
+		{
+			throw new IllegalStateException("This regression algorithm requires " +
+					"that feature scaling is configured for the training set");
+		}
+		this.trainingSet = trainingSet;
+		this.labelMapper = labelMapper;
+		this.linearRegressionAlgorithm = linearRegressionAlgorithm;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void train(C trainingContext) {
+		hypothesisFunction = ((StreamingRegressionAlgorithm<C>)linearRegressionAlgorithm).train(
+				trainingSet.getTrainingExampleStream(labelMapper), trainingContext);
+	}
+
+	@Override
+	public Number predictLabel(T element) {
+		if (hypothesisFunction == null)
+		{
+			throw new IllegalStateException("Predictor has not been trained");
+		}
+		return linearRegressionAlgorithm.predictLabel(trainingSet.getFeatureValues(element), hypothesisFunction);
+	}
+
+	/**
+	 * @return The hypothesis function learned by the most recent training, or null if not yet trained
+	 */
+	public NumericHypothesisFunction getHypothesisFunction() {
+		return hypothesisFunction;
+	}
+
+}
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Helpers for iterators over streamed data, which may hold resources such as an open file until they are 
+ * exhausted.  Such iterators implement Closeable, so that a consumer which stops iterating before the end of the 
+ * data - or fails part way through - can release the resources in a finally block.
+ * 
+ * @author Michael Lavelle
+ */
+public final class Iterators {
+
+	private Iterators() {
+	}
+
+	/**
+	 * Closes the iterator if it implements Closeable, ignoring any failure to close so as not to mask an exception 
+	 * thrown while iterating
+	 */
+	public static void closeIfCloseable(Iterator<?> iterator) {
+		if (iterator instanceof Closeable)
+		{
+			try {
+				((Closeable)iterator).close();
+			} catch (IOException e) {}
+		}
+	}
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2014 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.machinelearning4j.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams elements of type T from a file accessible via a class loader, reading and parsing one line
+ * at a time so that the file need not fit in memory.
+ * 
+ * Each iterator obtained from the data returned by getData() makes a new pass over the file, which 
+ * is closed once the iterator has been exhausted or an element cannot be created.  The iterators implement Closeable, 
+ * so that a consumer which stops before the end of the file can close it - see Iterators.closeIfCloseable().
+ * 
+ * Uses a CsvDataExtractor to parse csv attributes into an element
+ * 
+ * @author Michael Lavelle
+ */
+public class StreamingCsvFileClassloaderDataSource<T> implements TrainingSetDataSource<T,Iterable<T>> {
+
+	private CsvDataExtractor<T> dataExtractor;
+	private String filePath;
+	private ClassLoader classLoader;
+	
+	/**
+	 * @param filePath The file path relative to the classLoader from which to load the data
+	 * @param classLoader A classloader to be used to load files
+	 * @param dataExtractor A data extractor defining how to parse csv attributes into elements
+	 */
+	public StreamingCsvFileClassloaderDataSource(String filePath,ClassLoader classLoader,CsvDataExtractor<T> dataExtractor) 
+	{
+		this.dataExtractor = dataExtractor;
+		this.filePath = filePath;
+		this.classLoader = classLoader;
+	}
+	
+	/**
+	 * @return The elements from the csv file, read from the file as they are iterated over
+	 */
+	public Iterable<T> getData()
+	{
+		return new Iterable<T>() {
+			@Override
+			public Iterator<T> iterator() {
+				return new CsvFileIterator();
+			}
+		};
+	}
+	
+	private class CsvFileIterator implements Iterator<T>, Closeable {
+
+		private BufferedReader bufferedReader;
+		private String nextLine;
+
+		private CsvFileIterator()
+		{
+			InputStream is = classLoader.getResourceAsStream(filePath);
+			try
+			{
+				if (is == null) throw new FileNotFoundException(filePath);
+				bufferedReader = new BufferedReader(new InputStreamReader(is));
+				nextLine = bufferedReader.readLine();
+				if (nextLine == null) close();
+			}
+			catch (IOException e)
+			{
+				close(is);
+				throw new RuntimeException(e);
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			return nextLine != null;
+		}
+
+		@Override
+		public T next() {
+			if (nextLine == null)
+			{
+				throw new NoSuchElementException();
+			}
+			String[] parts = nextLine.split(",");
+			try
+			{
+				nextLine = bufferedReader.readLine();
+			}
+			catch (IOException e)
+			{
+				close();
+				throw new RuntimeException(e);
+			}
+			if (nextLine == null) close();
+			try
+			{
+				return dataExtractor.createData(parts);
+			}
+			catch (RuntimeException e)
+			{
+				close();
+				throw e;
+			}
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		/**
+		 * Closes the file, after which the iterator has no more elements
+		 */
+		@Override
+		public void close()
+		{
+			nextLine = null;
+			close(bufferedReader);
+		}
+
+		private void close(Closeable closeable)
+		{
+			try {
+				if (closeable != null) closeable.close();
+			} catch (IOException e) {}
+		}
+	}
+	
+}
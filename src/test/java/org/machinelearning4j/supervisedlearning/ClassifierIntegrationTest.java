@@ -17,7 +17,10 @@ package org.machinelearning4j.supervisedlearning;
 
 import java.math.BigDecimal;
 import java.math.MathContext;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 
 import junit.framework.Assert;
 
@@ -25,12 +28,23 @@ import org.junit.Before;
 import org.junit.Test;
 import org.machinelearning4j.algorithms.AlgorithmFactory;
 import org.machinelearning4j.algorithms.DefaultAlgorithmFactory;
+import org.machinelearning4j.algorithms.supervisedlearning.AdamGradientDescentUpdateRule;
+import org.machinelearning4j.algorithms.supervisedlearning.ElasticNetTrainingContext;
 import org.machinelearning4j.algorithms.supervisedlearning.GradientDescentAlgorithmTrainingContext;
 import org.machinelearning4j.algorithms.supervisedlearning.LogisticRegressionAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.MiniBatchGradientDescentAlgorithmTrainingContext;
 import org.machinelearning4j.algorithms.supervisedlearning.MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria;
+import org.machinelearning4j.algorithms.supervisedlearning.NumericHypothesisFunction;
+import org.machinelearning4j.algorithms.supervisedlearning.SoftmaxRegressionAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.ThetaWeightedHypothesisFunction;
+import org.machinelearning4j.algorithms.supervisedlearning.ValidationSetEarlyStoppingConvergenceCriteria;
 import org.machinelearning4j.core.Builders;
 import org.machinelearning4j.core.DefaultFeatureScaler;
+import org.machinelearning4j.core.SinglePrecisionFeatureMatrix;
+import org.machinelearning4j.core.SparseFeatureMatrix;
+import org.machinelearning4j.core.SparseVector;
 import org.machinelearning4j.util.CsvFileClassloaderDataSource;
+import org.machinelearning4j.util.StreamingCsvFileClassloaderDataSource;
 import org.machinelearning4j.util.TrainingSetDataSource;
 
 /**
@@ -143,6 +157,672 @@ public class ClassifierIntegrationTest {
 
 	}
 	
+	@Test
+	public void testClassificationPrediction_WithParallelLogisticRegressionAlgorithm()
+	{
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createParallelLogisticRegressionAlgorithm(4);
+		
+		GradientDescentAlgorithmTrainingContext trainingContext = new GradientDescentAlgorithmTrainingContext(1000);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setLearningRateAlpha(1d);
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(100);
+		trainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(5,0.0001d));
+		
+		assertAdmissionStatusPrediction(logisticRegressionAlgorithm, trainingContext, 3, "0.776", 89d);
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithHogwildLogisticRegressionAlgorithm()
+	{
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createHogwildLogisticRegressionAlgorithm(4);
+		
+		// Each iteration is a pass of one of the 4 worker threads over the training examples
+		GradientDescentAlgorithmTrainingContext trainingContext = new GradientDescentAlgorithmTrainingContext(20000);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setLearningRateAlpha(0.005d);
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(1000);
+		trainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(5,0.001d));
+		
+		LabeledTrainingSet<Application,AdmissionStatus> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.build();
+		BinaryClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext> admissionStatusPredictor = 
+				new BinaryClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext>(labeledTrainingSet,logisticRegressionAlgorithm,new AdmissionStatusLabelMapper(),AdmissionStatus.NOT_ACCEPTED,AdmissionStatus.ACCEPTED);
+		labeledTrainingSet.add(previousApplications);
+		admissionStatusPredictor.train(trainingContext);
+		Assert.assertTrue(trainingContext.getCurrentIteration() <= trainingContext.getMaxIterations());
+		
+		// Asynchronous updates are not deterministic, and leave the thetas close to, but not exactly at, 
+		// the minimum of the cost function, so we compare the predicted probability and accuracy approximately
+		ClassificationProbability<AdmissionStatus> predicitedAdmissionStatus = admissionStatusPredictor.predictLabel(new Application(new ExamScores(45,85)));
+		Assert.assertEquals(AdmissionStatus.ACCEPTED,predicitedAdmissionStatus.getClassification());
+		Assert.assertEquals(0.776d, predicitedAdmissionStatus.getProbability(), 0.02d);
+		Assert.assertTrue(admissionStatusPredictor.getTrainingSetPredictionAccuracyPercentage() >= 89d);
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithMiniBatchLogisticRegressionAlgorithm()
+	{
+		LogisticRegressionAlgorithm<MiniBatchGradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createMiniBatchLogisticRegressionAlgorithm();
+		
+		// Each iteration is an epoch over shuffled mini-batches of 10 examples
+		MiniBatchGradientDescentAlgorithmTrainingContext trainingContext = new MiniBatchGradientDescentAlgorithmTrainingContext(1000,10);
+		trainingContext.setShuffleSeed(1L);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setLearningRateAlpha(1d);
+		trainingContext.setLearningRateDecay(0.01d);
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(50);
+		trainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(5,0.01d));
+		
+		// Mini-batch updates leave the thetas close to, but not exactly at, the minimum of the cost function,
+		// so we compare the predicted probability to fewer significant figures
+		assertAdmissionStatusPrediction(logisticRegressionAlgorithm, trainingContext, 2, "0.77", 89d);
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithLimitedMemoryBFGSLogisticRegressionAlgorithm()
+	{
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createLimitedMemoryBFGSLogisticRegressionAlgorithm();
+		
+		// No learning rate is required, and convergence is expected within far fewer iterations
+		GradientDescentAlgorithmTrainingContext trainingContext = new GradientDescentAlgorithmTrainingContext(100);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(5);
+		trainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(5,0.0001d));
+		
+		assertAdmissionStatusPrediction(logisticRegressionAlgorithm, trainingContext, 3, "0.776", 89d);
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithNewtonLogisticRegressionAlgorithm()
+	{
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createNewtonLogisticRegressionAlgorithm();
+		
+		// No learning rate is required, and we take a cost function snapshot after every iteration
+		GradientDescentAlgorithmTrainingContext trainingContext = new GradientDescentAlgorithmTrainingContext(20);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(1);
+		trainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(5,0.0001d));
+		
+		assertAdmissionStatusPrediction(logisticRegressionAlgorithm, trainingContext, 3, "0.776", 89d);
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithNewtonLogisticRegressionAlgorithmAndSeparableData()
+	{
+		LabeledTrainingSet<Application,AdmissionStatus> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.build();
+		labeledTrainingSet.add(createSeparableApplications());
+		
+		BinaryClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext> admissionStatusPredictor = 
+				new BinaryClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext>(labeledTrainingSet,
+						algorithmFactory.createNewtonLogisticRegressionAlgorithm(),new AdmissionStatusLabelMapper(),AdmissionStatus.NOT_ACCEPTED,AdmissionStatus.ACCEPTED);
+		
+		// Without regularization the thetas grow without bound as the predicted probabilities saturate, making the
+		// Hessian numerically singular - the Hessian is damped and the steps halved so that the cost keeps decreasing
+		// until it can no longer be decreased to within numerical precision
+		GradientDescentAlgorithmTrainingContext trainingContext = new GradientDescentAlgorithmTrainingContext(1000);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(1);
+		trainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(5,0.0001d));
+		
+		admissionStatusPredictor.train(trainingContext);
+		
+		List<Double> costFunctionSnapshots = trainingContext.getCostFunctionSnapshotHistory();
+		for (int i = 1; i < costFunctionSnapshots.size(); i++)
+		{
+			Assert.assertTrue(costFunctionSnapshots.get(i) <= costFunctionSnapshots.get(i - 1));
+		}
+		Assert.assertEquals(100d, admissionStatusPredictor.getTrainingSetPredictionAccuracyPercentage());
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithElasticNetLogisticRegressionAlgorithm()
+	{
+		LabeledTrainingSet<Application,AdmissionStatus> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.build();
+		
+		LogisticRegressionAlgorithm<ElasticNetTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createElasticNetLogisticRegressionAlgorithm();
+		
+		BinaryClassifier<Application,AdmissionStatus,ElasticNetTrainingContext> admissionStatusPredictor = 
+				new BinaryClassifier<Application,AdmissionStatus,ElasticNetTrainingContext>(labeledTrainingSet,logisticRegressionAlgorithm,new AdmissionStatusLabelMapper(),AdmissionStatus.NOT_ACCEPTED,AdmissionStatus.ACCEPTED);
+		
+		labeledTrainingSet.add(previousApplications);
+		
+		// Without regularization the thetas converge to the unregularized maximum likelihood solution
+		ElasticNetTrainingContext trainingContext = new ElasticNetTrainingContext(1000);
+		trainingContext.setRegularizationLambda(0d);
+		admissionStatusPredictor.train(trainingContext);
+		
+		ClassificationProbability<AdmissionStatus> predicitedAdmissionStatus = admissionStatusPredictor.predictLabel(new Application(new ExamScores(45,85)));
+		Assert.assertEquals(AdmissionStatus.ACCEPTED,predicitedAdmissionStatus.getClassification());
+		BigDecimal classificationProbabiliyValue = new BigDecimal(predicitedAdmissionStatus.getProbability(),new MathContext(3));
+		Assert.assertEquals("0.776",classificationProbabiliyValue.toString());
+		Assert.assertEquals(89d, admissionStatusPredictor.getTrainingSetPredictionAccuracyPercentage());
+		
+		// A lasso penalty larger than the gradient of the log-loss for every feature at the intercept-only model
+		// sets all the non-intercept thetas to exactly zero
+		trainingContext.setRegularizationLambda(1d);
+		trainingContext.setL1Ratio(1d);
+		admissionStatusPredictor.train(trainingContext);
+		
+		double[] thetas = ((ThetaWeightedHypothesisFunction)admissionStatusPredictor.getHypothesisFunction()).getThetas();
+		for (int j = 1; j < thetas.length; j++) {
+			Assert.assertEquals(0d, thetas[j]);
+		}
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithAdamUpdateRule()
+	{
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createLogisticRegressionAlgorithm();
+		
+		// Adam adapts the step size for each theta individually
+		GradientDescentAlgorithmTrainingContext trainingContext = new GradientDescentAlgorithmTrainingContext(1000);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setLearningRateAlpha(0.1d);
+		trainingContext.setUpdateRule(new AdamGradientDescentUpdateRule());
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(20);
+		trainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(5,0.0001d));
+		
+		assertAdmissionStatusPrediction(logisticRegressionAlgorithm, trainingContext, 3, "0.776", 89d);
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithFastSigmoidApproximation()
+	{
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createLogisticRegressionAlgorithm();
+		
+		// The fast sigmoid approximation is used both during training and for predictions
+		GradientDescentAlgorithmTrainingContext trainingContext = new GradientDescentAlgorithmTrainingContext(1000);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setLearningRateAlpha(1d);
+		trainingContext.setFastSigmoidApproximationEnabled(true);
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(100);
+		trainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(5,0.0001d));
+		
+		assertAdmissionStatusPrediction(logisticRegressionAlgorithm, trainingContext, 3, "0.776", 89d);
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithMultinomialClassifier()
+	{
+		LabeledTrainingSet<Application,AdmissionStatus> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.build();
+		
+		// A softmax regression algorithm trains the thetas for all classes together
+		SoftmaxRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> softmaxRegressionAlgorithm = 
+				algorithmFactory.createSoftmaxRegressionAlgorithm();
+		
+		MultinomialClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext> admissionStatusPredictor = 
+				new MultinomialClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext>(labeledTrainingSet,softmaxRegressionAlgorithm,
+						Arrays.asList(AdmissionStatus.NOT_ACCEPTED,AdmissionStatus.ACCEPTED));
+		
+		labeledTrainingSet.add(previousApplications);
+		
+		GradientDescentAlgorithmTrainingContext trainingContext = new GradientDescentAlgorithmTrainingContext(1000);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setLearningRateAlpha(1d);
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(100);
+		trainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(5,0.0001d));
+		
+		admissionStatusPredictor.train(trainingContext);
+		
+		Application application = new Application(new ExamScores(45,85));
+		ClassificationProbability<AdmissionStatus> predicitedAdmissionStatus = admissionStatusPredictor.predictLabel(application);
+		Assert.assertEquals(AdmissionStatus.ACCEPTED,predicitedAdmissionStatus.getClassification());
+		BigDecimal classificationProbabiliyValue = new BigDecimal(predicitedAdmissionStatus.getProbability(),new MathContext(3));
+		Assert.assertEquals("0.776",classificationProbabiliyValue.toString());
+		Assert.assertEquals(89d, admissionStatusPredictor.getTrainingSetPredictionAccuracyPercentage());
+		
+		// The full distribution is available in the order of the classes
+		List<ClassificationProbability<AdmissionStatus>> classificationProbabilities = admissionStatusPredictor.predictClassificationProbabilities(application);
+		Assert.assertEquals(2, classificationProbabilities.size());
+		Assert.assertEquals(AdmissionStatus.NOT_ACCEPTED, classificationProbabilities.get(0).getClassification());
+		Assert.assertEquals(1d, classificationProbabilities.get(0).getProbability() + classificationProbabilities.get(1).getProbability(), 0.000001d);
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithMultinomialClassifierAndValidationSetEarlyStopping()
+	{
+		LabeledTrainingSet<Application,AdmissionStatus> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.build();
+		
+		SoftmaxRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> softmaxRegressionAlgorithm = 
+				algorithmFactory.createSoftmaxRegressionAlgorithm();
+		
+		MultinomialClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext> admissionStatusPredictor = 
+				new MultinomialClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext>(labeledTrainingSet,softmaxRegressionAlgorithm,
+						Arrays.asList(AdmissionStatus.NOT_ACCEPTED,AdmissionStatus.ACCEPTED));
+		
+		labeledTrainingSet.add(previousApplications);
+		
+		// Softmax regression holds out validation examples in the same way as logistic regression
+		GradientDescentAlgorithmTrainingContext trainingContext = new GradientDescentAlgorithmTrainingContext(100000);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setLearningRateAlpha(1d);
+		trainingContext.setValidationExampleCount(20);
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(10);
+		trainingContext.setConvergenceCriteria(new ValidationSetEarlyStoppingConvergenceCriteria(3));
+		
+		admissionStatusPredictor.train(trainingContext);
+		
+		Assert.assertTrue(trainingContext.getCurrentIteration() < trainingContext.getMaxIterations());
+		Assert.assertEquals(20, trainingContext.getValidationFeatureRows().getRowCount());
+		Assert.assertEquals(AdmissionStatus.ACCEPTED,admissionStatusPredictor.predictLabel(new Application(new ExamScores(45,85))).getClassification());
+		
+		// Warm starting from the trained thetas starts from the trained cost rather than the cost of all-zero thetas,
+		// so the validation cost stops improving sooner
+		GradientDescentAlgorithmTrainingContext warmStartTrainingContext = new GradientDescentAlgorithmTrainingContext(100000);
+		warmStartTrainingContext.setRegularizationLambda(0d);
+		warmStartTrainingContext.setLearningRateAlpha(1d);
+		warmStartTrainingContext.setValidationExampleCount(20);
+		warmStartTrainingContext.setCostFunctionSnapshotIntervalInIterations(10);
+		warmStartTrainingContext.setConvergenceCriteria(new ValidationSetEarlyStoppingConvergenceCriteria(3));
+		warmStartTrainingContext.setInitialHypothesisFunction(admissionStatusPredictor.getHypothesisFunction());
+		
+		admissionStatusPredictor.train(warmStartTrainingContext);
+		
+		Assert.assertTrue(warmStartTrainingContext.getCostFunctionSnapshotHistory().get(0) < Math.log(2));
+		Assert.assertTrue(warmStartTrainingContext.getCurrentIteration() < trainingContext.getCurrentIteration());
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithOneVsRestClassifier()
+	{
+		LabeledTrainingSet<Application,AdmissionStatus> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.build();
+		
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createLogisticRegressionAlgorithm();
+		
+		List<AdmissionStatus> classes = Arrays.asList(AdmissionStatus.NOT_ACCEPTED,AdmissionStatus.ACCEPTED);
+		OneVsRestClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext> admissionStatusPredictor = 
+				new OneVsRestClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext>(labeledTrainingSet,logisticRegressionAlgorithm,classes);
+		
+		labeledTrainingSet.add(previousApplications);
+		
+		// The binary model for each class is trained concurrently, each with its own training context
+		OneVsRestTrainingContext<AdmissionStatus,GradientDescentAlgorithmTrainingContext> trainingContext = 
+				new OneVsRestTrainingContext<AdmissionStatus,GradientDescentAlgorithmTrainingContext>(2);
+		for (AdmissionStatus admissionStatus : classes)
+		{
+			GradientDescentAlgorithmTrainingContext classTrainingContext = new GradientDescentAlgorithmTrainingContext(1000);
+			classTrainingContext.setRegularizationLambda(0d);
+			classTrainingContext.setLearningRateAlpha(1d);
+			classTrainingContext.setCostFunctionSnapshotIntervalInIterations(100);
+			classTrainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(5,0.0001d));
+			trainingContext.setTrainingContext(admissionStatus, classTrainingContext);
+		}
+		
+		admissionStatusPredictor.train(trainingContext);
+		
+		Application application = new Application(new ExamScores(45,85));
+		ClassificationProbability<AdmissionStatus> predicitedAdmissionStatus = admissionStatusPredictor.predictLabel(application);
+		Assert.assertEquals(AdmissionStatus.ACCEPTED,predicitedAdmissionStatus.getClassification());
+		BigDecimal classificationProbabiliyValue = new BigDecimal(predicitedAdmissionStatus.getProbability(),new MathContext(3));
+		Assert.assertEquals("0.776",classificationProbabiliyValue.toString());
+		Assert.assertEquals(89d, admissionStatusPredictor.getTrainingSetPredictionAccuracyPercentage());
+		Assert.assertEquals(2, admissionStatusPredictor.predictClassificationProbabilities(application).size());
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithWarmStartFromPreviouslyTrainedHypothesisFunction()
+	{
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createLogisticRegressionAlgorithm();
+		
+		GradientDescentAlgorithmTrainingContext trainingContext = new GradientDescentAlgorithmTrainingContext(1000);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setLearningRateAlpha(1d);
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(100);
+		trainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(5,0.0001d));
+		
+		BinaryClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext> previousAdmissionStatusPredictor = 
+				assertAdmissionStatusPrediction(logisticRegressionAlgorithm, trainingContext, 3, "0.776", 89d);
+		
+		// Retrain starting from the previously trained thetas - as these are already close to the minimum, we
+		// no longer require an initial decrease in the cost function, and convergence takes far fewer iterations
+		GradientDescentAlgorithmTrainingContext warmStartTrainingContext = new GradientDescentAlgorithmTrainingContext(1000);
+		warmStartTrainingContext.setRegularizationLambda(0d);
+		warmStartTrainingContext.setLearningRateAlpha(1d);
+		warmStartTrainingContext.setInitialHypothesisFunction((ThetaWeightedHypothesisFunction)previousAdmissionStatusPredictor.getHypothesisFunction());
+		warmStartTrainingContext.setCostFunctionSnapshotIntervalInIterations(10);
+		warmStartTrainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(0,0.0001d));
+		
+		assertAdmissionStatusPrediction(logisticRegressionAlgorithm, warmStartTrainingContext, 3, "0.776", 89d);
+		Assert.assertTrue(warmStartTrainingContext.getCurrentIteration() < trainingContext.getCurrentIteration() / 10);
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithOnlineUpdates()
+	{
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createLogisticRegressionAlgorithm();
+		
+		BinaryClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext> admissionStatusPredictor = 
+				assertAdmissionStatusPrediction(logisticRegressionAlgorithm, createSnapshotConvergenceTrainingContext(), 3, "0.776", 89d);
+		NumericHypothesisFunction trainedHypothesisFunction = admissionStatusPredictor.getHypothesisFunction();
+		double[] trainedThetas = ((ThetaWeightedHypothesisFunction)trainedHypothesisFunction).getThetas();
+		Application application = new Application(new ExamScores(45,85));
+		
+		// Each update replaces the hypothesis function, leaving the previous version unmodified for any concurrent predictions
+		admissionStatusPredictor.update(application, AdmissionStatus.NOT_ACCEPTED, 0.1d);
+		Assert.assertNotSame(trainedHypothesisFunction, admissionStatusPredictor.getHypothesisFunction());
+		Assert.assertTrue(Arrays.equals(trainedThetas, ((ThetaWeightedHypothesisFunction)trainedHypothesisFunction).getThetas()));
+		ClassificationProbability<AdmissionStatus> updatedPrediction = admissionStatusPredictor.predictLabel(application);
+		Assert.assertEquals(AdmissionStatus.ACCEPTED,updatedPrediction.getClassification());
+		Assert.assertTrue(updatedPrediction.getProbability() < 0.776d);
+		
+		admissionStatusPredictor.update(Arrays.asList(application, application), Arrays.asList(AdmissionStatus.ACCEPTED, AdmissionStatus.ACCEPTED), 0.1d);
+		Assert.assertTrue(admissionStatusPredictor.predictLabel(application).getProbability() > updatedPrediction.getProbability());
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithElasticNetLogisticRegressionAlgorithmAndSeparableData()
+	{
+		LabeledTrainingSet<Application,AdmissionStatus> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.build();
+		labeledTrainingSet.add(createSeparableApplications());
+		
+		BinaryClassifier<Application,AdmissionStatus,ElasticNetTrainingContext> admissionStatusPredictor = 
+				new BinaryClassifier<Application,AdmissionStatus,ElasticNetTrainingContext>(labeledTrainingSet,
+						algorithmFactory.createElasticNetLogisticRegressionAlgorithm(),new AdmissionStatusLabelMapper(),AdmissionStatus.NOT_ACCEPTED,AdmissionStatus.ACCEPTED);
+		
+		// Without regularization the thetas grow without bound, so training fails rather than returning diverged thetas
+		ElasticNetTrainingContext trainingContext = new ElasticNetTrainingContext(1000);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setMaxReweightingIterations(50);
+		try
+		{
+			admissionStatusPredictor.train(trainingContext);
+			Assert.fail("Expected training to fail to converge");
+		}
+		catch (RuntimeException e)
+		{
+			Assert.assertTrue(e.getMessage().contains("have not converged"));
+		}
+		
+		// With regularization the thetas are bounded, so training converges
+		trainingContext.setRegularizationLambda(0.001d);
+		trainingContext.setL1Ratio(0d);
+		admissionStatusPredictor.train(trainingContext);
+		Assert.assertEquals(100d, admissionStatusPredictor.getTrainingSetPredictionAccuracyPercentage());
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithValidationSetEarlyStopping()
+	{
+		LabeledTrainingSet<Application,AdmissionStatus> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.build();
+		
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createLogisticRegressionAlgorithm();
+		
+		BinaryClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext> admissionStatusPredictor = 
+				new BinaryClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext>(labeledTrainingSet,logisticRegressionAlgorithm,new AdmissionStatusLabelMapper(),AdmissionStatus.NOT_ACCEPTED,AdmissionStatus.ACCEPTED);
+		
+		labeledTrainingSet.add(previousApplications);
+		
+		// Hold out 20 of the 100 examples, and stop once the validation cost has not improved for 3 consecutive snapshots
+		GradientDescentAlgorithmTrainingContext trainingContext = new GradientDescentAlgorithmTrainingContext(100000);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setLearningRateAlpha(1d);
+		trainingContext.setValidationExampleCount(20);
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(10);
+		ValidationSetEarlyStoppingConvergenceCriteria convergenceCriteria = new ValidationSetEarlyStoppingConvergenceCriteria(3);
+		trainingContext.setConvergenceCriteria(convergenceCriteria);
+		
+		admissionStatusPredictor.train(trainingContext);
+		
+		// Training stops well before the iteration limit, once the validation cost has stopped improving
+		Assert.assertTrue(trainingContext.getCurrentIteration() < trainingContext.getMaxIterations());
+		
+		ClassificationProbability<AdmissionStatus> predicitedAdmissionStatus = admissionStatusPredictor.predictLabel(new Application(new ExamScores(45,85)));
+		Assert.assertEquals(AdmissionStatus.ACCEPTED,predicitedAdmissionStatus.getClassification());
+		BigDecimal classificationProbabiliyValue = new BigDecimal(predicitedAdmissionStatus.getProbability(),new MathContext(2));
+		Assert.assertEquals("0.77",classificationProbabiliyValue.toString());
+		Assert.assertEquals(90d, admissionStatusPredictor.getTrainingSetPredictionAccuracyPercentage());
+		
+		// If the iteration limit is reached before the validation cost stops improving, the thetas with the best 
+		// validation cost are still used, without the thetas being trained having been modified by the criteria
+		GradientDescentAlgorithmTrainingContext limitedTrainingContext = new GradientDescentAlgorithmTrainingContext(200);
+		limitedTrainingContext.setRegularizationLambda(0d);
+		limitedTrainingContext.setLearningRateAlpha(1d);
+		limitedTrainingContext.setValidationExampleCount(20);
+		limitedTrainingContext.setCostFunctionSnapshotIntervalInIterations(10);
+		limitedTrainingContext.setConvergenceCriteria(new ValidationSetEarlyStoppingConvergenceCriteria(1000));
+		
+		admissionStatusPredictor.train(limitedTrainingContext);
+		
+		Assert.assertEquals(limitedTrainingContext.getMaxIterations(), limitedTrainingContext.getCurrentIteration());
+		double[] bestThetas = limitedTrainingContext.getBestThetas();
+		Assert.assertNotNull(bestThetas);
+		Assert.assertNotSame(bestThetas, limitedTrainingContext.getCurrentThetas());
+		double[] trainedThetas = ((ThetaWeightedHypothesisFunction)admissionStatusPredictor.getHypothesisFunction()).getThetas();
+		for (int j = 0; j < bestThetas.length; j++)
+		{
+			Assert.assertEquals(bestThetas[j], trainedThetas[j], 0d);
+		}
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithSparseFeatureMatrix()
+	{
+		// A training set using sparse feature storage holds only the non-zero feature values of each element
+		LabeledTrainingSet<Application,AdmissionStatus> sparseLabeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withSparseFeatureStorage()
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.build();
+		sparseLabeledTrainingSet.add(previousApplications);
+		SparseFeatureMatrix sparseFeatureMatrix = (SparseFeatureMatrix)sparseLabeledTrainingSet.getFeatureRows();
+		Assert.assertEquals(100, sparseFeatureMatrix.getRowCount());
+		Assert.assertEquals(3, sparseFeatureMatrix.getColumnCount());
+		Assert.assertEquals(300, sparseFeatureMatrix.getNonZeroCount());
+		Assert.assertTrue(Arrays.equals(new double[] {1d, 34.62365962451697, 78.0246928153624}, sparseFeatureMatrix.getRow(0).toDenseArray()));
+		
+		// Training on a sparse copy of the scaled feature matrix gives the same hypothesis function as training on the dense matrix
+		LabeledTrainingSet<Application,AdmissionStatus> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.build();
+		labeledTrainingSet.add(previousApplications);
+		double[][] featureMatrix = labeledTrainingSet.getFeatureMatrix();
+		double[] labelVector = new AdmissionStatusLabelMapper().getLabelValues(labeledTrainingSet.getLabels());
+		SparseFeatureMatrix scaledSparseFeatureMatrix = new SparseFeatureMatrix(3, featureMatrix.length, featureMatrix.length * 3);
+		for (double[] featureValues : featureMatrix)
+		{
+			scaledSparseFeatureMatrix.addRow(SparseVector.fromDenseArray(featureValues));
+		}
+		
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createLogisticRegressionAlgorithm();
+		GradientDescentAlgorithmTrainingContext denseTrainingContext = createSnapshotConvergenceTrainingContext();
+		NumericHypothesisFunction denseHypothesisFunction = logisticRegressionAlgorithm.train(featureMatrix, labelVector, denseTrainingContext);
+		GradientDescentAlgorithmTrainingContext sparseTrainingContext = createSnapshotConvergenceTrainingContext();
+		NumericHypothesisFunction sparseHypothesisFunction = logisticRegressionAlgorithm.train(scaledSparseFeatureMatrix, labelVector, sparseTrainingContext);
+		
+		Assert.assertEquals(denseTrainingContext.getCostFunctionSnapshotHistory(), sparseTrainingContext.getCostFunctionSnapshotHistory());
+		for (int i = 0; i < featureMatrix.length; i++)
+		{
+			Assert.assertEquals(denseHypothesisFunction.predict(featureMatrix[i]).doubleValue(), 
+					logisticRegressionAlgorithm.predictLabel(scaledSparseFeatureMatrix, i, sparseHypothesisFunction).doubleValue(), 0.0000000001d);
+		}
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithSinglePrecisionFeatureStorage()
+	{
+		// A training set using single precision feature storage holds the feature values of each element as floats
+		LabeledTrainingSet<Application,AdmissionStatus> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withSinglePrecisionFeatureStorage()
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.build();
+		
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createLogisticRegressionAlgorithm();
+		BinaryClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext> admissionStatusPredictor = 
+				new BinaryClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext>(labeledTrainingSet,logisticRegressionAlgorithm,new AdmissionStatusLabelMapper(),AdmissionStatus.NOT_ACCEPTED,AdmissionStatus.ACCEPTED);
+		labeledTrainingSet.add(previousApplications);
+		
+		float[][] singlePrecisionFeatureMatrix = ((SinglePrecisionFeatureMatrix)labeledTrainingSet.getFeatureRows()).getRows();
+		Assert.assertEquals(100, singlePrecisionFeatureMatrix.length);
+		Assert.assertEquals(3, singlePrecisionFeatureMatrix[0].length);
+		Assert.assertEquals(1f, singlePrecisionFeatureMatrix[0][0], 0f);
+		
+		admissionStatusPredictor.train(createSnapshotConvergenceTrainingContext());
+		
+		ClassificationProbability<AdmissionStatus> predicitedAdmissionStatus = admissionStatusPredictor.predictLabel(new Application(new ExamScores(45,85)));
+		Assert.assertEquals(AdmissionStatus.ACCEPTED,predicitedAdmissionStatus.getClassification());
+		BigDecimal classificationProbabiliyValue = new BigDecimal(predicitedAdmissionStatus.getProbability(),new MathContext(3));
+		Assert.assertEquals("0.776",classificationProbabiliyValue.toString());
+		Assert.assertEquals(89d, admissionStatusPredictor.getTrainingSetPredictionAccuracyPercentage());
+	}
+	
+	@Test
+	public void testClassificationPrediction_WithStreamingTrainingSet()
+	{
+		// The applications are streamed from the file on each pass, rather than being held in memory
+		StreamingLabeledTrainingSet<Application,AdmissionStatus> streamingTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.buildStreaming(new StreamingCsvFileClassloaderDataSource<Application>("ex2data1.txt",getClass().getClassLoader(),new PreviousApplicationCsvDataExtractor()));
+		
+		// Feature statistics gathered in a single streaming pass match those calculated from the values held in memory
+		LabeledTrainingSet<Application,AdmissionStatus> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.build();
+		labeledTrainingSet.add(previousApplications);
+		Assert.assertEquals(100, streamingTrainingSet.getSize());
+		for (int i = 0; i < 2; i++)
+		{
+			Assert.assertEquals(labeledTrainingSet.getFeatureStatistics()[i].getMean(), streamingTrainingSet.getFeatureStatistics()[i].getMean(), 0.0000000001d);
+			Assert.assertEquals(labeledTrainingSet.getFeatureStatistics()[i].getStdDev(), streamingTrainingSet.getFeatureStatistics()[i].getStdDev(), 0.0000000001d);
+		}
+		
+		LogisticRegressionAlgorithm<GradientDescentAlgorithmTrainingContext> logisticRegressionAlgorithm = 
+				algorithmFactory.createStreamingLogisticRegressionAlgorithm();
+		StreamingBinaryClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext> admissionStatusPredictor = 
+				new StreamingBinaryClassifier<Application,AdmissionStatus,GradientDescentAlgorithmTrainingContext>(streamingTrainingSet,logisticRegressionAlgorithm,new AdmissionStatusLabelMapper(),AdmissionStatus.NOT_ACCEPTED,AdmissionStatus.ACCEPTED);
+		
+		// Each iteration is a pass over the applications in file order, updating thetas after each application
+		GradientDescentAlgorithmTrainingContext trainingContext = new GradientDescentAlgorithmTrainingContext(2000);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setLearningRateAlpha(0.01d);
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(100);
+		trainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(5,0.0001d));
+		admissionStatusPredictor.train(trainingContext);
+		
+		// Stochastic gradient descent leaves the thetas close to, but not exactly at, the minimum of the cost function,
+		// so we compare the predicted probability approximately
+		ClassificationProbability<AdmissionStatus> predicitedAdmissionStatus = admissionStatusPredictor.predictLabel(new Application(new ExamScores(45,85)));
+		Assert.assertEquals(AdmissionStatus.ACCEPTED,predicitedAdmissionStatus.getClassification());
+		Assert.assertEquals(0.776d, predicitedAdmissionStatus.getProbability(), 0.01d);
+		Assert.assertEquals(89d, admissionStatusPredictor.getTrainingSetPredictionAccuracyPercentage());
+	}
+	
+	/**
+	 * @return The previous applications relabeled so that the admission status is linearly separable by the total exam score
+	 */
+	private List<Application> createSeparableApplications()
+	{
+		List<Application> separableApplications = new ArrayList<Application>();
+		for (Application application : previousApplications)
+		{
+			ExamScores examScores = application.getExamScores();
+			separableApplications.add(new Application(examScores, examScores.getExamScore1() + examScores.getExamScore2() > 130d 
+					? AdmissionStatus.ACCEPTED : AdmissionStatus.NOT_ACCEPTED));
+		}
+		return separableApplications;
+	}
+	
+	private GradientDescentAlgorithmTrainingContext createSnapshotConvergenceTrainingContext()
+	{
+		GradientDescentAlgorithmTrainingContext trainingContext = new GradientDescentAlgorithmTrainingContext(1000);
+		trainingContext.setRegularizationLambda(0d);
+		trainingContext.setLearningRateAlpha(1d);
+		trainingContext.setCostFunctionSnapshotIntervalInIterations(100);
+		trainingContext.setConvergenceCriteria(new MonotonicDecreasingCostFunctionSnapshotConvergenceCriteria(5,0.0001d));
+		return trainingContext;
+	}
+	
+	private <C extends GradientDescentAlgorithmTrainingContext> BinaryClassifier<Application,AdmissionStatus,C> assertAdmissionStatusPrediction(LogisticRegressionAlgorithm<C> logisticRegressionAlgorithm,
+			C trainingContext, int probabilityPrecision, String expectedProbability, double expectedAccuracyPercentage)
+	{
+		LabeledTrainingSet<Application,AdmissionStatus> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(Application.class,AdmissionStatus.class,trainingSetSize)
+				.withFeatureDefinition(new ExamScoresFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new AdmissionStatusLabelDefinition())
+				.build();
+		
+		BinaryClassifier<Application,AdmissionStatus,C> admissionStatusPredictor = 
+				new BinaryClassifier<Application,AdmissionStatus,C>(labeledTrainingSet,logisticRegressionAlgorithm,new AdmissionStatusLabelMapper(),AdmissionStatus.NOT_ACCEPTED,AdmissionStatus.ACCEPTED);
+		
+		labeledTrainingSet.add(previousApplications);
+		
+		admissionStatusPredictor.train(trainingContext);
+		
+		ClassificationProbability<AdmissionStatus> predicitedAdmissionStatus = admissionStatusPredictor.predictLabel(new Application(new ExamScores(45,85)));
+		Assert.assertNotNull("Predicted admission status classification probability wrapper should not be null",predicitedAdmissionStatus);
+		Assert.assertEquals(AdmissionStatus.ACCEPTED,predicitedAdmissionStatus.getClassification());
+		BigDecimal classificationProbabiliyValue = new BigDecimal(predicitedAdmissionStatus.getProbability(),new MathContext(probabilityPrecision));
+		Assert.assertEquals(expectedProbability,classificationProbabiliyValue.toString());
+		Assert.assertEquals(expectedAccuracyPercentage, admissionStatusPredictor.getTrainingSetPredictionAccuracyPercentage());
+		return admissionStatusPredictor;
+	}
+	
 	private Collection<Application> getPreviousApplicationDataFromFile(String fileName)
 	{
 		TrainingSetDataSource<Application,Collection<Application>> houses = new CsvFileClassloaderDataSource<Application>(fileName,getClass().getClassLoader(),new PreviousApplicationCsvDataExtractor());
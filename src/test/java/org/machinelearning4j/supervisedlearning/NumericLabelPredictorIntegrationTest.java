@@ -15,7 +15,10 @@
  */
 package org.machinelearning4j.supervisedlearning;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Random;
 
 import junit.framework.Assert;
 
@@ -23,10 +26,21 @@ import org.junit.Before;
 import org.junit.Test;
 import org.machinelearning4j.algorithms.AlgorithmFactory;
 import org.machinelearning4j.algorithms.DefaultAlgorithmFactory;
+import org.machinelearning4j.algorithms.supervisedlearning.ElasticNetTrainingContext;
+import org.machinelearning4j.algorithms.supervisedlearning.GramMatrixAccumulator;
 import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionAlgorithm;
+import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionConjugateGradientTrainingContext;
+import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionNormalEquationAlgorithm;
 import org.machinelearning4j.algorithms.supervisedlearning.LinearRegressionNormalEquationTrainingContext;
+import org.machinelearning4j.algorithms.supervisedlearning.NumericHypothesisFunction;
+import org.machinelearning4j.algorithms.supervisedlearning.ThetaWeightedHypothesisFunction;
 import org.machinelearning4j.core.Builders;
+import org.machinelearning4j.core.DefaultFeatureScaler;
+import org.machinelearning4j.core.DenseFeatureMatrix;
+import org.machinelearning4j.core.FeatureRows;
+import org.machinelearning4j.core.Statistics;
 import org.machinelearning4j.util.CsvFileClassloaderDataSource;
+import org.machinelearning4j.util.StreamingCsvFileClassloaderDataSource;
 import org.machinelearning4j.util.TrainingSetDataSource;
 
 /**
@@ -106,6 +120,376 @@ public class NumericLabelPredictorIntegrationTest {
 		Assert.assertEquals(293081, predictedPrice.intValue());
 	}
 	
+	@Test
+	public void testLabelPrediction_WithParallelNormalEquationLinearRegressionAlgorithm()
+	{		
+		LabeledTrainingSet<House,Number> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(House.class,Number.class,trainingSetSize)
+				.withFeatureDefinition(new BedroomsFeatureDefinition())
+				.withFeatureDefinition(new SquareFeetFeatureDefinition())
+				.withLabel(new PriceLabelDefinition())
+				.build();
+					
+		// Accumulate X^T X and X^T y over partitions of the training data on 4 threads
+		LinearRegressionAlgorithm<LinearRegressionNormalEquationTrainingContext> linearRegressionAlgorithm = 
+				algorithmFactory.createParallelLinearRegressionNormalEquationAlgorithm(4);
+				
+		LabelPredictor<House,Number,LinearRegressionNormalEquationTrainingContext> pricePredictor = 
+				new SingleNumericValueLabelPredictor<House,LinearRegressionNormalEquationTrainingContext>(labeledTrainingSet,linearRegressionAlgorithm);
+
+		labeledTrainingSet.add(houses);
+		
+		LinearRegressionNormalEquationTrainingContext trainingContext = new LinearRegressionNormalEquationTrainingContext();
+		trainingContext.setRegularizationLambda(0d);
+		pricePredictor.train(trainingContext);
+
+		Assert.assertEquals(293081, pricePredictor.predictLabel(new House(1650,3)).intValue());
+	}
+	
+	@Test
+	public void testLabelPrediction_WithSparseFeatureStorage()
+	{		
+		// The algorithms are trained on the sparse rows of the training set, without a dense copy
+		LabeledTrainingSet<House,Number> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(House.class,Number.class,trainingSetSize)
+				.withFeatureDefinition(new BedroomsFeatureDefinition())
+				.withFeatureDefinition(new SquareFeetFeatureDefinition())
+				.withSparseFeatureStorage()
+				.withLabel(new PriceLabelDefinition())
+				.build();
+		labeledTrainingSet.add(houses);
+		
+		LabelPredictor<House,Number,LinearRegressionNormalEquationTrainingContext> pricePredictor = 
+				new SingleNumericValueLabelPredictor<House,LinearRegressionNormalEquationTrainingContext>(labeledTrainingSet,
+						algorithmFactory.createParallelLinearRegressionNormalEquationAlgorithm(2));
+		LinearRegressionNormalEquationTrainingContext trainingContext = new LinearRegressionNormalEquationTrainingContext();
+		trainingContext.setRegularizationLambda(0d);
+		pricePredictor.train(trainingContext);
+
+		Assert.assertEquals(293081, pricePredictor.predictLabel(new House(1650,3)).intValue());
+		
+		LabelPredictor<House,Number,LinearRegressionConjugateGradientTrainingContext> conjugateGradientPricePredictor = 
+				new SingleNumericValueLabelPredictor<House,LinearRegressionConjugateGradientTrainingContext>(labeledTrainingSet,
+						algorithmFactory.createConjugateGradientLinearRegressionAlgorithm());
+		LinearRegressionConjugateGradientTrainingContext conjugateGradientTrainingContext = new LinearRegressionConjugateGradientTrainingContext(10);
+		conjugateGradientTrainingContext.setRegularizationLambda(0d);
+		conjugateGradientPricePredictor.train(conjugateGradientTrainingContext);
+		
+		Assert.assertEquals(pricePredictor.predictLabel(new House(1650,3)).doubleValue(), 
+				conjugateGradientPricePredictor.predictLabel(new House(1650,3)).doubleValue(), 1d);
+	}
+	
+	@Test
+	public void testLabelPrediction_WithConjugateGradientLinearRegressionAlgorithm()
+	{		
+		LabeledTrainingSet<House,Number> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(House.class,Number.class,trainingSetSize)
+				.withFeatureDefinition(new BedroomsFeatureDefinition())
+				.withFeatureDefinition(new SquareFeetFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new PriceLabelDefinition())
+				.build();
+		labeledTrainingSet.add(houses);
+					
+		// Matrix vector products are calculated over partitions of the training data on 2 threads
+		LabelPredictor<House,Number,LinearRegressionConjugateGradientTrainingContext> pricePredictor = 
+				new SingleNumericValueLabelPredictor<House,LinearRegressionConjugateGradientTrainingContext>(labeledTrainingSet,
+						algorithmFactory.createParallelConjugateGradientLinearRegressionAlgorithm(2));
+
+		// Conjugate gradient converges in at most as many iterations as there are thetas, up to rounding
+		LinearRegressionConjugateGradientTrainingContext trainingContext = new LinearRegressionConjugateGradientTrainingContext(10);
+		trainingContext.setRegularizationLambda(0d);
+		pricePredictor.train(trainingContext);
+
+		Assert.assertEquals(293081, pricePredictor.predictLabel(new House(1650,3)).intValue());
+		
+		// With ridge regularization the thetas match those of the regularized normal equation
+		trainingContext.setRegularizationLambda(10d);
+		pricePredictor.train(trainingContext);
+		
+		LabelPredictor<House,Number,LinearRegressionNormalEquationTrainingContext> normalEquationPricePredictor = 
+				new SingleNumericValueLabelPredictor<House,LinearRegressionNormalEquationTrainingContext>(labeledTrainingSet,algorithmFactory.createLinearRegressionNormalEquationAlgorithm());
+		LinearRegressionNormalEquationTrainingContext normalEquationTrainingContext = new LinearRegressionNormalEquationTrainingContext();
+		normalEquationTrainingContext.setRegularizationLambda(10d);
+		normalEquationPricePredictor.train(normalEquationTrainingContext);
+		
+		Assert.assertEquals(normalEquationPricePredictor.predictLabel(new House(1650,3)).doubleValue(), 
+				pricePredictor.predictLabel(new House(1650,3)).doubleValue(), 0.01d);
+	}
+	
+	@Test
+	public void testLabelPrediction_WithStreamingTrainingSetAndMergedGramMatrixAccumulators()
+	{		
+		// Stream the housing data from file on each pass, rather than holding it in memory
+		StreamingLabeledTrainingSet<House,Number> streamingTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(House.class,Number.class,trainingSetSize)
+				.withFeatureDefinition(new BedroomsFeatureDefinition())
+				.withFeatureDefinition(new SquareFeetFeatureDefinition())
+				.withLabel(new PriceLabelDefinition())
+				.buildStreaming(new StreamingCsvFileClassloaderDataSource<House>("ex1data2.txt",getClass().getClassLoader(),new HouseCsvDataExtractor()));
+		
+		// Only X^T X and X^T y are accumulated, in a single pass over the stream
+		StreamingNumericLabelPredictor<House,Number,LinearRegressionNormalEquationTrainingContext> pricePredictor = 
+				new StreamingNumericLabelPredictor<House,Number,LinearRegressionNormalEquationTrainingContext>(streamingTrainingSet,
+						new SingleNumericValueLabelMapper(),algorithmFactory.createLinearRegressionNormalEquationAlgorithm());
+		LinearRegressionNormalEquationTrainingContext trainingContext = new LinearRegressionNormalEquationTrainingContext();
+		trainingContext.setRegularizationLambda(0d);
+		pricePredictor.train(trainingContext);
+
+		Assert.assertEquals(293081, pricePredictor.predictLabel(new House(1650,3)).intValue());
+		
+		// Accumulators populated over separate partitions of the training data can be merged before solving
+		LabeledTrainingSet<House,Number> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(House.class,Number.class,trainingSetSize)
+				.withFeatureDefinition(new BedroomsFeatureDefinition())
+				.withFeatureDefinition(new SquareFeetFeatureDefinition())
+				.withLabel(new PriceLabelDefinition())
+				.build();
+		labeledTrainingSet.add(houses);
+		double[][] featureMatrix = labeledTrainingSet.getFeatureMatrix();
+		double[] labelVector = new SingleNumericValueLabelMapper().getLabelValues(labeledTrainingSet.getLabels());
+		
+		GramMatrixAccumulator firstPartitionAccumulator = new GramMatrixAccumulator(featureMatrix[0].length);
+		GramMatrixAccumulator secondPartitionAccumulator = new GramMatrixAccumulator(featureMatrix[0].length);
+		for (int i = 0; i < featureMatrix.length; i++)
+		{
+			(i < featureMatrix.length / 2 ? firstPartitionAccumulator : secondPartitionAccumulator).add(featureMatrix[i], labelVector[i]);
+		}
+		firstPartitionAccumulator.merge(secondPartitionAccumulator);
+		Assert.assertEquals(trainingSetSize, firstPartitionAccumulator.getTrainingExampleCount());
+		
+		double predictedPrice = new LinearRegressionNormalEquationAlgorithm().train(firstPartitionAccumulator, trainingContext).predict(new double[] {1, 3, 1650});
+		Assert.assertEquals(293081, (int)predictedPrice);
+	}
+	
+	@Test
+	public void testGramMatrixAccumulator_BlockedAccumulationMatchesRowByRowAccumulation()
+	{
+		// More rows and features than a single row block and column tile, and sizes which are not multiples of
+		// either, so that partial blocks and tiles straddling the diagonal are accumulated
+		int rowCount = 150;
+		int featureValueCount = 131;
+		Random random = new Random(42);
+		double[][] featureMatrix = new double[rowCount][featureValueCount];
+		double[] labelVector = new double[rowCount];
+		for (int i = 0; i < rowCount; i++)
+		{
+			featureMatrix[i][0] = 1d;
+			for (int j = 1; j < featureValueCount; j++)
+			{
+				featureMatrix[i][j] = random.nextInt(4) == 0 ? 0d : random.nextGaussian();
+			}
+			labelVector[i] = random.nextGaussian();
+		}
+		
+		int fromRow = 3;
+		int toRow = 147;
+		GramMatrixAccumulator blockedAccumulator = new GramMatrixAccumulator(featureValueCount);
+		blockedAccumulator.add(featureMatrix, labelVector, fromRow, toRow);
+		GramMatrixAccumulator rowByRowAccumulator = new GramMatrixAccumulator(featureValueCount);
+		for (int i = fromRow; i < toRow; i++)
+		{
+			rowByRowAccumulator.add(featureMatrix[i], labelVector[i]);
+		}
+		
+		Assert.assertEquals(rowByRowAccumulator.getTrainingExampleCount(), blockedAccumulator.getTrainingExampleCount());
+		double[][] expectedGramMatrix = rowByRowAccumulator.getGramMatrix();
+		double[][] gramMatrix = blockedAccumulator.getGramMatrix();
+		for (int j = 0; j < featureValueCount; j++)
+		{
+			for (int k = 0; k < featureValueCount; k++)
+			{
+				Assert.assertEquals(expectedGramMatrix[j][k], gramMatrix[j][k], 1e-9);
+			}
+		}
+		double[] expectedFeatureLabelProducts = rowByRowAccumulator.getFeatureLabelProducts();
+		double[] featureLabelProducts = blockedAccumulator.getFeatureLabelProducts();
+		for (int j = 0; j < featureValueCount; j++)
+		{
+			Assert.assertEquals(expectedFeatureLabelProducts[j], featureLabelProducts[j], 1e-9);
+		}
+	}
+	
+	@Test
+	public void testLabelPrediction_WithRegularizedNormalEquationLinearRegressionAlgorithm()
+	{		
+		LabeledTrainingSet<House,Number> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(House.class,Number.class,trainingSetSize)
+				.withFeatureDefinition(new BedroomsFeatureDefinition())
+				.withFeatureDefinition(new SquareFeetFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new PriceLabelDefinition())
+				.build();
+		labeledTrainingSet.add(houses);
+					
+		LabelPredictor<House,Number,LinearRegressionNormalEquationTrainingContext> normalEquationPricePredictor = 
+				new SingleNumericValueLabelPredictor<House,LinearRegressionNormalEquationTrainingContext>(labeledTrainingSet,algorithmFactory.createLinearRegressionNormalEquationAlgorithm());
+		LinearRegressionNormalEquationTrainingContext normalEquationTrainingContext = new LinearRegressionNormalEquationTrainingContext();
+		normalEquationTrainingContext.setRegularizationLambda(trainingSetSize);
+		normalEquationPricePredictor.train(normalEquationTrainingContext);
+		
+		// The ridge penalty of an elastic-net with no L1 part is applied to the cost averaged over the training examples, 
+		// so corresponds to a normal equation lambda larger by a factor of the training set size
+		LabelPredictor<House,Number,ElasticNetTrainingContext> elasticNetPricePredictor = 
+				new SingleNumericValueLabelPredictor<House,ElasticNetTrainingContext>(labeledTrainingSet,algorithmFactory.createLinearRegressionElasticNetAlgorithm());
+		ElasticNetTrainingContext elasticNetTrainingContext = new ElasticNetTrainingContext(1000);
+		elasticNetTrainingContext.setRegularizationLambda(1d);
+		elasticNetTrainingContext.setL1Ratio(0d);
+		elasticNetPricePredictor.train(elasticNetTrainingContext);
+
+		double regularizedPrice = normalEquationPricePredictor.predictLabel(new House(1650,3)).doubleValue();
+		Assert.assertEquals(elasticNetPricePredictor.predictLabel(new House(1650,3)).doubleValue(), regularizedPrice, 1d);
+		
+		// Regularization shrinks the prediction towards the mean price 
+		Assert.assertTrue(Math.abs(regularizedPrice - 293081) > 1000);
+	}
+	
+	@Test
+	public void testRegularizationPath_WithNormalEquationLinearRegressionAlgorithm()
+	{		
+		LabeledTrainingSet<House,Number> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(House.class,Number.class,trainingSetSize)
+				.withFeatureDefinition(new BedroomsFeatureDefinition())
+				.withFeatureDefinition(new SquareFeetFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new PriceLabelDefinition())
+				.build();
+		labeledTrainingSet.add(houses);
+		double[][] featureMatrix = labeledTrainingSet.getFeatureMatrix();
+		double[] labelVector = new SingleNumericValueLabelMapper().getLabelValues(labeledTrainingSet.getLabels());
+		
+		// Train for all candidate lambdas from a single decomposition
+		LinearRegressionAlgorithm<LinearRegressionNormalEquationTrainingContext> linearRegressionAlgorithm = algorithmFactory.createLinearRegressionNormalEquationAlgorithm();
+		NumericLabelPredictor<House,Number,LinearRegressionNormalEquationTrainingContext> pricePredictor = 
+				new SingleNumericValueLabelPredictor<House,LinearRegressionNormalEquationTrainingContext>(labeledTrainingSet,linearRegressionAlgorithm);
+		double[] regularizationLambdas = new double[] {0d, 1d, 10d, 100d};
+		NumericHypothesisFunction[] hypothesisFunctions = pricePredictor.trainRegularizationPath(regularizationLambdas);
+		Assert.assertEquals(regularizationLambdas.length, hypothesisFunctions.length);
+		
+		// The thetas for each lambda match those trained individually
+		LinearRegressionNormalEquationTrainingContext trainingContext = new LinearRegressionNormalEquationTrainingContext();
+		for (int l = 0; l < regularizationLambdas.length; l++)
+		{
+			trainingContext.setRegularizationLambda(regularizationLambdas[l]);
+			double[] expectedThetas = ((ThetaWeightedHypothesisFunction)linearRegressionAlgorithm.train(featureMatrix, labelVector, trainingContext)).getThetas();
+			double[] thetas = ((ThetaWeightedHypothesisFunction)hypothesisFunctions[l]).getThetas();
+			for (int j = 0; j < expectedThetas.length; j++)
+			{
+				Assert.assertEquals(expectedThetas[j], thetas[j], 1e-6);
+			}
+		}
+	}
+	
+	@Test
+	public void testLabelPrediction_WithElasticNetLinearRegressionAlgorithm()
+	{		
+		// The elastic-net penalty applies equally to each theta, so the features must be scaled
+		LabeledTrainingSet<House,Number> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(House.class,Number.class,trainingSetSize)
+				.withFeatureDefinition(new BedroomsFeatureDefinition())
+				.withFeatureDefinition(new SquareFeetFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new PriceLabelDefinition())
+				.build();
+					
+		LinearRegressionAlgorithm<ElasticNetTrainingContext> linearRegressionAlgorithm = 
+				algorithmFactory.createLinearRegressionElasticNetAlgorithm();
+				
+		SingleNumericValueLabelPredictor<House,ElasticNetTrainingContext> pricePredictor = 
+				new SingleNumericValueLabelPredictor<House,ElasticNetTrainingContext>(labeledTrainingSet,linearRegressionAlgorithm);
+
+		labeledTrainingSet.add(houses);
+		
+		// Without regularization coordinate descent converges to the same thetas as the normal equation
+		ElasticNetTrainingContext trainingContext = new ElasticNetTrainingContext(1000);
+		trainingContext.setRegularizationLambda(0d);
+		pricePredictor.train(trainingContext);
+
+		Assert.assertEquals(293081, pricePredictor.predictLabel(new House(1650,3)).intValue());
+		
+		// A lasso penalty larger than the contribution of the number of bedrooms sets its theta to exactly zero,
+		// while the square feet theta is shrunk but retained
+		trainingContext.setRegularizationLambda(20000d);
+		trainingContext.setL1Ratio(1d);
+		pricePredictor.train(trainingContext);
+		
+		double[] thetas = ((ThetaWeightedHypothesisFunction)pricePredictor.getHypothesisFunction()).getThetas();
+		Assert.assertEquals(3, thetas.length);
+		Assert.assertEquals(0d, thetas[1]);
+		Assert.assertTrue(thetas[2] > 0);
+	}
+	
+	@Test
+	public void testTrainingSetFeatureStorage_ViewsAreRetainedUntilElementsAreAdded()
+	{
+		LabeledTrainingSet<House,Number> labeledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(House.class,Number.class,trainingSetSize)
+				.withFeatureDefinition(new BedroomsFeatureDefinition())
+				.withFeatureDefinition(new SquareFeetFeatureDefinition())
+				.withLabel(new PriceLabelDefinition())
+				.build();
+		List<House> houseList = new ArrayList<House>((Collection<House>)houses);
+		int firstElementCount = houseList.size() / 2;
+		labeledTrainingSet.add(houseList.subList(0, firstElementCount));
+		
+		// The views of the contiguous feature values are created once, and read the values in place
+		double[][] firstFeatureMatrix = labeledTrainingSet.getFeatureMatrix();
+		FeatureRows firstFeatureRows = labeledTrainingSet.getFeatureRows();
+		Assert.assertSame(firstFeatureMatrix, labeledTrainingSet.getFeatureMatrix());
+		Assert.assertSame(firstFeatureRows, labeledTrainingSet.getFeatureRows());
+		Assert.assertSame(labeledTrainingSet.getFeatureValues(), ((DenseFeatureMatrix)firstFeatureRows).getValues());
+		Assert.assertEquals(firstElementCount * 3, labeledTrainingSet.getFeatureValueCount());
+		
+		// Elements added later are included in new views, without modifying the views already returned
+		labeledTrainingSet.add(houseList.subList(firstElementCount, houseList.size()));
+		double[][] featureMatrix = labeledTrainingSet.getFeatureMatrix();
+		FeatureRows featureRows = labeledTrainingSet.getFeatureRows();
+		Assert.assertNotSame(firstFeatureMatrix, featureMatrix);
+		Assert.assertNotSame(firstFeatureRows, featureRows);
+		Assert.assertEquals(firstElementCount, firstFeatureMatrix.length);
+		Assert.assertEquals(firstElementCount, firstFeatureRows.getRowCount());
+		Assert.assertEquals(trainingSetSize, featureMatrix.length);
+		Assert.assertEquals(trainingSetSize, featureRows.getRowCount());
+		Assert.assertEquals(trainingSetSize * 3, labeledTrainingSet.getFeatureValueCount());
+		
+		// Rows and columns of the feature rows hold the same values as the feature matrix
+		double[] featureValues = labeledTrainingSet.getFeatureValues();
+		double[] rowValues = new double[3];
+		double[] columnValues = new double[trainingSetSize];
+		featureRows.copyColumn(2, columnValues);
+		for (int i = 0; i < trainingSetSize; i++)
+		{
+			featureRows.copyRow(i, rowValues);
+			for (int j = 0; j < 3; j++)
+			{
+				Assert.assertEquals(featureMatrix[i][j], rowValues[j]);
+				Assert.assertEquals(featureMatrix[i][j], featureValues[i * 3 + j]);
+			}
+			Assert.assertEquals(featureMatrix[i][2], columnValues[i]);
+		}
+		Assert.assertEquals(2104d, featureMatrix[0][2]);
+		
+		// Feature scaling is applied to the contiguous values once, however many views are requested
+		LabeledTrainingSet<House,Number> scaledTrainingSet = 
+				Builders.createLabeledTrainingSetBuilder(House.class,Number.class,trainingSetSize)
+				.withFeatureDefinition(new BedroomsFeatureDefinition())
+				.withFeatureDefinition(new SquareFeetFeatureDefinition())
+				.withFeatureScaling(new DefaultFeatureScaler())
+				.withLabel(new PriceLabelDefinition())
+				.build();
+		scaledTrainingSet.add(houses);
+		double[] scaledFeatureValues = scaledTrainingSet.getFeatureValues().clone();
+		double[][] scaledFeatureMatrix = scaledTrainingSet.getFeatureMatrix();
+		scaledTrainingSet.getFeatureRows();
+		Assert.assertTrue(scaledTrainingSet.isDataFeatureScaled());
+		Statistics squareFeetStatistics = scaledTrainingSet.getFeatureStatistics()[1];
+		Assert.assertEquals((2104d - squareFeetStatistics.getMean()) / squareFeetStatistics.getStdDev(), scaledFeatureMatrix[0][2], 0.000001d);
+		for (int k = 0; k < scaledTrainingSet.getFeatureValueCount(); k++)
+		{
+			Assert.assertEquals(scaledFeatureValues[k], scaledTrainingSet.getFeatureValues()[k]);
+		}
+	}
+	
 	private Collection<House> getHouseDataFromFile(String fileName)
 	{
 		TrainingSetDataSource<House,Collection<House>> houses = new CsvFileClassloaderDataSource<House>(fileName,getClass().getClassLoader(),new HouseCsvDataExtractor());